@@ -106,14 +106,15 @@ public class Placement  {
 
     /**
      * Update the Placement Score
-     * @param aPrioriValueList List of AprioriValues
+     * @param aPrioriValueList    List of AprioriValues
+     * @param scalarizationMethod Scalarization method used to combine the objective functions
      */
-    public void updatePlacementScore(List<APrioriValue> aPrioriValueList){
+    public void updatePlacementScore(List<APrioriValue> aPrioriValueList, String scalarizationMethod){
 
         Float[] objectiveFunctions = ObjectivesFunctions.loadObjectiveFunctions(this.getVirtualMachineList(),
                 this.getDerivedVMs(),this.getPhysicalMachines());
 
-        Float score = Utils.calcPlacemenScore(objectiveFunctions,aPrioriValueList);
+        Float score = Utils.calcPlacemenScore(objectiveFunctions,aPrioriValueList, scalarizationMethod);
         this.setPlacementScore(score);
     }
 
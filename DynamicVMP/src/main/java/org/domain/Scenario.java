@@ -1,9 +1,5 @@
 package org.domain;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * Class that represents a Scenario
  * <p>
@@ -174,29 +170,6 @@ public class Scenario implements Comparable<Scenario> {
         return 1;
     }
 
-    /**
-     * Clones requests inside the [timeMemeticInit, timeMemeticEnd] range
-     * @param workload         Workload
-     * @param timeMemeticStart Start time Memetic Algorithm.
-     * @param timeMemeticEnd   End time Memetic Algorithm
-     * @return List of missed requests by Memetic Algorithm order by Revenue
-     */
-    public static List<Scenario> cloneScenario(List<Scenario> workload, Integer timeMemeticStart,
-                                               Integer timeMemeticEnd) {
-
-        List<Scenario> cloneScenario = new ArrayList<>();
-
-        workload.forEach(request -> {
-            if(request.getTime() >= timeMemeticStart && request.getTime() <= timeMemeticEnd
-                    && request.getTend() >= timeMemeticEnd) {
-                cloneScenario.add(request);
-            }
-        });
-
-        Collections.sort(cloneScenario);
-        return cloneScenario;
-    }
-
     /**
      * Print the scenario using {@link System#out}
      */
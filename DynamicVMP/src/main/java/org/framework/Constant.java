@@ -6,18 +6,20 @@ import java.util.Map;
 public class Constant {
 
     /**
-     * 文件指针
+     * 文件指针，相对于输出文件夹
      */
-    public static final String POWER_CONSUMPTION_FILE = Utils.OUTPUT + "power_consumption";
-    public static final String ECONOMICAL_REVENUE_FILE = Utils.OUTPUT + "economical_revenue";
-    public static final String WASTED_RESOURCES_FILE = Utils.OUTPUT + "wasted_resources";
-    public static final String WASTED_RESOURCES_RATIO_FILE = Utils.OUTPUT + "wasted_resources_ratio";
-    public static final String SCENARIOS_SCORES = Utils.OUTPUT + "scenarios_scores";
-    public static final String PLACEMENT_SCORE = Utils.OUTPUT + "resources_per_scenario";
-    public static final String RECONFIGURATION_CALL_TIMES_FILE = Utils.OUTPUT + "reconfiguration_call_times";
-    public static final String ECONOMICAL_PENALTIES_FILE = Utils.OUTPUT + "economical_penalties";
-    public static final String LEASING_COSTS_FILE = Utils.OUTPUT + "leasing_costs";
-    public static final String PLACEMENT_SCORE_BY_TIME_FILE = Utils.OUTPUT + "placement_score_by_time/";
+    public static final String POWER_CONSUMPTION_FILE = "power_consumption";
+    public static final String ECONOMICAL_REVENUE_FILE = "economical_revenue";
+    public static final String WASTED_RESOURCES_FILE = "wasted_resources";
+    public static final String WASTED_RESOURCES_RATIO_FILE = "wasted_resources_ratio";
+    public static final String SCENARIOS_SCORES = "scenarios_scores";
+    public static final String PLACEMENT_SCORE = "resources_per_scenario";
+    public static final String RECONFIGURATION_CALL_TIMES_FILE = "reconfiguration_call_times";
+    public static final String ECONOMICAL_PENALTIES_FILE = "economical_penalties";
+    public static final String LEASING_COSTS_FILE = "leasing_costs";
+    public static final String PLACEMENT_SCORE_BY_TIME_FILE = "placement_score_by_time/";
+    public static final String SCALARIZATION_SCORE_FILE = "scalarization_score/";
+    public static final String SWEEP_RESULTS_FILE = "sweep_results";
 
     /**
      * 启发算法
@@ -25,10 +25,12 @@ public class Constraints {
      * @param vm           虚拟机
      * @param vms          虚拟机列表
      * @param isUpdate     <b>True</b>，如果需要更新 VM <br> <b>False</b>，否则
+     * @param protectionFactor 保护系数
+     * @param faultTolerance   是否考虑容错约束
      * @return <b>True</b>，如果存在可以容纳 VM 的 PM。
      */
     public static Boolean checkResources(PhysicalMachine pm, VirtualMachine deprecatedVM, VirtualMachine vm,
-            List<VirtualMachine> vms, Boolean isUpdate) {
+            List<VirtualMachine> vms, Boolean isUpdate, Float protectionFactor, Boolean faultTolerance) {
         // 如果 oldVM 不为空，表示进行更新
         VirtualMachine oldVm;
         if(deprecatedVM == null) {
@@ -40,24 +42,24 @@ public class Constraints {
         Float toReserveCPU = pm.getResourcesRequested().get(0)
             - (oldVm.getResources().get(0) * oldVm.getUtilization().get(0)/100 )
             + (vm.getResources().get(0) * vm.getUtilization().get(0)/100)
-            + (vm.getResources().get(0) * (1- vm.getUtilization().get(0)/100)*Parameter.PROTECTION_FACTOR);
+            + (vm.getResources().get(0) * (1- vm.getUtilization().get(0)/100)*protectionFactor);
         Boolean checkCPU = toReserveCPU < pm.getResources().get(0);
 
         Float toReserveRAM = pm.getResourcesRequested().get(1)
             - (oldVm.getResources().get(1) * oldVm.getUtilization().get(1) / 100)
             + (vm.getResources().get(1) * vm.getUtilization().get(1) / 100)
-            + (vm.getResources().get(1) * (1 - vm.getUtilization().get(1) / 100) * Parameter.PROTECTION_FACTOR);
+            + (vm.getResources().get(1) * (1 - vm.getUtilization().get(1) / 100) * protectionFactor);
         Boolean checkRAM = toReserveRAM < pm.getResources().get(1);
 
         Float toReserveNET = pm.getResourcesRequested().get(2)
             - (oldVm.getResources().get(2) * oldVm.getUtilization().get(2) / 100)
             + (vm.getResources().get(2) * vm.getUtilization().get(2) / 100)
-            + (vm.getResources().get(2) * (1 - vm.getUtilization().get(2) / 100) * Parameter.PROTECTION_FACTOR);
+            + (vm.getResources().get(2) * (1 - vm.getUtilization().get(2) / 100) * protectionFactor);
         Boolean checkNET = toReserveNET < pm.getResources().get(2);
 
         Boolean flag = checkCPU && checkRAM && checkNET;
 
-        if (!isUpdate && flag && Parameter.FAULT_TOLERANCE) {
+        if (!isUpdate && flag && faultTolerance) {
             for (VirtualMachine vmTmp : vms) {
 
                 if (vmTmp.getCloudService().equals(vm.getCloudService()) &&
@@ -0,0 +1,76 @@
+package org.framework;
+
+import org.domain.PhysicalMachine;
+import org.domain.Scenario;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 物理机配置和工作负载跟踪的缓存。
+ * <p>
+ *     每个物理机配置和每个场景文件只解析一次，由所有运行只读地共享：
+ *     每次运行得到物理机的副本（物理机的资源在运行中会被修改）和工作负载的新列表（请求本身不会被修改）。
+ *     所有文件在运行开始前由{@link #load}加载，之后缓存只被读取，因此可以在多个线程中使用。
+ * </p>
+ */
+public class DatacenterCache {
+
+    private final Map<String, List<PhysicalMachine>> physicalMachines = new HashMap<>();//每个物理机配置的物理机
+    private final Map<String, Float> maxPowers = new HashMap<>();//每个物理机配置的最大功耗
+    private final Map<String, List<Scenario>> workloads = new HashMap<>();//每个场景文件的工作负载跟踪
+
+    /**
+     * 加载还没有缓存的物理机配置和场景文件。
+     *
+     * @param pmConfig     物理机配置文件
+     * @param scenarioFile 场景文件
+     * @throws IOException 如果在加载 PM 配置或场景文件时发生 I/O 异常
+     */
+    public void load(String pmConfig, String scenarioFile) throws IOException {
+        if (!physicalMachines.containsKey(pmConfig)) {
+            List<PhysicalMachine> pms = new ArrayList<>();
+            maxPowers.put(pmConfig, Utils.loadPhysicalMachines(pmConfig, pms));
+            physicalMachines.put(pmConfig, Collections.unmodifiableList(pms));
+        }
+        if (!workloads.containsKey(scenarioFile)) {
+            List<Scenario> workload = new ArrayList<>();
+            Utils.loadScenario(scenarioFile, workload);
+            workloads.put(scenarioFile, Collections.unmodifiableList(workload));
+        }
+    }
+
+    /**
+     * 获取物理机配置的物理机的副本。
+     *
+     * @param pmConfig 物理机配置文件
+     * @return 物理机列表
+     */
+    public List<PhysicalMachine> getPhysicalMachines(String pmConfig) {
+        return PhysicalMachine.clonePMsList(physicalMachines.get(pmConfig));
+    }
+
+    /**
+     * 获取物理机配置的最大功耗。
+     *
+     * @param pmConfig 物理机配置文件
+     * @return 数据中心的最大功耗值
+     */
+    public Float getMaxPower(String pmConfig) {
+        return maxPowers.get(pmConfig);
+    }
+
+    /**
+     * 获取场景文件的工作负载跟踪，返回的列表可以修改（例如排序），其中的请求与其他运行共享。
+     *
+     * @param scenarioFile 场景文件
+     * @return 场景列表
+     */
+    public List<Scenario> getWorkload(String scenarioFile) {
+        return new ArrayList<>(workloads.get(scenarioFile));
+    }
+}
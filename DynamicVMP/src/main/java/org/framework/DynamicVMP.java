@@ -14,8 +14,12 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -28,11 +32,11 @@ public class DynamicVMP {
      */
     @FunctionalInterface
     interface Algorithm {
-        void useAlgorithm(List<Scenario> workload, List<PhysicalMachine> physicalMachines,
+        void useAlgorithm(WorkloadIndex workload, List<PhysicalMachine> physicalMachines,
                 List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs,
                 Map<Integer, Float> revenueByTime, List<Resources> wastedResources,  Map<Integer, Float> wastedResourcesRatioByTime,
-                Map<Integer, Float> powerByTime, Map<Integer, Placement> placements, Integer code, Integer timeUnit,
-                Integer[] requestsProcess, Float maxPower, String scenarioFile)
+                Map<Integer, Float> powerByTime, Map<Integer, Float> placementScores, Integer code, Integer timeUnit,
+                Integer[] requestsProcess, ExperimentContext context)
                 throws IOException, InterruptedException, ExecutionException;
     }
 
@@ -53,35 +57,13 @@ public class DynamicVMP {
     public static final String DYNAMIC_VMP = "DynamicVMP";//类常量定义
     private static Logger logger = Logger.getLogger(DYNAMIC_VMP);
 
-    public static Integer timeSimulated;// 模拟时间
-    public static Integer initialTimeUnit;// 初始时间单位
-    public static Integer vmUnique = 0;// 唯一虚拟机标识
-
-    /**
-     * 统计指标
-     */
-    public static Float maxPower = 0F;
-    public static Float maxRevenueLost = 0F;
-    public static Float economicalPenalties = 0F;
-    public static Float leasingCosts = 0F;
-
-    /**
-     * 统计先验时间指标
-     */
-    static Map<Integer, Float> revenueAprioriTime = new HashMap<>();
-    static Map<Integer, Float> migratedMemoryAprioriTime = new HashMap<>();
-
-    /**
-     * 未满足资源的虚拟机映射
-     */
-    public static Map<Integer, Violation> unsatisfiedResources = new HashMap<>();
-
     private DynamicVMP () {
     }
 
     /**
      * 运行启发式算法，根据场景选择不同的启发式算法处理虚拟机请求。
      *
+     * @param context           场景运行的上下文
      * @param s                 场景对象
      * @param code              算法代码
      * @param physicalMachines  物理机列表
@@ -90,7 +72,7 @@ public class DynamicVMP {
      * @param requests          请求统计数组
      * @param isMigrationActive 是否激活迁移
      */
-    public static void runHeuristics (Scenario s, Integer code, List<PhysicalMachine> physicalMachines,
+    public static void runHeuristics (ExperimentContext context, Scenario s, Integer code, List<PhysicalMachine> physicalMachines,
             List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs, Integer[] requests,
             Boolean isMigrationActive) {
         //创建新的虚拟机
@@ -100,14 +82,14 @@ public class DynamicVMP {
         // 根据时间戳选择合适的处理逻辑
         if (s.getTime() <= s.getTinit()) {
             if (Heuristics.getHeuristics()[code]
-                    .useHeuristic(vm, physicalMachines, virtualMachines, derivedVMs, false)) {
+                    .useHeuristic(context, vm, physicalMachines, virtualMachines, derivedVMs, false)) {
                 requests[0]++;// 增加成功处理请求计数
             } else {
                 requests[1]++;// 增加拒绝请求计数
             }
         } else {
             if (s.getTime() <= s.getTend()) {
-                if (Heuristics.updateVM(s, virtualMachines,derivedVMs, physicalMachines, isMigrationActive)) {
+                if (Heuristics.updateVM(context, s, virtualMachines,derivedVMs, physicalMachines, isMigrationActive)) {
                     requests[2]++;// 增加更新请求计数
                 } else {
                     requests[3]++;// 增加违规请求计数
@@ -121,13 +103,14 @@ public class DynamicVMP {
     /**
      * 运行启发式算法，处理虚拟机迁移请求。
      *
+     * @param context        场景运行的上下文
      * @param code           算法代码
      * @param physicalMachines  物理机列表
      * @param virtualMachines   虚拟机列表
      * @param derivedVMs        派生虚拟机列表
      * @param vmToMigrate     待迁移的虚拟机列表
      */
-    public static void runHeuristics (Integer code, List<PhysicalMachine> physicalMachines,
+    public static void runHeuristics (ExperimentContext context, Integer code, List<PhysicalMachine> physicalMachines,
             List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs,
             List<VirtualMachine> vmToMigrate) {
         //按资源需求排序待迁移虚拟机列表
@@ -140,9 +123,10 @@ public class DynamicVMP {
             for (PhysicalMachine pm : physicalMachines) {
 
                 if(hostPm != null && !pm.getId().equals(hostPm.getId())
-                    && Constraints.checkResources(pm, null, vm, virtualMachines, true)
+                    && Constraints.checkResources(pm, null, vm, virtualMachines, true, context.getProtectionFactor(),
+                        context.getFaultTolerance())
                     && Heuristics.getHeuristics()[code]
-                        .useHeuristic(migratedVM, physicalMachines, virtualMachines, derivedVMs, true)) {
+                        .useHeuristic(context, migratedVM, physicalMachines, virtualMachines, derivedVMs, true)) {
 
                     virtualMachines.remove(vm);
                     hostPm.updatePMResources(vm, Utils.SUB);
@@ -156,23 +140,20 @@ public class DynamicVMP {
     /**
      * 在重新配置后更新放置方案。
      *
-     * @param workload       场景列表
+     * @param context        场景运行的上下文
+     * @param requests       重配置执行期间的请求，按重放的顺序
      * @param heuristicCode  启发式算法代码
      * @param placement      当前放置方案
-     * @param startTimeMemeticAlg  Memetic算法开始时间
-     * @param endTimeMemeticAlg    Memetic算法结束时间
      * @return 更新后的放置方案
      */
-    public static Placement updatePlacementAfterReconf (List<Scenario> workload, String heuristicCode, Placement placement,
-            Integer startTimeMemeticAlg, Integer endTimeMemeticAlg) {
+    public static Placement updatePlacementAfterReconf (ExperimentContext context, List<Scenario> requests,
+            String heuristicCode, Placement placement) {
 
         Integer code = Constant.HEURISTIC_MAP.get(heuristicCode);
         Integer[] requestsProcessAfterReconf = initRequestProcess();
-        // 复制场景列表
-        List<Scenario> cloneScenario = Scenario.cloneScenario(workload, startTimeMemeticAlg, endTimeMemeticAlg);
-        // 遍历复制的场景列表，运行启发式算法进行更新
-        cloneScenario.forEach(request ->
-            runHeuristics(request, code, placement.getPhysicalMachines(), placement.getVirtualMachineList(),
+        // 遍历执行期间的请求，运行启发式算法进行更新
+        requests.forEach(request ->
+            runHeuristics(context, request, code, placement.getPhysicalMachines(), placement.getVirtualMachineList(),
                     placement.getDerivedVMs(), requestsProcessAfterReconf, false)
         );
 
@@ -189,8 +170,6 @@ public class DynamicVMP {
      */
     public static void main (String[] args) throws IOException, InterruptedException, ExecutionException {
         String[] argss={"inputs/parameters","DC1A3outputs/"};
-        //存储实验场景文件路径的列表
-        ArrayList<String> scenariosFiles  = new ArrayList<>();
         if(0 == argss.length) {
             logger.log(Level.INFO, "Some arguments are missing!");
         }
@@ -198,27 +177,24 @@ public class DynamicVMP {
         String outputFolderPath = argss[1];
         // 预处理输入和输出路径
         Utils.preprocessInputOutputPaths(parameterFile,outputFolderPath);
-        // 加载实验参数
-        loadParameters(scenariosFiles, parameterFile);
+        // 读取实验参数，值为列表或范围的参数组成参数网格
+        ParameterGrid parameterGrid = new ParameterGrid(readParameters(parameterFile));
         //执行实验
         logger.log(Level.INFO, "EXECUTING EXPERIMENTS");
-        for (String scenarioFile : scenariosFiles) {
-
-            launchExperiments(Parameter.HEURISTIC_CODE, Parameter.PM_CONFIG, scenarioFile);
-        }
+        launchExperiments(parameterGrid);
         logger.log(Level.INFO, "ENDING EXPERIMENTS");
     }
 
     /**
-     * 加载实验参数的方法，从三个参数文件中读取内容，并调用工具类的loadParameter方法加载到scenariosFiles列表中
-     * @param scenariosFiles 场景文件
-     * @param parameterFile  配置文件
+     * 读取参数文件中的非空行
+     * @param parameterFile 配置文件
+     * @return 参数文件的行
      * @throws IOException
      */
-    private static void loadParameters(ArrayList<String> scenariosFiles, String parameterFile) throws IOException {
+    private static List<String> readParameters(String parameterFile) throws IOException {
 
         try (Stream<String> stream = Files.lines(Paths.get(parameterFile))) {
-            Utils.loadParameter(scenariosFiles, stream);
+            return stream.filter(s -> s.length() > 0).collect(Collectors.toList());
         } catch (IOException e) {
             Logger.getLogger(DynamicVMP.DYNAMIC_VMP).log(Level.SEVERE, "Error trying to load experiments parameters.");
             throw e;
@@ -226,37 +202,150 @@ public class DynamicVMP {
     }
 
     /**
-     * 执行实验的方法
-     * @param heuristicCode 启发式算法代码
-     * @param pmConfig      物理机配置
-     * @param scenarioFile  场景文件
+     * 对参数网格的每个点执行所有场景。
+     * <p>
+     *     每个网格点和场景是一次运行，在{@link Parameter#SCENARIO_THREADS}个线程的工作窃取线程池上执行。
+     *     {@link ParameterGrid#RUN_PARAMETERS}在加载网格点时复制到运行的上下文中，只有这些参数不同的网格点同时运行；
+     *     其他参数在运行期间从全局的{@link Parameter}读取，因此这些参数不同的网格点按顺序分组执行。物理机配置和场景文件只解析一次，由所有运行共享。
+     * </p>
+     * <p>
+     *     每次运行的上下文和随机数序列按网格点和场景的顺序创建，每个网格点加载参数时用SEED重新生成根随机数序列，
+     *     因此每个网格点的结果与单独使用这个点的参数文件执行时相同。运行结束后按相同的顺序写入输出文件：
+     *     扫描时每个网格点写入以其标签命名的子文件夹，并在{@link Constant#SWEEP_RESULTS_FILE}中记录每次运行的结果。
+     * </p>
+     * @param parameterGrid 参数网格
      * @throws IOException
      * @throws InterruptedException
      * @throws ExecutionException
      */
-    private static void launchExperiments(String heuristicCode, String pmConfig, String scenarioFile)
+    private static void launchExperiments(ParameterGrid parameterGrid)
             throws IOException, InterruptedException, ExecutionException {
 
+        // 按需要写入全局参数的部分对网格点分组
+        Map<Map<String, String>, List<Map<String, String>>> pointsByGlobalPart = new LinkedHashMap<>();
+        for (Map<String, String> point : parameterGrid.getPoints()) {
+            pointsByGlobalPart.computeIfAbsent(ParameterGrid.getGlobalPart(point), key -> new ArrayList<>()).add(point);
+        }
+        if (parameterGrid.isSweep()) {
+            printSweepResultsHeader(parameterGrid);
+        }
+        DatacenterCache datacenterCache = new DatacenterCache();
+        ExecutorService executorService = null;
+        try {
+            for (List<Map<String, String>> points : pointsByGlobalPart.values()) {
+                List<ExperimentContext> contexts = new ArrayList<>();
+                List<Map<String, String>> contextPoints = new ArrayList<>();
+                for (Map<String, String> point : points) {
+                    // 加载这个网格点的参数
+                    List<String> scenariosFiles = new ArrayList<>();
+                    Utils.loadParameter(scenariosFiles, parameterGrid.getLines(point).stream());
+                    String outputFolder = parameterGrid.isSweep()
+                            ? Utils.OUTPUT + ParameterGrid.getTag(point) + "/" : Utils.OUTPUT;
+                    for (String scenarioFile : scenariosFiles) {
+                        datacenterCache.load(Parameter.PM_CONFIG, scenarioFile);
+                        ExperimentContext context = new ExperimentContext(scenarioFile, Utils.splitRandomSource(),
+                                outputFolder);
+                        context.setAlgorithm(Parameter.ALGORITHM);
+                        context.setHeuristicCode(Parameter.HEURISTIC_CODE);
+                        context.setPmConfig(Parameter.PM_CONFIG);
+                        context.setProtectionFactor(Parameter.PROTECTION_FACTOR);
+                        context.setFaultTolerance(Parameter.FAULT_TOLERANCE);
+                        context.setScalarizationMethod(Parameter.SCALARIZATION_METHOD);
+                        context.setMemeConfig(Utils.getMemeConfig(true, context.getRandomSource()));
+                        contexts.add(context);
+                        contextPoints.add(point);
+                    }
+                }
+                if (executorService == null) {
+                    executorService = Executors.newWorkStealingPool(Math.max(1, Parameter.SCENARIO_THREADS));
+                }
+                List<Future<Void>> results = new ArrayList<>();
+                for (ExperimentContext context : contexts) {
+                    results.add(executorService.submit(() -> {
+                        launchExperiment(context, datacenterCache);
+                        return null;
+                    }));
+                }
+                for (int iteratorRun = 0; iteratorRun < contexts.size(); iteratorRun++) {
+                    results.get(iteratorRun).get();
+                    contexts.get(iteratorRun).flush();
+                    if (parameterGrid.isSweep()) {
+                        printSweepResult(parameterGrid, contextPoints.get(iteratorRun), contexts.get(iteratorRun));
+                    }
+                }
+            }
+        } finally {
+            if (executorService != null) {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * 如果扫描结果文件还不存在，写入它的标题行：扫描参数的名称和每次运行的结果的名称
+     * @param parameterGrid 参数网格
+     * @throws IOException
+     */
+    private static void printSweepResultsHeader(ParameterGrid parameterGrid) throws IOException {
+        if (!Files.exists(Paths.get(Utils.OUTPUT + Constant.SWEEP_RESULTS_FILE))) {
+            List<String> header = new ArrayList<>(parameterGrid.getSweptKeys());
+            header.addAll(Arrays.asList("SCENARIO", "SCENARIO_SCORE", "ECONOMICAL_PENALTIES", "LEASING_COSTS"));
+            Utils.printToFile(Utils.OUTPUT + Constant.SWEEP_RESULTS_FILE, String.join(",", header));
+        }
+    }
+
+    /**
+     * 在扫描结果文件中记录一次运行的网格点和结果
+     * @param parameterGrid 参数网格
+     * @param point         网格点
+     * @param context       运行的上下文
+     * @throws IOException
+     */
+    private static void printSweepResult(ParameterGrid parameterGrid, Map<String, String> point,
+            ExperimentContext context) throws IOException {
+        List<String> row = new ArrayList<>();
+        parameterGrid.getSweptKeys().forEach(key -> row.add(point.get(key)));
+        row.add(context.getScenarioFile());
+        row.add(String.valueOf(context.getScenarioScore()));
+        row.add(String.valueOf(context.getEconomicalPenalties()));
+        row.add(String.valueOf(context.getLeasingCosts()));
+        Utils.printToFile(Utils.OUTPUT + Constant.SWEEP_RESULTS_FILE, String.join(",", row));
+    }
+
+    /**
+     * 执行一个场景的实验
+     * @param context         场景运行的上下文
+     * @param datacenterCache 物理机配置和工作负载跟踪的缓存
+     * @throws IOException
+     * @throws InterruptedException
+     * @throws ExecutionException
+     */
+    private static void launchExperiment(ExperimentContext context, DatacenterCache datacenterCache)
+            throws IOException, InterruptedException, ExecutionException {
+
+        String scenarioFile = context.getScenarioFile();
+        String heuristicCode = context.getHeuristicCode();
+
         //变量声明
-        List<PhysicalMachine> physicalMachines = new ArrayList<>();
-        List<Scenario> scenarios = new ArrayList<>();
+        List<PhysicalMachine> physicalMachines = datacenterCache.getPhysicalMachines(context.getPmConfig());
+        List<Scenario> scenarios = datacenterCache.getWorkload(scenarioFile);
         List<VirtualMachine> virtualMachines = new ArrayList<>();
         List<VirtualMachine> derivedVMs = new ArrayList<>();
 
         Integer[] requestsProcess = initRequestProcess();
         Float[] realRevenue = new Float[]{0F};
-        Utils.checkPathFolders(Constant.PLACEMENT_SCORE_BY_TIME_FILE);
-        Files.write(Paths.get(Constant.PLACEMENT_SCORE_BY_TIME_FILE + scenarioFile),
+        Utils.checkPathFolders(context.getOutputFolder() + Constant.PLACEMENT_SCORE_BY_TIME_FILE);
+        Files.write(Paths.get(context.getOutputFolder(), Constant.PLACEMENT_SCORE_BY_TIME_FILE + scenarioFile),
                 (scenarioFile + "\n" ).getBytes(), StandardOpenOption.CREATE);
 
         List<Resources> wastedResources = new ArrayList<>();
         Map<Integer, Float> wastedResourcesRatioByTime = new HashMap<>();
         Map<Integer, Float> powerByTime = new HashMap<>();
         Map<Integer, Float> revenueByTime = new HashMap<>();
-        Map<Integer, Placement> placements = new HashMap<>();
-        // 加载数据中心配置信息，初始化最大模拟时间
-        maxPower = Utils.loadDatacenter(pmConfig, scenarioFile, physicalMachines, scenarios);
-        timeSimulated = scenarios.get(scenarios.size() - 1).getTime();
+        Map<Integer, Float> placementScores = new HashMap<>();
+        // 数据中心的最大功耗，初始化最大模拟时间
+        context.setMaxPower(datacenterCache.getMaxPower(context.getPmConfig()));
+        context.setTimeSimulated(scenarios.get(scenarios.size() - 1).getTime());
         Integer code = Constant.HEURISTIC_MAP.get(heuristicCode);
         //检查启发式代码是否有效
         if(code == null) {
@@ -265,80 +354,85 @@ public class DynamicVMP {
         }
         //初始化时间单元
         Integer timeUnit = scenarios.get(0).getTime();
-        initialTimeUnit = timeUnit;
-        timeAdjustment(wastedResources, wastedResourcesRatioByTime, powerByTime, revenueByTime, scenarioFile);
-        //加载先验时间点的值
-        loadAprioriValuesByTime(scenarios);
+        context.setInitialTimeUnit(timeUnit);
+        timeAdjustment(context, wastedResources, wastedResourcesRatioByTime, powerByTime, revenueByTime);
         //如果是BFD或FFD则先进行排序
         if (Constant.FFD.equals(heuristicCode)) {
         Collections.sort(scenarios);
         }
+        //按时间单元索引场景列表，先验值和模拟内核共用这个索引
+        WorkloadIndex workload = new WorkloadIndex(scenarios);
+        //加载先验时间点的值
+        loadAprioriValuesByTime(context, workload);
         try{
             //调用选择的算法进行实验
-            getAlgorithms()[Parameter.ALGORITHM]
-                    .useAlgorithm(scenarios, physicalMachines, virtualMachines, derivedVMs,
+            getAlgorithms()[context.getAlgorithm()]
+                    .useAlgorithm(workload, physicalMachines, virtualMachines, derivedVMs,
                             revenueByTime, wastedResources, wastedResourcesRatioByTime, powerByTime,
-                            placements, code, timeUnit, requestsProcess, maxPower, scenarioFile);
+                            placementScores, code, timeUnit, requestsProcess, context);
         } catch (ArrayIndexOutOfBoundsException e) {
             logger.log(Level.SEVERE, "Is not a valid algorithm!");
             throw e;
         }
         //计算场景得分
-        Float scenarioScored = ObjectivesFunctions.getScenarioScore(revenueByTime, placements, realRevenue);
+        Float scenarioScored = ObjectivesFunctions.getScenarioScore(revenueByTime, placementScores, realRevenue);
+        context.setScenarioScore(scenarioScored);
         //输出结果到文件中
-        Utils.printToFile(Constant.POWER_CONSUMPTION_FILE, Utils.getAvgPwConsumptionNormalized(powerByTime));
-        Utils.printToFile(Constant.WASTED_RESOURCES_FILE, Utils.getAvgResourcesWNormalized(wastedResourcesRatioByTime));
-        Utils.printToFile(Constant.ECONOMICAL_REVENUE_FILE, Utils.getAvgRevenueNormalized(revenueByTime));
-        Utils.printToFile(Constant.WASTED_RESOURCES_RATIO_FILE, wastedResources);
-        Utils.printToFile(Constant.SCENARIOS_SCORES, scenarioScored);
-        Utils.printToFile(Constant.RECONFIGURATION_CALL_TIMES_FILE,"\n");
-        Utils.printToFile(Constant.ECONOMICAL_PENALTIES_FILE, DynamicVMP.economicalPenalties);
-        Utils.printToFile(Constant.LEASING_COSTS_FILE, DynamicVMP.leasingCosts);
+        context.printToFile(Constant.POWER_CONSUMPTION_FILE, Utils.getAvgPwConsumptionNormalized(context, powerByTime));
+        context.printToFile(Constant.WASTED_RESOURCES_FILE, Utils.getAvgResourcesWNormalized(wastedResourcesRatioByTime));
+        context.printToFile(Constant.ECONOMICAL_REVENUE_FILE, Utils.getAvgRevenueNormalized(context, revenueByTime));
+        context.printToFile(Constant.WASTED_RESOURCES_RATIO_FILE, wastedResources);
+        context.printToFile(Constant.SCENARIOS_SCORES, scenarioScored);
+        context.printToFile(Constant.RECONFIGURATION_CALL_TIMES_FILE,"\n");
+        context.printToFile(Constant.ECONOMICAL_PENALTIES_FILE, context.getEconomicalPenalties());
+        context.printToFile(Constant.LEASING_COSTS_FILE, context.getLeasingCosts());
     }
 
     /**
      * 时间调整方法，用于在开始模拟前补充时间单元
      *
+     * @param context                    场景运行的上下文
      * @param wastedResources            浪费资源列表
      * @param wastedResourcesRatioByTime 每个时间t浪费的资源列表
      * @param powerByTime                每个时间t的功耗
      * @param revenueByTime              每个时间t的经济收益
      */
-    private static void timeAdjustment(List<Resources> wastedResources,
+    private static void timeAdjustment(ExperimentContext context, List<Resources> wastedResources,
             Map<Integer, Float> wastedResourcesRatioByTime, Map<Integer, Float> powerByTime,
-            Map<Integer, Float> revenueByTime, String scenarioFile) throws IOException {
+            Map<Integer, Float> revenueByTime) {
 
         Integer timeAdjust = 0;
+        Integer initialTimeUnit = context.getInitialTimeUnit();
         if(initialTimeUnit != 0 ) {
             while (timeAdjust < initialTimeUnit) {
                 powerByTime.put(timeAdjust, 0F);
                 wastedResources.add(new Resources());
                 wastedResourcesRatioByTime.put(timeAdjust, 0F);
                 revenueByTime.put(timeAdjust, 0F);
-                Utils.printToFile(Constant.PLACEMENT_SCORE_BY_TIME_FILE + scenarioFile, 0);
+                context.printToFile(Constant.PLACEMENT_SCORE_BY_TIME_FILE + context.getScenarioFile(), 0);
                 timeAdjust++;
-                timeSimulated += 1;
+                context.setTimeSimulated(context.getTimeSimulated() + 1);
             }
         }
     }
 
     /**
      * 加载先验时间点的值
-     * @param workload 场景列表
+     * @param context  场景运行的上下文
+     * @param workload 按时间单元索引的场景列表
      */
-    public static void loadAprioriValuesByTime(List<Scenario> workload) {
+    public static void loadAprioriValuesByTime(ExperimentContext context, WorkloadIndex workload) {
         // 用于存储时间点对应的先验收入的映射
         Map<Integer, Float> revenueAPrioriByTime = new HashMap<>();
         // 用于存储时间点对应的先验迁移内存的映射
         Map<Integer, Float> migratedMemoryAPrioriByTime = new HashMap<>();
-        // 记录唯一虚拟机数量
-        Integer numberUniqueVm = 0;
         // 记录累积先验收入
         Float revenueAPriori=0F;
         // 记录累积先验迁移内存
         Float migratedMemoryAPriori = 0F;
         // 时间调整值
         Integer timeAdjust = 0;
+        Integer initialTimeUnit = context.getInitialTimeUnit();
         // 如果初始时间单位不为零，补充先验映射中的时间点
         if(initialTimeUnit != 0 ) {
             while (timeAdjust < initialTimeUnit) {
@@ -347,33 +441,32 @@ public class DynamicVMP {
                 timeAdjust++;
             }
         }
-        // 遍历场景列表，计算先验收入和迁移内存
-        for( int iteratroScenario=0; iteratroScenario<workload.size(); iteratroScenario++){
-            // 获取当前场景
-            Scenario request = workload.get(iteratroScenario);
-            //计算垒起先验收入
-            revenueAPriori += request.getRevenue().getCpu() * request.getResources().getCpu() *  Parameter.DERIVE_COST;
-            revenueAPriori += request.getRevenue().getRam() * request.getResources().getRam() *  Parameter.DERIVE_COST;
-            revenueAPriori += request.getRevenue().getNet() * request.getResources().getNet() *  Parameter.DERIVE_COST;
-            // 累积先验迁移内存
-	        migratedMemoryAPriori+= request.getResources().getRam();
-            // 如果场景的时间小于等于初始化时间，增加虚拟机数量
-            if(request.getTime() <= request.getTinit()) {
-                numberUniqueVm++;
-            }
-            // 判断是否是最后一个场景或者下一个场景的时间不同，更新先验映射
-            if((iteratroScenario + 1) == workload.size() || !request.getTime().equals(workload.get(iteratroScenario + 1).getTime())){
-                revenueAPrioriByTime.put(request.getTime(), revenueAPriori);
-                maxRevenueLost += revenueAPriori;
-                migratedMemoryAPrioriByTime.put(request.getTime(), migratedMemoryAPriori);
-                revenueAPriori = 0F;
-                migratedMemoryAPriori = 0F;
+        // 按时间单元遍历场景列表，计算先验收入和迁移内存
+        int iteratroScenario = 0;
+        while (iteratroScenario < workload.size()) {
+            Integer timeUnit = workload.get(iteratroScenario).getTime();
+            for (Scenario request : workload.getRequests(timeUnit)) {
+                //计算垒起先验收入
+                revenueAPriori += request.getRevenue().getCpu() * request.getResources().getCpu() *  Parameter.DERIVE_COST;
+                revenueAPriori += request.getRevenue().getRam() * request.getResources().getRam() *  Parameter.DERIVE_COST;
+                revenueAPriori += request.getRevenue().getNet() * request.getResources().getNet() *  Parameter.DERIVE_COST;
+                // 累积先验迁移内存
+                migratedMemoryAPriori+= request.getResources().getRam();
+                iteratroScenario++;
             }
+            // 时间单元的所有场景处理完后，更新先验映射
+            revenueAPrioriByTime.put(timeUnit, revenueAPriori);
+            context.setMaxRevenueLost(context.getMaxRevenueLost() + revenueAPriori);
+            migratedMemoryAPrioriByTime.put(timeUnit, migratedMemoryAPriori);
+            revenueAPriori = 0F;
+            migratedMemoryAPriori = 0F;
         }
-        // 将计算得到的先验映射更新到全局变量中
-        revenueAprioriTime = revenueAPrioriByTime;
-        migratedMemoryAprioriTime = migratedMemoryAPrioriByTime;
-        vmUnique = numberUniqueVm;
+        // 唯一虚拟机数量，即场景的时间小于等于初始化时间的场景数量
+        Integer numberUniqueVm = workload.countArrivals();
+        // 将计算得到的先验映射更新到场景的上下文中
+        context.setRevenueAprioriTime(revenueAPrioriByTime);
+        context.setMigratedMemoryAprioriTime(migratedMemoryAPrioriByTime);
+        context.setVmUnique(numberUniqueVm);
 
     }
 
@@ -429,21 +522,22 @@ public class DynamicVMP {
     }
 
     // 更新经济消耗
-    public static void updateEconomicalPenalties(VirtualMachine vm, Resources resourcesViolated, Integer timeViolation) {
+    public static void updateEconomicalPenalties(ExperimentContext context, VirtualMachine vm, Resources resourcesViolated,
+            Integer timeViolation) {
 
         Float violationRevenue = 0F;
         violationRevenue += resourcesViolated.getCpu() * vm.getRevenue().getCpu();
         violationRevenue += resourcesViolated.getRam() * vm.getRevenue().getRam();
         violationRevenue += resourcesViolated.getNet() * vm.getRevenue().getNet();
 
-        Float currentRevenue = DynamicVMP.revenueAprioriTime.get(timeViolation);
+        Float currentRevenue = context.getRevenueAprioriTime().get(timeViolation);
         Float newAPrioriRevenue = currentRevenue + violationRevenue;
-        DynamicVMP.revenueAprioriTime.put(timeViolation, newAPrioriRevenue);
+        context.getRevenueAprioriTime().put(timeViolation, newAPrioriRevenue);
 
-        economicalPenalties += violationRevenue;
+        context.setEconomicalPenalties(context.getEconomicalPenalties() + violationRevenue);
     }
     //更新租赁成本
-    public static void updateLeasingCosts(List<VirtualMachine> derivedVMs) {
+    public static void updateLeasingCosts(ExperimentContext context, List<VirtualMachine> derivedVMs) {
 
         Float leasingCostRevenue = 0F;
         for (VirtualMachine dvm : derivedVMs) {
@@ -452,7 +546,7 @@ public class DynamicVMP {
             leasingCostRevenue += dvm.getResources().get(2) * dvm.getRevenue().getNet() * Parameter.DERIVE_COST;
         }
 
-        leasingCosts += leasingCostRevenue;
+        context.setLeasingCosts(context.getLeasingCosts() + leasingCostRevenue);
     }
     // 获取可用的算法数组
     public static Algorithm[] getAlgorithms() {
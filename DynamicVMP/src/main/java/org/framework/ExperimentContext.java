@@ -0,0 +1,312 @@
+package org.framework;
+
+import org.domain.Violation;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 一次场景运行的状态。
+ * <p>
+ *     每个场景使用自己的上下文，因此多个场景可以同时运行：上下文保存场景的先验值、统计指标、违规记录和随机数序列，
+ *     输出先写入上下文的缓冲区，运行结束后由{@link #flush()}按场景的顺序追加到上下文的输出文件夹中。
+ *     算法、启发式算法、物理机配置、保护系数、容错性、标量化方法和重配置算法的设置（{@link MASettings}）
+ *     在加载网格点的参数时复制到上下文中，属于这一次运行（{@link ParameterGrid#RUN_PARAMETERS}）；
+ *     其他参数（{@link Parameter}）在运行前加载，运行期间只读，由同时进行的所有运行共享。
+ *     一个上下文只能由运行这个场景的线程使用。
+ * </p>
+ */
+public class ExperimentContext {
+
+    private final String scenarioFile;//场景名称
+    private final RandomSource randomSource;//这个场景的随机数序列
+    private final String outputFolder;//输出文件夹
+
+    private Integer algorithm;//放置算法
+    private String heuristicCode;//启发式算法代码
+    private String pmConfig;//物理机配置
+    private Float protectionFactor;//保护系数
+    private Boolean faultTolerance;//是否考虑容错约束
+    private String scalarizationMethod;//计算放置分数的标量化方法
+    private MASettings memeConfig;//重配置算法的设置
+
+    private Integer timeSimulated;// 模拟时间
+    private Integer initialTimeUnit;// 初始时间单位
+    private Integer vmUnique = 0;// 唯一虚拟机标识
+
+    /**
+     * 统计指标
+     */
+    private Float maxPower = 0F;
+    private Float maxRevenueLost = 0F;
+    private Float economicalPenalties = 0F;
+    private Float leasingCosts = 0F;
+    private Float scenarioScore;
+
+    /**
+     * 统计先验时间指标
+     */
+    private Map<Integer, Float> revenueAprioriTime = new HashMap<>();
+    private Map<Integer, Float> migratedMemoryAprioriTime = new HashMap<>();
+
+    /**
+     * 未满足资源的虚拟机映射
+     */
+    private final Map<Integer, Violation> unsatisfiedResources = new HashMap<>();
+
+    /**
+     * 每个输出文件的缓冲区，按第一次写入的顺序
+     */
+    private final Map<String, StringBuilder> outputs = new LinkedHashMap<>();
+
+    /**
+     * @param scenarioFile 场景名称
+     * @param randomSource 这个场景的随机数序列
+     * @param outputFolder 输出文件夹
+     */
+    public ExperimentContext(String scenarioFile, RandomSource randomSource, String outputFolder) {
+        this.scenarioFile = scenarioFile;
+        this.randomSource = randomSource;
+        this.outputFolder = outputFolder;
+    }
+
+    /**
+     * 将对象写入到文件的缓冲区，格式与{@link Utils#printToFile}相同。
+     *
+     * @param file    要写入的文件，相对于输出文件夹
+     * @param toPrint 要打印到文件的对象
+     */
+    public void printToFile(String file, Object toPrint) {
+        StringBuilder output = outputs.computeIfAbsent(file, key -> new StringBuilder());
+        if (toPrint instanceof Collection<?>) {
+            // 如果是集合类型，则将每个元素逐行写入
+            for (Object element : (Collection<?>) toPrint) {
+                output.append(element).append('\n');
+            }
+        } else if (toPrint instanceof Map<?, ?>) {
+            // 如果是映射类型，则将每个映射项的值逐行写入
+            for (Object value : ((Map<?, ?>) toPrint).values()) {
+                output.append(value).append('\n');
+            }
+        } else {
+            output.append(toPrint).append('\n');
+        }
+    }
+
+    /**
+     * 将缓冲区追加到输出文件中并清空缓冲区。
+     *
+     * @throws IOException 如果发生写入文件时的 I/O 异常
+     */
+    public void flush() throws IOException {
+        for (Map.Entry<String, StringBuilder> output : outputs.entrySet()) {
+            Path file = Paths.get(outputFolder, output.getKey());
+            // 检查输出文件所在的目录是否存在，如果不存在，则创建
+            if (file.getParent() != null) {
+                Utils.checkPathFolders(file.getParent().toString());
+            }
+            Files.write(file, output.getValue().toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        outputs.clear();
+    }
+
+    // 获取场景名称
+    public String getScenarioFile() {
+        return scenarioFile;
+    }
+
+    // 获取这个场景的随机数序列
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    // 获取输出文件夹
+    public String getOutputFolder() {
+        return outputFolder;
+    }
+
+    // 获取放置算法
+    public Integer getAlgorithm() {
+        return algorithm;
+    }
+
+    // 设置放置算法
+    public void setAlgorithm(Integer algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    // 获取启发式算法代码
+    public String getHeuristicCode() {
+        return heuristicCode;
+    }
+
+    // 设置启发式算法代码
+    public void setHeuristicCode(String heuristicCode) {
+        this.heuristicCode = heuristicCode;
+    }
+
+    // 获取物理机配置
+    public String getPmConfig() {
+        return pmConfig;
+    }
+
+    // 设置物理机配置
+    public void setPmConfig(String pmConfig) {
+        this.pmConfig = pmConfig;
+    }
+
+    // 获取保护系数
+    public Float getProtectionFactor() {
+        return protectionFactor;
+    }
+
+    // 设置保护系数
+    public void setProtectionFactor(Float protectionFactor) {
+        this.protectionFactor = protectionFactor;
+    }
+
+    // 获取是否考虑容错约束
+    public Boolean getFaultTolerance() {
+        return faultTolerance;
+    }
+
+    // 设置是否考虑容错约束
+    public void setFaultTolerance(Boolean faultTolerance) {
+        this.faultTolerance = faultTolerance;
+    }
+
+    // 获取计算放置分数的标量化方法
+    public String getScalarizationMethod() {
+        return scalarizationMethod;
+    }
+
+    // 设置计算放置分数的标量化方法
+    public void setScalarizationMethod(String scalarizationMethod) {
+        this.scalarizationMethod = scalarizationMethod;
+    }
+
+    // 获取重配置算法的设置
+    public MASettings getMemeConfig() {
+        return memeConfig;
+    }
+
+    // 设置重配置算法的设置
+    public void setMemeConfig(MASettings memeConfig) {
+        this.memeConfig = memeConfig;
+    }
+
+    // 获取模拟时间
+    public Integer getTimeSimulated() {
+        return timeSimulated;
+    }
+
+    // 设置模拟时间
+    public void setTimeSimulated(Integer timeSimulated) {
+        this.timeSimulated = timeSimulated;
+    }
+
+    // 获取初始时间单位
+    public Integer getInitialTimeUnit() {
+        return initialTimeUnit;
+    }
+
+    // 设置初始时间单位
+    public void setInitialTimeUnit(Integer initialTimeUnit) {
+        this.initialTimeUnit = initialTimeUnit;
+    }
+
+    // 获取唯一虚拟机的数量
+    public Integer getVmUnique() {
+        return vmUnique;
+    }
+
+    // 设置唯一虚拟机的数量
+    public void setVmUnique(Integer vmUnique) {
+        this.vmUnique = vmUnique;
+    }
+
+    // 获取最大功耗
+    public Float getMaxPower() {
+        return maxPower;
+    }
+
+    // 设置最大功耗
+    public void setMaxPower(Float maxPower) {
+        this.maxPower = maxPower;
+    }
+
+    // 获取最大收益损失
+    public Float getMaxRevenueLost() {
+        return maxRevenueLost;
+    }
+
+    // 设置最大收益损失
+    public void setMaxRevenueLost(Float maxRevenueLost) {
+        this.maxRevenueLost = maxRevenueLost;
+    }
+
+    // 获取经济惩罚
+    public Float getEconomicalPenalties() {
+        return economicalPenalties;
+    }
+
+    // 设置经济惩罚
+    public void setEconomicalPenalties(Float economicalPenalties) {
+        this.economicalPenalties = economicalPenalties;
+    }
+
+    // 获取租赁成本
+    public Float getLeasingCosts() {
+        return leasingCosts;
+    }
+
+    // 设置租赁成本
+    public void setLeasingCosts(Float leasingCosts) {
+        this.leasingCosts = leasingCosts;
+    }
+
+    // 获取场景得分
+    public Float getScenarioScore() {
+        return scenarioScore;
+    }
+
+    // 设置场景得分
+    public void setScenarioScore(Float scenarioScore) {
+        this.scenarioScore = scenarioScore;
+    }
+
+    // 获取每个时间单位的先验收益
+    public Map<Integer, Float> getRevenueAprioriTime() {
+        return revenueAprioriTime;
+    }
+
+    // 设置每个时间单位的先验收益
+    public void setRevenueAprioriTime(Map<Integer, Float> revenueAprioriTime) {
+        this.revenueAprioriTime = revenueAprioriTime;
+    }
+
+    // 获取每个时间单位的先验迁移内存
+    public Map<Integer, Float> getMigratedMemoryAprioriTime() {
+        return migratedMemoryAprioriTime;
+    }
+
+    // 设置每个时间单位的先验迁移内存
+    public void setMigratedMemoryAprioriTime(Map<Integer, Float> migratedMemoryAprioriTime) {
+        this.migratedMemoryAprioriTime = migratedMemoryAprioriTime;
+    }
+
+    // 获取未满足资源的虚拟机映射
+    public Map<Integer, Violation> getUnsatisfiedResources() {
+        return unsatisfiedResources;
+    }
+}
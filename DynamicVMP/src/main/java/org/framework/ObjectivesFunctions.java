@@ -53,16 +53,30 @@ public class ObjectivesFunctions {
         return powerConsumption;
     }
 
+    /**
+     * 计算经济收益（只包括衍生虚拟机的租赁成本，不考虑违规）
+     *
+     * @param virtualMachines 虚拟机列表
+     * @param derivedVMs      衍生虚拟机列表
+     * @return 总经济收益
+     */
+    public static Float economicalRevenue(List<VirtualMachine> virtualMachines, List<VirtualMachine>
+            derivedVMs) {
+
+        return addDerivedRevenue(0F, derivedVMs);
+    }
+
     /**
      * 计算经济收益
      *
+     * @param context         场景运行的上下文，包含虚拟机的违规记录
      * @param virtualMachines 虚拟机列表
      * @param derivedVMs      衍生虚拟机列表
      * @param timeUnit        时间单位
      * @return 总经济收益
      */
-    public static Float economicalRevenue(List<VirtualMachine> virtualMachines, List<VirtualMachine>
-            derivedVMs, Integer timeUnit) {
+    public static Float economicalRevenue(ExperimentContext context, List<VirtualMachine> virtualMachines,
+            List<VirtualMachine> derivedVMs, Integer timeUnit) {
 
         Float totalRevenue = 0F;
         Float violationRevenue = 0F;
@@ -73,7 +87,7 @@ public class ObjectivesFunctions {
         for (VirtualMachine vm : virtualMachines) {
 
             // 获取每个虚拟机每个时间单位的违规（如果存在）
-            violation = DynamicVMP.unsatisfiedResources.get(vm.getId());
+            violation = context.getUnsatisfiedResources().get(vm.getId());
             if (violation != null && timeUnit != null) {
                 resources = violation.getResourcesViolated().get(timeUnit);
                 // 获取违规资源
@@ -87,12 +101,22 @@ public class ObjectivesFunctions {
             }
         }
 
+        return addDerivedRevenue(totalRevenue, derivedVMs);
+    }
+
+    /**
+     * 将衍生虚拟机的租赁成本累加到收益上
+     *
+     * @param totalRevenue 已累加的收益
+     * @param derivedVMs   衍生虚拟机列表
+     * @return 总经济收益
+     */
+    private static Float addDerivedRevenue(Float totalRevenue, List<VirtualMachine> derivedVMs) {
         for (VirtualMachine dvm : derivedVMs) {
             totalRevenue += dvm.getResources().get(0) * dvm.getRevenue().getCpu() * Parameter.DERIVE_COST;
             totalRevenue += dvm.getResources().get(1) * dvm.getRevenue().getRam() * Parameter.DERIVE_COST;
             totalRevenue += dvm.getResources().get(2) * dvm.getRevenue().getNet() * Parameter.DERIVE_COST;
         }
-
         return totalRevenue;
     }
 
@@ -252,19 +276,20 @@ public class ObjectivesFunctions {
     }
 
     /**
-     * 获取标量化方法的值
+     * 使用指定的标量化方法将多个目标函数值合并为一个值。
      *
      * @param objFunctValues 目标函数值列表
-     * @param weight         权重值
-     * @return 标量化方法的值
+     * @param weight         权重（用于加权和方法）
+     * @param method         标量化方法：ED、CD、MD，其他值为加权和
+     * @return 标量化方法计算得到的值
      */
-    public static Float getScalarizationMethod(List<Float> objFunctValues, Float weight){
+    public static Float getScalarizationMethod(List<Float> objFunctValues, Float weight, String method){
 
-        if("ED".equals(Parameter.SCALARIZATION_METHOD)) {
+        if("ED".equals(method)) {
             return getEuclideanDistance(objFunctValues);
-        } else if("CD".equals(Parameter.SCALARIZATION_METHOD)) {
+        } else if("CD".equals(method)) {
             return getChebyshevDistance(objFunctValues);
-        } else if("MD".equals(Parameter.SCALARIZATION_METHOD)) {
+        } else if("MD".equals(method)) {
             return getManhattanDistance(objFunctValues);
         } else {
             return getWeightedSum(objFunctValues, weight);
@@ -332,6 +357,7 @@ public class ObjectivesFunctions {
     /**
      * 根据时间获取目标函数值
      *
+     * @param context                 场景运行的上下文
      * @param physicalMachines        物理机列表
      * @param virtualMachines         虚拟机列表
      * @param derivedVMs              派生虚拟机列表
@@ -342,7 +368,7 @@ public class ObjectivesFunctions {
      * @param timeUnit                时间单元
      * @param currentTimeUnit         当前时间单元
      */
-    public static void getObjectiveFunctionsByTime(List<PhysicalMachine> physicalMachines,
+    public static void getObjectiveFunctionsByTime(ExperimentContext context, List<PhysicalMachine> physicalMachines,
             List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs,
             List<Resources> wastedResources,  Map<Integer, Float> wastedResourcesRatioByTime,
             Map<Integer, Float> powerByTime,  Map<Integer, Float> revenueByTime,
@@ -352,7 +378,7 @@ public class ObjectivesFunctions {
         Heuristics.removeDerivatedVMByTime(derivedVMs, timeUnit);
         // 计算经济收益
         revenueByTime.put(currentTimeUnit, ObjectivesFunctions
-                .economicalRevenue(virtualMachines, derivedVMs, currentTimeUnit));
+                .economicalRevenue(context, virtualMachines, derivedVMs, currentTimeUnit));
         // 计算功耗
         powerByTime.put(currentTimeUnit, ObjectivesFunctions.powerConsumption(physicalMachines));
         // 计算浪费资源比例
@@ -364,17 +390,17 @@ public class ObjectivesFunctions {
     /**
      * 获取放置的当前得分
      * <p>
-     * 标准化目标函数的值，并使用 {@link Parameter#SCALARIZATION_METHOD} 将它们合并为一个值（放置分数）。
+     * 标准化目标函数的值，并使用运行的标量化方法（{@link ExperimentContext#getScalarizationMethod}）将它们合并为一个值（放置分数）。
      * </p>
      *
+     * @param context                    场景运行的上下文，包含 PM 可能消耗的最大功耗和先验收益
      * @param timeUnit                   时间单元
-     * @param maxPower                   由 PM 可能消耗的最大功耗
      * @param wastedResourcesRatioByTime 按时间 t 的浪费资源比例
      * @param powerByTime                按时间 t 的功耗
      * @param revenueByTime              按时间 t 的收益
      * @return 在时间 t 的到原点的距离
      */
-    public static Float getDistanceOrigenByTime (Integer timeUnit, Float maxPower,  Map<Integer, Float> powerByTime,
+    public static Float getDistanceOrigenByTime (ExperimentContext context, Integer timeUnit,  Map<Integer, Float> powerByTime,
             Map<Integer, Float> revenueByTime,  Map<Integer, Float> wastedResourcesRatioByTime) {
 
         // 所有结果在每个时间 t 的总和。 （已标准化）
@@ -390,11 +416,11 @@ public class ObjectivesFunctions {
             wastedResourcesRatioByTime.put(timeUnit, 0F);
         }
         // 功耗
-        normalizedPowerConsumption = Utils.normalizeValue(powerByTime.get(timeUnit), MIN_POWER, maxPower);
+        normalizedPowerConsumption = Utils.normalizeValue(powerByTime.get(timeUnit), MIN_POWER, context.getMaxPower());
         // 收益
         if(revenueByTime.get(timeUnit) != null && revenueByTime.get(timeUnit) > 0) {
             normalizedRevenue = Utils.normalizeValue(revenueByTime.get(timeUnit), MIN_REVENUE,
-                    DynamicVMP.revenueAprioriTime.get(timeUnit));
+                    context.getRevenueAprioriTime().get(timeUnit));
 
         }else{
             normalizedRevenue = 0F;
@@ -409,7 +435,8 @@ public class ObjectivesFunctions {
         objectiveFunctionsResult.add(revenueResult);
         objectiveFunctionsResult.add(wastedResourcesResult);
 
-        return ObjectivesFunctions.getScalarizationMethod(objectiveFunctionsResult, Constant.WEIGHT_ONLINE);
+        return ObjectivesFunctions.getScalarizationMethod(objectiveFunctionsResult, Constant.WEIGHT_ONLINE,
+                context.getScalarizationMethod());
     }
 
     /**
@@ -426,7 +453,7 @@ public class ObjectivesFunctions {
         //功耗
 	    objectiveFunctions[0]=ObjectivesFunctions.powerConsumption(physicalMachineList);
         //经济收益
-        objectiveFunctions[1]=ObjectivesFunctions.economicalRevenue(virtualMachineList,derivedVMs,null);
+        objectiveFunctions[1]=ObjectivesFunctions.economicalRevenue(virtualMachineList,derivedVMs);
         //浪费资源
         objectiveFunctions[2]= ObjectivesFunctions.wastedResources(physicalMachineList,null);
 	    return objectiveFunctions;
@@ -437,11 +464,11 @@ public class ObjectivesFunctions {
      * 计算场景得分
      *
      * @param revenueByTime 按时间单位的收益映射
-     * @param placements     放置映射
+     * @param placementScores 按时间单位的放置分数
      * @param realRevenue    实际总收益数组（索引0处的值将存储总收益）
      * @return 场景得分
      */
-    public static Float getScenarioScore( Map<Integer, Float> revenueByTime, Map<Integer, Placement> placements,
+    public static Float getScenarioScore( Map<Integer, Float> revenueByTime, Map<Integer, Float> placementScores,
             final Float[] realRevenue) {
 
         // 计算总收益
@@ -451,8 +478,8 @@ public class ObjectivesFunctions {
 
         // 计算场景得分
         Float scenarioScored = 0F;
-        for (Map.Entry<Integer, Placement> entry : placements.entrySet()) {
-            scenarioScored += entry.getValue().getPlacementScore();
+        for (Map.Entry<Integer, Float> entry : placementScores.entrySet()) {
+            scenarioScored += entry.getValue();
         }
         return scenarioScored;
     }
@@ -1,5 +1,13 @@
 package org.framework;
 
+/**
+ * 实验参数。
+ * <p>
+ *     参数只在启动和加载网格点时由{@link Utils#loadParameter}写入，运行期间只读。
+ *     保护系数、容错性、标量化方法和Memetic算法的参数在加载网格点时复制到运行的{@link ExperimentContext}
+ *     和{@link org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings}中，运行中的代码只读取这些副本。
+ * </p>
+ */
 public class Parameter {
 
     private Parameter() {
@@ -98,6 +106,152 @@ public class Parameter {
      */
     public static String SCALARIZATION_METHOD;
 
+    /**
+     * MA 评估与修复阶段使用的并行线程数（1 = 串行）
+     */
+    public static Integer EVALUATION_THREADS = 1;
+
 
     public static Integer ALGORITHM;
+
+    /**
+     * 岛屿模型中岛屿的数量（1 = 不使用岛屿模型）
+     */
+    public static Integer ISLANDS = 1;
+
+    /**
+     * 岛屿之间交换个体的间隔代数
+     */
+    public static Integer MIGRATION_INTERVAL = 5;
+
+    /**
+     * 每次迁移时每个岛屿迁出的个体数量
+     */
+    public static Integer MIGRANTS = 1;
+
+    /**
+     * 每代参与局部搜索的最好个体数量（0 = 不进行局部搜索）
+     */
+    public static Integer LOCAL_SEARCH_ELITE = 0;
+
+    /**
+     * 局部搜索中每个个体的最大移动次数
+     */
+    public static Integer LOCAL_SEARCH_MOVES = 10;
+
+    /**
+     * 是否使用任意时间模式：MA的运行时间不超过EXECUTION_DURATION对应的实际时间
+     */
+    public static Boolean ANYTIME = false;
+
+    /**
+     * 最好适应度连续不改进时停止MA的迭代次数（0 = 不提前停止）
+     */
+    public static Integer STAGNATION_GENERATIONS = 0;
+
+    /**
+     * MA初始种群中由当前放置和上一次被接受的重配置结果生成的个体比例
+     */
+    public static Double WARM_START_RATIO = 0D;
+
+    /**
+     * 扰动热启动个体时每个基因被重新随机的概率
+     */
+    public static Double PERTURBATION_RATE = 0.05D;
+
+    /**
+     * MA选择下一代种群的策略：PLUS、ELITIST、CROWDING或PARETO
+     */
+    public static String SURVIVOR_SELECTION = "PLUS";
+
+    /**
+     * ELITIST选择策略中保留的父代精英数量
+     */
+    public static Integer SURVIVOR_ELITE = 1;
+
+    /**
+     * CROWDING选择策略中每个后代比较的父代数量
+     */
+    public static Integer CROWDING_WINDOW = 4;
+
+    /**
+     * PARETO选择策略中保留的非支配个体的最大数量
+     */
+    public static Integer PARETO_ARCHIVE_SIZE = 100;
+
+    /**
+     * 所有随机数序列的根种子（未设置时每次运行的结果不可重复）
+     */
+    public static Long SEED = null;
+
+    /**
+     * MA的交叉算子：ONE_POINT、TWO_POINT、UNIFORM或SERVICE
+     */
+    public static String CROSSOVER = "ONE_POINT";
+
+    /**
+     * MA适应度缓存（以基因的Zobrist哈希为键）的最大条目数（0 = 不使用缓存）
+     */
+    public static Integer FITNESS_CACHE_SIZE = 0;
+
+    /**
+     * MA是否只重新优化过载和低载的物理机及其邻域，并将结果拼接回完整的放置
+     */
+    public static Boolean PARTIAL_RECONFIGURATION = false;
+
+    /**
+     * 部分重配置子问题中加入的非热点物理机数量，优先选择剩余容量最多的工作物理机
+     */
+    public static Integer PARTIAL_NEIGHBORHOOD = 10;
+
+    /**
+     * 每个虚拟机的最佳适应候选物理机数量（不包括当前所在的物理机），限制MA的初始化、变异和修复（0 = 不限制）
+     */
+    public static Integer CANDIDATE_LIST_SIZE = 0;
+
+    /**
+     * ACO每次迭代中构建放置的蚂蚁数量
+     */
+    public static Integer N_ANTS = 10;
+
+    /**
+     * ACO返回最好放置之前的迭代次数
+     */
+    public static Integer ACO_ITERATIONS = 10;
+
+    /**
+     * ACO信息素的上限
+     */
+    public static Double MAX_PHEROMONE = 1D;
+
+    /**
+     * ACO信息素的蒸发率，取值范围[0,1]
+     */
+    public static Double PHEROMONE_CONSTANT = 0.1D;
+
+    /**
+     * 重配置阶段（VMPr）的算法：MEMETIC、ACO或CONSOLIDATION
+     */
+    public static String RECONFIGURATION_ALGORITHM = "MEMETIC";
+
+    /**
+     * 贪心整合算法迁移的内存总量上限（0 = 不限制）
+     */
+    public static Double CONSOLIDATION_MEMORY_CAP = 0D;
+
+    /**
+     * 每次重配置同时竞争的VMPr算法组合，以逗号分隔，例如MEMETIC,MEMETIC(CROSSOVER:UNIFORM),CONSOLIDATION,ACO（空 = 只运行RECONFIGURATION_ALGORITHM）
+     */
+    public static String RECONFIGURATION_ENGINES = "";
+
+    /**
+     * 同时运行的场景数量（1 = 串行），每个场景使用自己的 {@link ExperimentContext}
+     */
+    public static Integer SCENARIO_THREADS = 1;
+
+    /**
+     * 同时进行的重配置的最大数量（1 = 重配置进行中不触发新的重配置）
+     */
+    public static Integer RECONFIGURATIONS_IN_FLIGHT = 1;
+
 }
@@ -0,0 +1,170 @@
+package org.framework;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 参数文件中的参数网格。
+ * <p>
+ *     参数文件中任何参数的值都可以写成方括号中的列表或范围，表示对这个参数进行扫描：
+ * </p>
+ * <ul>
+ *     <li>列表：{@code ALGORITHM=[0|1|2|3]}，以竖线分隔每个值</li>
+ *     <li>范围：{@code PROTECTION_FACTOR=[0:1:0.25]}，即起始值:结束值:步长，包括结束值</li>
+ * </ul>
+ * <p>
+ *     网格的每个点（参数组合）是所有扫描参数的值的一个组合，按参数在文件中出现的顺序展开，最后一个参数变化最快。
+ *     没有扫描参数时网格只有一个点，即参数文件本身。
+ * </p>
+ */
+public class ParameterGrid {
+
+    /**
+     * 只影响一次运行的参数，加载网格点时复制到{@link ExperimentContext}及其重配置算法的设置中，
+     * 因此这些参数取不同值的运行可以同时进行；其他参数在运行期间从全局的{@link Parameter}读取
+     */
+    public static final List<String> RUN_PARAMETERS = Arrays.asList("ALGORITHM", "HEURISTIC_CODE", "PM_CONFIG",
+            "FAULT_TOLERANCE", "PROTECTION_FACTOR", "SCALARIZATION_METHOD",
+            // 重配置算法的设置，见Utils.getMemeConfig
+            "INTERVAL_EXECUTION_MEMETIC", "POPULATION_SIZE", "NUMBER_GENERATIONS", "EXECUTION_DURATION",
+            "EVALUATION_THREADS", "ISLANDS", "MIGRATION_INTERVAL", "MIGRANTS", "LOCAL_SEARCH_ELITE",
+            "LOCAL_SEARCH_MOVES", "ANYTIME", "STAGNATION_GENERATIONS", "WARM_START_RATIO", "PERTURBATION_RATE",
+            "SURVIVOR_SELECTION", "SURVIVOR_ELITE", "CROWDING_WINDOW", "PARETO_ARCHIVE_SIZE", "CROSSOVER",
+            "FITNESS_CACHE_SIZE", "PARTIAL_RECONFIGURATION", "PARTIAL_NEIGHBORHOOD", "CANDIDATE_LIST_SIZE",
+            "N_ANTS", "ACO_ITERATIONS", "MAX_PHEROMONE", "PHEROMONE_CONSTANT", "VMPr", "CONSOLIDATION_MEMORY_CAP",
+            "RECONFIGURATION_ENGINES");
+
+    private static final Pattern SWEEP = Pattern.compile("^\\[(.*)]$");
+    private static final Pattern RANGE = Pattern.compile("^\\s*(-?[0-9.]+)\\s*:\\s*(-?[0-9.]+)\\s*:\\s*([0-9.]+)\\s*$");
+
+    private final List<String> lines;//参数文件的行
+    private final Map<String, List<String>> sweptValues = new LinkedHashMap<>();//每个扫描参数的值
+
+    /**
+     * @param lines 参数文件的行
+     */
+    public ParameterGrid(List<String> lines) {
+        this.lines = lines;
+        for (String line : lines) {
+            String[] keyValue = line.split("=", 2);
+            if (keyValue.length < 2) {
+                continue;
+            }
+            Matcher sweep = SWEEP.matcher(keyValue[1].trim());
+            if (sweep.matches()) {
+                sweptValues.put(keyValue[0], parseValues(keyValue[0], sweep.group(1)));
+            }
+        }
+    }
+
+    /**
+     * 解析一个扫描参数的列表或范围。
+     *
+     * @param key    参数名称
+     * @param values 方括号中的内容
+     * @return 参数的值
+     */
+    private static List<String> parseValues(String key, String values) {
+        List<String> parsedValues = new ArrayList<>();
+        Matcher range = RANGE.matcher(values);
+        if (range.matches()) {
+            BigDecimal start = new BigDecimal(range.group(1));
+            BigDecimal end = new BigDecimal(range.group(2));
+            BigDecimal step = new BigDecimal(range.group(3));
+            if (step.signum() <= 0) {
+                throw new IllegalArgumentException("Step of " + key + " must be positive: " + values);
+            }
+            // 使用BigDecimal避免累加步长时的舍入误差
+            for (BigDecimal value = start; value.compareTo(end) <= 0; value = value.add(step)) {
+                parsedValues.add(value.stripTrailingZeros().toPlainString());
+            }
+        } else {
+            Arrays.stream(values.split("\\|"))
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .forEach(parsedValues::add);
+        }
+        if (parsedValues.isEmpty()) {
+            throw new IllegalArgumentException("No values to sweep for " + key + ": " + values);
+        }
+        return parsedValues;
+    }
+
+    /**
+     * @return 是否有扫描参数
+     */
+    public boolean isSweep() {
+        return !sweptValues.isEmpty();
+    }
+
+    /**
+     * 展开网格的所有点，每个点是扫描参数到值的映射，按参数在文件中出现的顺序，最后一个参数变化最快。
+     *
+     * @return 网格的点
+     */
+    public List<Map<String, String>> getPoints() {
+        List<Map<String, String>> points = new ArrayList<>();
+        points.add(new LinkedHashMap<>());
+        for (Map.Entry<String, List<String>> swept : sweptValues.entrySet()) {
+            List<Map<String, String>> expandedPoints = new ArrayList<>();
+            for (Map<String, String> point : points) {
+                for (String value : swept.getValue()) {
+                    Map<String, String> expandedPoint = new LinkedHashMap<>(point);
+                    expandedPoint.put(swept.getKey(), value);
+                    expandedPoints.add(expandedPoint);
+                }
+            }
+            points = expandedPoints;
+        }
+        return points;
+    }
+
+    /**
+     * 用网格点的值替换扫描参数后的参数文件的行。
+     *
+     * @param point 网格点
+     * @return 参数文件的行
+     */
+    public List<String> getLines(Map<String, String> point) {
+        return lines.stream().map(line -> {
+            String key = line.split("=", 2)[0];
+            return point.containsKey(key) ? key + "=" + point.get(key) : line;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * 网格点中需要写入全局{@link Parameter}的部分，这部分相同的点可以同时运行。
+     *
+     * @param point 网格点
+     * @return 不包括{@link #RUN_PARAMETERS}的网格点
+     */
+    public static Map<String, String> getGlobalPart(Map<String, String> point) {
+        Map<String, String> globalPart = new LinkedHashMap<>(point);
+        globalPart.keySet().removeAll(RUN_PARAMETERS);
+        return globalPart;
+    }
+
+    /**
+     * 网格点的标签，用作这个点的输出文件夹的名称，例如{@code ALGORITHM-0_PROTECTION_FACTOR-0.25}。
+     *
+     * @param point 网格点
+     * @return 网格点的标签
+     */
+    public static String getTag(Map<String, String> point) {
+        return point.entrySet().stream()
+                .map(entry -> entry.getKey() + "-" + entry.getValue().replaceAll("[^A-Za-z0-9.,+-]", "_"))
+                .collect(Collectors.joining("_"));
+    }
+
+    // 获取扫描参数的名称
+    public List<String> getSweptKeys() {
+        return new ArrayList<>(sweptValues.keySet());
+    }
+}
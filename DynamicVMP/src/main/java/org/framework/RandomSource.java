@@ -0,0 +1,79 @@
+package org.framework;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * 基于{@link SplittableRandom}的随机数序列。
+ * <p>
+ *     继承{@link Random}以便直接传给现有的算子，但不使用{@link Random}的原子种子，因此没有线程之间的竞争；
+ *     一个对象只能由一个线程使用。需要新的独立序列时调用{@link #split()}：
+ *     根序列由参数文件中的SEED生成，每个场景、每次重配置、每个岛屿和每个工作线程从上一级序列中按固定的顺序分出自己的序列，
+ *     因此相同的SEED得到完全相同的结果，与线程的调度无关。
+ * </p>
+ */
+public class RandomSource extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private SplittableRandom delegate;//实际生成随机数的序列
+
+    /**
+     * 构造函数
+     * @param seed 随机数序列的种子
+     */
+    public RandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private RandomSource(SplittableRandom delegate) {
+        super(0L);
+        this.delegate = delegate;
+    }
+
+    /**
+     * 分出一个新的独立随机数序列，并推进当前序列。
+     * @return 新的随机数序列
+     */
+    public RandomSource split() {
+        return new RandomSource(delegate.split());
+    }
+
+    //使用新的种子重新开始序列；父类的构造函数调用它时序列还没有创建，忽略
+    @Override
+    public synchronized void setSeed(long seed) {
+        if (delegate != null) {
+            delegate = new SplittableRandom(seed);
+        }
+    }
+
+    @Override
+    protected int next(int bits) {
+        return delegate.nextInt() >>> (32 - bits);
+    }
+
+    @Override
+    public int nextInt() {
+        return delegate.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return delegate.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return delegate.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return delegate.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return delegate.nextBoolean();
+    }
+}
@@ -31,7 +31,8 @@ public class Utils {
     public static final String SUM = "SUM";
     public static final String SUB = "SUB";
     public static final String SCENARIOS = "SCENARIOS";
-    private static Random  random;
+    // 根随机数序列，只在持有类锁时使用，用于分出每个场景的随机数序列
+    private static RandomSource random;
 
     private static Logger logger = Logger.getLogger("Utils");
 
@@ -40,7 +41,7 @@ public class Utils {
     }
 
     static{
-        random = new Random();
+        random = new RandomSource(new SplittableRandom().nextLong());
     }
 
     /**
@@ -157,36 +158,24 @@ public class Utils {
     }
 
     /**
-     * 生成指定范围内的随机整数。
+     * 从根随机数序列中分出一个新的序列，例如每个场景的Memetic算法使用的序列。
+     * 在同一个线程中按相同的顺序调用时，相同的{@link Parameter#SEED}得到相同的序列。
      *
-     * @param min 最小值（包含）
-     * @param max 最大值（包含）
-     * @return 在指定范围内的随机整数
+     * @return 新的随机数序列
      */
-    public static int getRandomInt(int min, int max) {
+    public static synchronized RandomSource splitRandomSource() {
 
-        return min + random.nextInt(max - min + 1);
+        return random.split();
     }
 
     /**
-     * 生成小于指定值的随机整数。
+     * 使用指定的种子重新创建根随机数序列。
      *
-     * @param n 上限值（不包含）
-     * @return 小于指定值的随机整数
+     * @param seed 根随机数序列的种子
      */
-    public static int getRandomtInt(int n) {
+    public static synchronized void setRandomSeed(long seed) {
 
-        return random.nextInt(n);
-    }
-
-    /**
-     * 生成 0 到 1 之间的随机双精度浮点数。
-     *
-     * @return 0 到 1 之间的随机双精度浮点数
-     */
-    public static double getRandomDouble() {
-
-        return random.nextDouble();
+        random = new RandomSource(seed);
     }
 
     /**
@@ -261,14 +250,38 @@ public class Utils {
     public static Float loadDatacenter(String pmConfig, String scenarioFile, List<PhysicalMachine> physicalMachines,
                                        List<Scenario> scenarios) throws IOException {
         // 从 PM 配置文件加载物理机信息
-        Float maxPower;
+        Float maxPower = loadPhysicalMachines(pmConfig, physicalMachines);
+        // 从场景文件加载场景信息
+        loadScenario(scenarioFile, scenarios);
+        return maxPower;
+    }
+
+    /**
+     * 从指定的 PM 配置文件加载物理机信息。
+     *
+     * @param pmConfig         物理机配置文件的路径
+     * @param physicalMachines 用于存储物理机信息的列表
+     * @return 数据中心的最大功耗值
+     * @throws IOException 如果在加载 PM 配置时发生 I/O 异常
+     */
+    public static Float loadPhysicalMachines(String pmConfig, List<PhysicalMachine> physicalMachines)
+            throws IOException {
         try (Stream<String> stream = lines(Paths.get(INPUT + pmConfig))) {
-            maxPower = Utils.loadPhysicalMachines(physicalMachines, stream);
+            return Utils.loadPhysicalMachines(physicalMachines, stream);
         } catch (IOException e) {
             Logger.getLogger(DynamicVMP.DYNAMIC_VMP).log(Level.SEVERE, "Error trying to load PM Configuration!");
             throw e;
         }
-        // 从场景文件加载场景信息
+    }
+
+    /**
+     * 从指定的场景文件加载场景信息。
+     *
+     * @param scenarioFile 场景文件的路径
+     * @param scenarios    用于存储场景信息的列表
+     * @throws IOException 如果在加载场景文件时发生 I/O 异常
+     */
+    public static void loadScenario(String scenarioFile, List<Scenario> scenarios) throws IOException {
         try (Stream<String> stream = lines(Paths.get(INPUT + scenarioFile))) {
             Utils.loadScenario(scenarios, stream);
         } catch (IOException e) {
@@ -276,7 +289,6 @@ public class Utils {
                     scenarioFile);
             throw e;
         }
-        return maxPower;
     }
 
 
@@ -350,16 +362,17 @@ public class Utils {
      *     <li> 迁移的内存 </li>
      * </ul>
      *
+     * @param context  场景运行的上下文
      * @param timeUnit 时间单位
      * @return Apriori 值列表
      */
-    public static List<APrioriValue> getAprioriValuesList(Integer timeUnit) {
+    public static List<APrioriValue> getAprioriValuesList(ExperimentContext context, Integer timeUnit) {
         List<APrioriValue> aPrioriValuesList = new ArrayList<>();
         // 添加 Apriori 值到列表中
-        aPrioriValuesList.add(new APrioriValue(ObjectivesFunctions.MIN_POWER, DynamicVMP.maxPower));
-        aPrioriValuesList.add(new APrioriValue(ObjectivesFunctions.MIN_REVENUE, DynamicVMP.revenueAprioriTime.get(timeUnit)));
+        aPrioriValuesList.add(new APrioriValue(ObjectivesFunctions.MIN_POWER, context.getMaxPower()));
+        aPrioriValuesList.add(new APrioriValue(ObjectivesFunctions.MIN_REVENUE, context.getRevenueAprioriTime().get(timeUnit)));
         aPrioriValuesList.add(new APrioriValue(0F, 1F));
-        aPrioriValuesList.add(new APrioriValue(0F, DynamicVMP.migratedMemoryAprioriTime.get(timeUnit)));
+        aPrioriValuesList.add(new APrioriValue(0F, context.getMigratedMemoryAprioriTime().get(timeUnit)));
 
         return aPrioriValuesList;
     }
@@ -389,11 +402,16 @@ public class Utils {
 
     /**
      * 获取具有指定配置的多目标膜算法设置。
+     * <p>
+     *     设置从当前加载的{@link Parameter}中复制，在加载网格点的参数之后调用，结果保存在运行的上下文中，
+     *     因此运行期间不再读取全局参数。
+     * </p>
      *
-     * @param isFullMeme 指示是否使用完整的膜算法配置
+     * @param isFullMeme   指示是否使用完整的膜算法配置
+     * @param randomSource 这一次运行的随机数序列
      * @return 多目标膜算法设置
      */
-    public static MASettings getMemeConfig(boolean isFullMeme) {
+    public static MASettings getMemeConfig(boolean isFullMeme, RandomSource randomSource) {
         MASettings settings = new MASettings();
         //设置交叉概率
         settings.setCrossoverProb(1.0);
@@ -407,6 +425,66 @@ public class Utils {
         settings.setExecutionInterval(Parameter.INTERVAL_EXECUTION_MEMETIC);
         //设置是否考虑容错约束
         settings.setFaultTolerance(Parameter.FAULT_TOLERANCE);
+        //设置保护系数
+        settings.setProtectionFactor(Parameter.PROTECTION_FACTOR);
+        //设置计算放置分数的标量化方法
+        settings.setScalarizationMethod(Parameter.SCALARIZATION_METHOD);
+        //设置评估与修复阶段的并行线程数
+        settings.setEvaluationThreads(Parameter.EVALUATION_THREADS);
+        //设置岛屿模型中岛屿的数量
+        settings.setIslands(Parameter.ISLANDS);
+        //设置岛屿之间交换个体的间隔代数
+        settings.setMigrationInterval(Parameter.MIGRATION_INTERVAL);
+        //设置每次迁移的个体数量
+        settings.setMigrants(Parameter.MIGRANTS);
+        //设置参与局部搜索的最好个体数量
+        settings.setLocalSearchElite(Parameter.LOCAL_SEARCH_ELITE);
+        //设置局部搜索中每个个体的最大移动次数
+        settings.setLocalSearchMoves(Parameter.LOCAL_SEARCH_MOVES);
+        //设置是否使用任意时间模式
+        settings.setAnytime(Parameter.ANYTIME);
+        //设置最好适应度不改进时允许的最大迭代次数
+        settings.setStagnationGenerations(Parameter.STAGNATION_GENERATIONS);
+        //设置使用当前放置和上一次重配置结果初始化的个体比例
+        settings.setWarmStartRatio(Parameter.WARM_START_RATIO);
+        //设置扰动热启动个体时每个基因被重新随机的概率
+        settings.setPerturbationRate(Parameter.PERTURBATION_RATE);
+        //设置选择下一代种群的策略
+        settings.setSurvivorSelection(Parameter.SURVIVOR_SELECTION);
+        //设置保留精英的(μ,λ)策略中保留的父代精英数量
+        settings.setSurvivorElite(Parameter.SURVIVOR_ELITE);
+        //设置拥挤选择中每个子代比较的父代数量
+        settings.setCrowdingWindow(Parameter.CROWDING_WINDOW);
+        //设置Pareto模式下非支配个体存档的最大个体数量
+        settings.setParetoArchiveSize(Parameter.PARETO_ARCHIVE_SIZE);
+        //设置这一次运行的随机数序列
+        settings.setRandomSource(randomSource);
+        //设置随机数序列是否由SEED生成
+        settings.setSeeded(Parameter.SEED != null);
+        //设置交叉操作的类型
+        settings.setCrossoverOperator(Parameter.CROSSOVER);
+        //设置适应度缓存的最大条目数量
+        settings.setFitnessCacheSize(Parameter.FITNESS_CACHE_SIZE);
+        //设置是否只对热点物理机及其邻域进行重配置
+        settings.setPartialReconfiguration(Parameter.PARTIAL_RECONFIGURATION);
+        //设置部分重配置中热点之外加入子问题的物理机数量
+        settings.setPartialNeighborhood(Parameter.PARTIAL_NEIGHBORHOOD);
+        //设置每台虚拟机除当前物理机之外的候选物理机数量
+        settings.setCandidateListSize(Parameter.CANDIDATE_LIST_SIZE);
+        //设置蚂蚁数量
+        settings.setNumberOfAnts(Parameter.N_ANTS);
+        //设置ACO的迭代次数
+        settings.setAcoIterations(Parameter.ACO_ITERATIONS);
+        //设置最大信息素
+        settings.setMaxPheromone(Parameter.MAX_PHEROMONE);
+        //设置信息素常数
+        settings.setPheromoneConstant(Parameter.PHEROMONE_CONSTANT);
+        //设置重配置阶段使用的算法
+        settings.setReconfigurationAlgorithm(Parameter.RECONFIGURATION_ALGORITHM);
+        //设置贪心整合中迁移内存之和的上限
+        settings.setConsolidationMemoryCap(Parameter.CONSOLIDATION_MEMORY_CAP);
+        //设置同时运行的重配置算法组合
+        settings.setReconfigurationEngines(Parameter.RECONFIGURATION_ENGINES);
         if (isFullMeme) {
             //使用完整的ma算法配置
             settings.setPopulationSize(Parameter.POPULATION_SIZE);
@@ -554,9 +632,11 @@ public class Utils {
      *
      * @param objectiveFuntions 放置方案的目标函数值数组
      * @param aPrioriValuesList  各目标函数的先验值列表
+     * @param scalarizationMethod 标量化方法
      * @return 计算得到的放置方案得分
      */
-    public static Float calcPlacemenScore(Float[] objectiveFuntions, List<APrioriValue> aPrioriValuesList) {
+    public static Float calcPlacemenScore(Float[] objectiveFuntions, List<APrioriValue> aPrioriValuesList,
+            String scalarizationMethod) {
         Float normalizedValue;
         APrioriValue aPrioriValue;
         List<Float> normalizedValues = new ArrayList<>();
@@ -570,7 +650,24 @@ public class Utils {
             normalizedValues.add(normalizedValue);
         }
         // 使用标量化方法计算最终得分
-        return ObjectivesFunctions.getScalarizationMethod(normalizedValues, Constant.WEIGHT_OFFLINE);
+        return ObjectivesFunctions.getScalarizationMethod(normalizedValues, Constant.WEIGHT_OFFLINE, scalarizationMethod);
+    }
+
+    /**
+     * 计算放置方案的得分。
+     *
+     * @param objectiveFuntions 放置方案的目标函数值数组
+     * @param aPrioriValuesList  各目标函数的先验值列表
+     * @param scalarizationMethod 标量化方法
+     * @return 计算得到的放置方案得分
+     */
+    public static Float calcPlacemenScore(double[] objectiveFuntions, List<APrioriValue> aPrioriValuesList,
+            String scalarizationMethod) {
+        Float[] values = new Float[Constant.NUM_OBJ_FUNCT_COMP];
+        for (int iteratorObjFuncts = 0; iteratorObjFuncts < Constant.NUM_OBJ_FUNCT_COMP; iteratorObjFuncts++) {
+            values[iteratorObjFuncts] = (float) objectiveFuntions[iteratorObjFuncts];
+        }
+        return calcPlacemenScore(values, aPrioriValuesList, scalarizationMethod);
     }
 
     /**
@@ -690,6 +787,40 @@ public class Utils {
         Parameter.HISTORICAL_DATA_SIZE = Integer.parseInt( (String) parameterMap.get("HISTORICAL_DATA_SIZE"));
         Parameter.FORECAST_SIZE =Integer.parseInt( (String)  parameterMap.get("FORECAST_SIZE"));
         Parameter.SCALARIZATION_METHOD = (String) parameterMap.get("SCALARIZATION_METHOD");
+        // 可选参数，未配置时使用默认值
+        Parameter.EVALUATION_THREADS = Integer.parseInt((String) parameterMap.getOrDefault("EVALUATION_THREADS", "1"));
+        Parameter.ISLANDS = Integer.parseInt((String) parameterMap.getOrDefault("ISLANDS", "1"));
+        Parameter.MIGRATION_INTERVAL = Integer.parseInt((String) parameterMap.getOrDefault("MIGRATION_INTERVAL", "5"));
+        Parameter.MIGRANTS = Integer.parseInt((String) parameterMap.getOrDefault("MIGRANTS", "1"));
+        Parameter.LOCAL_SEARCH_ELITE = Integer.parseInt((String) parameterMap.getOrDefault("LOCAL_SEARCH_ELITE", "0"));
+        Parameter.LOCAL_SEARCH_MOVES = Integer.parseInt((String) parameterMap.getOrDefault("LOCAL_SEARCH_MOVES", "10"));
+        Parameter.ANYTIME = Boolean.parseBoolean((String) parameterMap.getOrDefault("ANYTIME", "false"));
+        Parameter.STAGNATION_GENERATIONS = Integer.parseInt((String) parameterMap.getOrDefault("STAGNATION_GENERATIONS", "0"));
+        Parameter.WARM_START_RATIO = Double.parseDouble((String) parameterMap.getOrDefault("WARM_START_RATIO", "0"));
+        Parameter.PERTURBATION_RATE = Double.parseDouble((String) parameterMap.getOrDefault("PERTURBATION_RATE", "0.05"));
+        Parameter.SURVIVOR_SELECTION = (String) parameterMap.getOrDefault("SURVIVOR_SELECTION", "PLUS");
+        Parameter.SURVIVOR_ELITE = Integer.parseInt((String) parameterMap.getOrDefault("SURVIVOR_ELITE", "1"));
+        Parameter.CROWDING_WINDOW = Integer.parseInt((String) parameterMap.getOrDefault("CROWDING_WINDOW", "4"));
+        Parameter.PARETO_ARCHIVE_SIZE = Integer.parseInt((String) parameterMap.getOrDefault("PARETO_ARCHIVE_SIZE", "100"));
+        Parameter.CROSSOVER = (String) parameterMap.getOrDefault("CROSSOVER", "ONE_POINT");
+        Parameter.FITNESS_CACHE_SIZE = Integer.parseInt((String) parameterMap.getOrDefault("FITNESS_CACHE_SIZE", "0"));
+        Parameter.PARTIAL_RECONFIGURATION = Boolean.parseBoolean((String) parameterMap.getOrDefault("PARTIAL_RECONFIGURATION", "false"));
+        Parameter.PARTIAL_NEIGHBORHOOD = Integer.parseInt((String) parameterMap.getOrDefault("PARTIAL_NEIGHBORHOOD", "10"));
+        Parameter.CANDIDATE_LIST_SIZE = Integer.parseInt((String) parameterMap.getOrDefault("CANDIDATE_LIST_SIZE", "0"));
+        Parameter.N_ANTS = Integer.parseInt((String) parameterMap.getOrDefault("N_ANTS", "10"));
+        Parameter.ACO_ITERATIONS = Integer.parseInt((String) parameterMap.getOrDefault("ACO_ITERATIONS", "10"));
+        Parameter.MAX_PHEROMONE = Double.parseDouble((String) parameterMap.getOrDefault("MAX_PHEROMONE", "1"));
+        Parameter.PHEROMONE_CONSTANT = Double.parseDouble((String) parameterMap.getOrDefault("PHEROMONE_CONSTANT", "0.1"));
+        Parameter.RECONFIGURATION_ALGORITHM = ((String) parameterMap.getOrDefault("VMPr", "MEMETIC")).trim();
+        Parameter.CONSOLIDATION_MEMORY_CAP = Double.parseDouble((String) parameterMap.getOrDefault("CONSOLIDATION_MEMORY_CAP", "0"));
+        Parameter.RECONFIGURATION_ENGINES = (String) parameterMap.getOrDefault("RECONFIGURATION_ENGINES", "");
+        Parameter.SCENARIO_THREADS = Integer.parseInt((String) parameterMap.getOrDefault("SCENARIO_THREADS", "1"));
+        Parameter.RECONFIGURATIONS_IN_FLIGHT = Integer.parseInt((String) parameterMap.getOrDefault("RECONFIGURATIONS_IN_FLIGHT", "1"));
+        // 配置了随机种子时，所有随机数序列都由它生成，实验可以完全重复
+        Parameter.SEED = parameterMap.containsKey("SEED") ? Long.valueOf(((String) parameterMap.get("SEED")).trim()) : null;
+        if (Parameter.SEED != null) {
+            setRandomSeed(Parameter.SEED);
+        }
 
         parameter.stream()
                  .filter(line -> line.split("=").length == 1 && !line.equals(SCENARIOS))
@@ -790,14 +921,15 @@ public class Utils {
     /**
      * 计算按时间分组的功耗值的归一化平均值。
      *
+     * @param context             场景运行的上下文
      * @param pwConsumptionByTime Map，表示按时间分组的功耗值
      * @return 归一化的平均功耗值
      */
-    public static Float getAvgPwConsumptionNormalized(Map<Integer, Float> pwConsumptionByTime) {
+    public static Float getAvgPwConsumptionNormalized(ExperimentContext context, Map<Integer, Float> pwConsumptionByTime) {
         // 将 Map 中的功耗值按时间分组，然后进行归一化处理，并存储在列表中
         List<Float> pwConsumptionNormalizedList = pwConsumptionByTime.entrySet().stream().map(pw -> {
             Float revenue = pw.getValue();
-            return normalizeValue(revenue, ObjectivesFunctions.MIN_POWER, DynamicVMP.maxPower);
+            return normalizeValue(revenue, ObjectivesFunctions.MIN_POWER, context.getMaxPower());
         }).collect(Collectors.toList());
         // 计算列表的平均值并返回
         return average(pwConsumptionNormalizedList);
@@ -806,15 +938,16 @@ public class Utils {
     /**
      * 计算按时间分组的原始收入值的归一化平均值。
      *
+     * @param context       场景运行的上下文
      * @param revenueByTime Map，表示按时间分组的原始收入值
      * @return 归一化的平均收入值
      */
-    public static Float getAvgRevenueNormalized(Map<Integer, Float> revenueByTime) {
+    public static Float getAvgRevenueNormalized(ExperimentContext context, Map<Integer, Float> revenueByTime) {
         // 将 Map 中的原始收入值按时间分组，然后进行归一化处理，并存储在列表中
         List<Float> revenueNormalizedList = revenueByTime.entrySet().stream().map(r -> {
             Integer timeUnit = r.getKey();
             Float revenue = r.getValue();
-            Float maxRevenueValue = DynamicVMP.revenueAprioriTime.get(timeUnit);
+            Float maxRevenueValue = context.getRevenueAprioriTime().get(timeUnit);
             return normalizeValue(revenue, ObjectivesFunctions.MIN_REVENUE, maxRevenueValue);
         }).collect(Collectors.toList());
         // 计算列表的平均值并返回
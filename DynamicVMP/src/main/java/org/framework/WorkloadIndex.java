@@ -0,0 +1,150 @@
+package org.framework;
+
+import org.domain.Scenario;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 按时间单元索引的工作负载跟踪。
+ * <p>
+ *     请求保存在按时间排序的数组中，每个时间单元记录它的请求在数组中的偏移范围，
+ *     因此一个时间窗口的请求可以直接取出，开销只取决于窗口中的请求数量。
+ *     同时记录每个时间单元到达的新虚拟机数量的前缀和，在O(1)内回答一个时间窗口内是否有新的虚拟机到达。
+ * </p>
+ * <p>
+ *     索引保存建立时工作负载的副本，之后对工作负载列表的修改（例如按{@link Scenario#compareTo}排序）不会反映到索引中。
+ * </p>
+ */
+public class WorkloadIndex {
+
+    private final Scenario[] requests;//按时间排序的请求
+    private final int firstTimeUnit;//第一个请求的时间单元
+    private final int[] offsets;//每个时间单元的第一个请求的偏移，最后一个元素是请求的数量
+    private final int[] arrivals;//每个时间单元之前到达的新虚拟机数量的前缀和
+
+    /**
+     * @param workload 按时间排序的工作负载跟踪
+     * @throws IllegalArgumentException 如果工作负载没有按时间排序
+     */
+    public WorkloadIndex(List<Scenario> workload) {
+        requests = workload.toArray(new Scenario[0]);
+        firstTimeUnit = requests.length == 0 ? 0 : requests[0].getTime();
+        int timeUnits = requests.length == 0 ? 0 : requests[requests.length - 1].getTime() - firstTimeUnit + 1;
+        offsets = new int[timeUnits + 1];
+        arrivals = new int[timeUnits + 1];
+
+        int[] requestsByTime = new int[timeUnits];
+        int[] arrivalsByTime = new int[timeUnits];
+        for (int i = 0; i < requests.length; i++) {
+            if (i > 0 && requests[i].getTime() < requests[i - 1].getTime()) {
+                throw new IllegalArgumentException("Workload is not sorted by time at request " + i);
+            }
+            int slot = requests[i].getTime() - firstTimeUnit;
+            requestsByTime[slot]++;
+            // 请求的时间小于等于初始化时间时是新的虚拟机
+            if (requests[i].getTime() <= requests[i].getTinit()) {
+                arrivalsByTime[slot]++;
+            }
+        }
+        for (int slot = 0; slot < timeUnits; slot++) {
+            offsets[slot + 1] = offsets[slot] + requestsByTime[slot];
+            arrivals[slot + 1] = arrivals[slot] + arrivalsByTime[slot];
+        }
+    }
+
+    /**
+     * 时间单元在索引数组中的位置，超出范围的时间单元被限制到第一个时间单元之前或最后一个时间单元之后。
+     */
+    private int slot(long timeUnit) {
+        return (int) Math.max(0, Math.min(offsets.length - 1, timeUnit - firstTimeUnit));
+    }
+
+    /**
+     * @return 请求的数量
+     */
+    public int size() {
+        return requests.length;
+    }
+
+    /**
+     * @param offset 请求的偏移
+     * @return 按时间排序的第offset个请求
+     */
+    public Scenario get(int offset) {
+        return requests[offset];
+    }
+
+    /**
+     * 获取时间单元在[timeStart, timeEnd]（包括两端）中的请求，按时间排序。
+     *
+     * @param timeStart 开始的时间单元
+     * @param timeEnd   结束的时间单元
+     * @return 请求的只读列表，不复制请求数组
+     */
+    public List<Scenario> getRequests(int timeStart, int timeEnd) {
+        int from = getFirstOffset(timeStart);
+        int to = getEndOffset(timeEnd);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(requests).subList(from, to));
+    }
+
+    /**
+     * 获取一个时间单元的请求。
+     *
+     * @param timeUnit 时间单元
+     * @return 请求的只读列表
+     */
+    public List<Scenario> getRequests(int timeUnit) {
+        return getRequests(timeUnit, timeUnit);
+    }
+
+    /**
+     * @param timeUnit 时间单元
+     * @return 时间单元大于等于timeUnit的第一个请求的偏移
+     */
+    public int getFirstOffset(int timeUnit) {
+        return offsets[slot(timeUnit)];
+    }
+
+    /**
+     * @param timeUnit 时间单元
+     * @return 时间单元小于等于timeUnit的最后一个请求之后的偏移
+     */
+    public int getEndOffset(int timeUnit) {
+        return offsets[slot(timeUnit + 1L)];
+    }
+
+    /**
+     * 统计时间单元在[timeStart, timeEnd]（包括两端）中到达的新虚拟机数量。
+     *
+     * @param timeStart 开始的时间单元
+     * @param timeEnd   结束的时间单元
+     * @return 新虚拟机的数量
+     */
+    public int countArrivals(int timeStart, int timeEnd) {
+        if (timeStart > timeEnd) {
+            return 0;
+        }
+        return arrivals[slot(timeEnd + 1L)] - arrivals[slot(timeStart)];
+    }
+
+    /**
+     * @return 整个工作负载中到达的新虚拟机数量
+     */
+    public int countArrivals() {
+        return arrivals[arrivals.length - 1];
+    }
+
+    /**
+     * @param timeStart 开始的时间单元
+     * @param timeEnd   结束的时间单元
+     * @return <b>True</b> 如果在[timeStart, timeEnd]中有新的虚拟机到达，<b>False</b> 否则
+     */
+    public boolean hasArrivals(int timeStart, int timeEnd) {
+        return countArrivals(timeStart, timeEnd) > 0;
+    }
+}
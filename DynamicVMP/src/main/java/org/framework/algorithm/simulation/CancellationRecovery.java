@@ -0,0 +1,29 @@
+package org.framework.algorithm.simulation;
+
+import org.framework.algorithm.stateOfArt.StateOfArtUtils;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings;
+
+import java.io.IOException;
+
+/**
+ * 取消式恢复（CANCELLATION）：与{@link UpdateBasedRecovery}相同，
+ * 但迁移进行中或者重配置执行期间会到达新的虚拟机时取消这一次重配置。
+ */
+public class CancellationRecovery extends UpdateBasedRecovery {
+
+    /**
+     * @param memeConfig 重配置的设置
+     */
+    public CancellationRecovery(MASettings memeConfig) {
+        super(memeConfig);
+    }
+
+    @Override
+    public void recover(SimulationKernel kernel, Integer actualTimeUnit, Integer nextTimeUnit) throws IOException {
+        if (kernel.isMigrationActive() || StateOfArtUtils.newVmDuringMemeticExecution(kernel.getWorkload(),
+                nextTimeUnit, nextTimeUnit + memeConfig.getExecutionDuration())) {
+            return;
+        }
+        super.recover(kernel, actualTimeUnit, nextTimeUnit);
+    }
+}
@@ -0,0 +1,35 @@
+package org.framework.algorithm.simulation;
+
+/**
+ * 周期性触发（PERIODICALLY）：每隔执行间隔启动一次重配置。
+ * <p>
+ *     每次触发后下一次重配置的时间移到触发时刻之后的第一个周期边界，因此执行时间超过执行间隔时，多个重配置可以同时进行；
+ *     没有请求的时间段或进行中的重配置已满期间错过的周期被跳过，不会在之后连续补做。
+ * </p>
+ */
+public class PeriodicTrigger implements TriggerPolicy {
+
+    private final Integer executionInterval;//执行间隔
+    private Integer reconfigurationTimeInit;//下一次重配置开始时间
+
+    /**
+     * @param timeUnit          初始时间单元
+     * @param executionInterval 执行间隔
+     */
+    public PeriodicTrigger(Integer timeUnit, Integer executionInterval) {
+        this.executionInterval = executionInterval;
+        this.reconfigurationTimeInit = timeUnit + executionInterval;
+    }
+
+    @Override
+    public boolean isTriggered(SimulationKernel kernel, Integer actualTimeUnit, Integer nextTimeUnit) {
+        return nextTimeUnit >= reconfigurationTimeInit;
+    }
+
+    @Override
+    public void triggered(SimulationKernel kernel, Integer nextTimeUnit) {
+        // 触发时已经错过的完整周期数
+        int missedIntervals = executionInterval > 0 ? (nextTimeUnit - reconfigurationTimeInit) / executionInterval : 0;
+        reconfigurationTimeInit = reconfigurationTimeInit + (missedIntervals + 1) * executionInterval;
+    }
+}
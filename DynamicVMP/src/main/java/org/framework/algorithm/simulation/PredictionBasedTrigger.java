@@ -0,0 +1,33 @@
+package org.framework.algorithm.simulation;
+
+import org.framework.Parameter;
+import org.framework.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于预测的触发（PREDICTION-BASED）：根据放置分数的历史值预测未来的分数，预测值递增时启动重配置。
+ * <p>
+ *     需要超过{@link Parameter#HISTORICAL_DATA_SIZE}个时间单元的历史，迁移进行中不触发。
+ * </p>
+ */
+public class PredictionBasedTrigger implements TriggerPolicy {
+
+    @Override
+    public boolean isTriggered(SimulationKernel kernel, Integer actualTimeUnit, Integer nextTimeUnit) {
+        Map<Integer, Float> placementScores = kernel.getPlacementScores();
+        if (placementScores.size() <= Parameter.HISTORICAL_DATA_SIZE || kernel.isMigrationActive()) {
+            return false;
+        }
+        // 收集O.F.历史值，没有记录的时间单元为0
+        List<Float> valuesSelectedForecast = new ArrayList<>();
+        for (int timeIterator = nextTimeUnit - Parameter.HISTORICAL_DATA_SIZE; timeIterator <= actualTimeUnit;
+             timeIterator++) {
+            valuesSelectedForecast.add(placementScores.getOrDefault(timeIterator, 0F));
+        }
+        // 检查是否需要重新配置
+        return Utils.callToReconfiguration(valuesSelectedForecast, Parameter.FORECAST_SIZE);
+    }
+}
@@ -0,0 +1,46 @@
+package org.framework.algorithm.simulation;
+
+import org.domain.Placement;
+
+import java.util.concurrent.Future;
+
+/**
+ * 一次进行中的重配置：在单独的线程中对某个时间单元的放置快照进行重配置，在结束时间单元处理它的结果。
+ * <p>
+ *     可以同时有多个进行中的重配置，每个都有自己的快照、开始时间和设置。
+ * </p>
+ */
+public class Reconfiguration {
+
+    private final Future<Placement> result;//重配置结果
+    private final Integer timeInit;//重配置开始时间
+    private final Integer timeEnd;//重配置结束时间
+    private final int requestLogStart;//重配置开始时请求日志的位置，包括已经丢弃的前缀
+
+    Reconfiguration(Future<Placement> result, Integer timeInit, Integer timeEnd, int requestLogStart) {
+        this.result = result;
+        this.timeInit = timeInit;
+        this.timeEnd = timeEnd;
+        this.requestLogStart = requestLogStart;
+    }
+
+    // 获取重配置结果
+    public Future<Placement> getResult() {
+        return result;
+    }
+
+    // 获取重配置开始时间
+    public Integer getTimeInit() {
+        return timeInit;
+    }
+
+    // 获取重配置结束时间
+    public Integer getTimeEnd() {
+        return timeEnd;
+    }
+
+    // 获取重配置开始时请求日志的位置，包括已经丢弃的前缀
+    int getRequestLogStart() {
+        return requestLogStart;
+    }
+}
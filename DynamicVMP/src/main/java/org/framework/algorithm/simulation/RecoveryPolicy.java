@@ -0,0 +1,39 @@
+package org.framework.algorithm.simulation;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 模拟内核的恢复策略，在触发策略触发后修改放置。
+ */
+@FunctionalInterface
+public interface RecoveryPolicy {
+
+    /**
+     * 不做任何恢复
+     */
+    RecoveryPolicy NONE = (kernel, actualTimeUnit, nextTimeUnit) -> {
+    };
+
+    /**
+     * 启动恢复：立即迁移虚拟机，或者通过{@link SimulationKernel#startReconfiguration}启动一次重配置，
+     * 也可以不做任何修改（取消这一次恢复）。
+     * @param kernel         模拟内核
+     * @param actualTimeUnit 刚结束的时间单元
+     * @param nextTimeUnit   下一个有请求的时间单元
+     * @throws IOException 错误管理文件
+     */
+    void recover(SimulationKernel kernel, Integer actualTimeUnit, Integer nextTimeUnit) throws IOException;
+
+    /**
+     * 处理重配置结束事件，同一时间单元结束的多个重配置按开始的顺序处理。
+     * @param kernel          模拟内核
+     * @param reconfiguration 结束的重配置
+     * @param timeUnit        重配置结束的时间单元
+     * @throws InterruptedException 多线程错误
+     * @throws ExecutionException   多线程错误
+     */
+    default void reconfigurationEnded(SimulationKernel kernel, Reconfiguration reconfiguration, Integer timeUnit)
+            throws InterruptedException, ExecutionException {
+    }
+}
@@ -0,0 +1,58 @@
+package org.framework.algorithm.simulation;
+
+/**
+ * 模拟内核事件队列中的定时事件。
+ * <p>
+ *     事件按时间排序，时间相同时按类型的顺序，类型也相同时按安排的先后顺序。
+ * </p>
+ */
+public class SimulationEvent implements Comparable<SimulationEvent> {
+
+    /**
+     * 事件类型，按同一时间内的处理顺序声明
+     */
+    public enum Type {
+        RECONFIGURATION_END,//重配置结束
+        MIGRATION_END//迁移结束
+    }
+
+    private final Integer time;//事件发生的时间单元
+    private final Type type;//事件类型
+    private final long sequence;//安排事件的顺序
+    private final Reconfiguration reconfiguration;//结束的重配置，只用于重配置结束事件
+
+    SimulationEvent(Integer time, Type type, long sequence, Reconfiguration reconfiguration) {
+        this.time = time;
+        this.type = type;
+        this.sequence = sequence;
+        this.reconfiguration = reconfiguration;
+    }
+
+    // 获取事件发生的时间单元
+    public Integer getTime() {
+        return time;
+    }
+
+    // 获取事件类型
+    public Type getType() {
+        return type;
+    }
+
+    // 获取结束的重配置
+    public Reconfiguration getReconfiguration() {
+        return reconfiguration;
+    }
+
+    @Override
+    public int compareTo(SimulationEvent event) {
+        int compare = time.compareTo(event.time);
+        if (compare != 0) {
+            return compare;
+        }
+        compare = type.compareTo(event.type);
+        if (compare != 0) {
+            return compare;
+        }
+        return Long.compare(sequence, event.sequence);
+    }
+}
@@ -0,0 +1,381 @@
+package org.framework.algorithm.simulation;
+
+import org.domain.*;
+import org.framework.Constant;
+import org.framework.DynamicVMP;
+import org.framework.ExperimentContext;
+import org.framework.ObjectivesFunctions;
+import org.framework.Parameter;
+import org.framework.Utils;
+import org.framework.WorkloadIndex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.domain.VirtualMachine.getById;
+
+/**
+ * 所有管理器共用的离散事件模拟内核。
+ * <p>
+ *     工作负载中的请求（到达与更新）已经按时间排序，内核通过{@link WorkloadIndex}按时间单元读取它们，并与定时事件的优先队列
+ *     （重配置结束、迁移结束）合并：同一时间单元的请求处理完后结束这个时间单元（计算目标函数与放置分数，
+ *     同时移除已经离开的虚拟机），然后询问{@link TriggerPolicy}是否启动{@link RecoveryPolicy}，
+ *     最后处理下一个请求之前到期的事件。没有请求也没有事件的时间单元被直接跳过。
+ * </p>
+ * <p>
+ *     每个时间单元只记录放置分数，只有在启动重配置时才克隆当前的放置。
+ *     最多同时进行{@link Parameter#RECONFIGURATIONS_IN_FLIGHT}个重配置，每个重配置在线程池中对自己的快照进行，
+ *     结束时由恢复策略在结束的时间单元重放执行期间的请求，并与当时的放置比较分数，决定接受还是丢弃它的结果。
+ * </p>
+ * <p>
+ *     有进行中的重配置时，每个时间单元处理的请求按{@link Scenario#compareTo}的顺序追加到请求日志中，
+ *     重放时只读取重配置开始之后的日志，因此重放的开销只取决于执行期间的请求数量，与工作负载的长度无关。
+ *     每个重配置结束时丢弃所有进行中的重配置都不再需要的日志前缀，日志的长度只取决于最早开始的进行中的重配置。
+ * </p>
+ */
+public class SimulationKernel {
+
+    private final WorkloadIndex workload;//按时间单元索引的工作负载跟踪
+    private List<PhysicalMachine> physicalMachines;//物理机器列表
+    private List<VirtualMachine> virtualMachines;//虚拟机器列表
+    private List<VirtualMachine> derivedVMs;//派生虚拟机器列表
+    private final Map<Integer, Float> revenueByTime;//时间的收入
+    private final List<Resources> wastedResources;//按时间浪费的资源
+    private final Map<Integer, Float> wastedResourcesRatioByTime;//每个时间的资源浪费比
+    private final Map<Integer, Float> powerByTime;//时间的功耗
+    private final Map<Integer, Float> placementScores;//每个时间单元的放置分数
+    private final Integer code;//启发式算法代码
+    private final Integer[] requestsProcess;//请求处理的计数
+    private final ExperimentContext context;//场景运行的上下文
+    private final TriggerPolicy trigger;//触发策略
+    private final RecoveryPolicy recovery;//恢复策略
+
+    private final PriorityQueue<SimulationEvent> events = new PriorityQueue<>();//定时事件队列
+    private long eventSequence = 0;//安排事件的顺序
+    private boolean updateLeasingCosts = false;//每个时间单元结束时是否更新租赁成本
+    private final int maxReconfigurations = Math.max(1, Parameter.RECONFIGURATIONS_IN_FLIGHT);//同时进行的重配置的最大数量
+    private ExecutorService executorService;//执行重配置的线程池，第一次重配置时创建
+
+    private Integer timeUnit;//最后结束的时间单元
+    private final List<Reconfiguration> reconfigurationsInFlight = new ArrayList<>();//进行中的重配置，按开始的顺序
+    private final List<Scenario> requestLog = new ArrayList<>();//重配置进行中处理的请求，只追加，前缀会被丢弃
+    private int requestLogBase = 0;//已经丢弃的日志前缀的长度，重配置记录的日志位置减去它得到在requestLog中的索引
+    private boolean migrationActive = false;//虚拟机迁移状态标识
+    private boolean updateVmUtilization = false;//是否更新虚拟机利用率
+    private List<VirtualMachine> vmsToMigrate = new ArrayList<>();//待迁移的虚拟机列表
+    private List<Integer> vmsMigrationEndTimes = new ArrayList<>();//虚拟机迁移结束时间列表
+    private Integer vmEndTimeMigration = 0;//虚拟机迁移结束时间点
+
+    /**
+     * @param workload                   按时间单元索引的工作负载跟踪，可以与先验值的计算共用
+     * @param physicalMachines           物理机器列表
+     * @param virtualMachines            虚拟机器列表
+     * @param derivedVMs                 派生虚拟机器列表
+     * @param revenueByTime              时间的收入
+     * @param wastedResources            按时间浪费的资源
+     * @param wastedResourcesRatioByTime 每个时间的资源浪费比
+     * @param powerByTime                时间的功耗
+     * @param placementScores            每个时间单元的放置分数
+     * @param code                       启发式算法代码
+     * @param timeUnit                   时间初始化
+     * @param requestsProcess            请求处理的计数
+     * @param context                    场景运行的上下文
+     * @param trigger                    触发策略
+     * @param recovery                   恢复策略
+     */
+    public SimulationKernel(WorkloadIndex workload, List<PhysicalMachine> physicalMachines,
+            List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs,
+            Map<Integer, Float> revenueByTime, List<Resources> wastedResources, Map<Integer, Float> wastedResourcesRatioByTime,
+            Map<Integer, Float> powerByTime, Map<Integer, Float> placementScores, Integer code, Integer timeUnit,
+            Integer[] requestsProcess, ExperimentContext context, TriggerPolicy trigger, RecoveryPolicy recovery) {
+        this.workload = workload;
+        this.physicalMachines = physicalMachines;
+        this.virtualMachines = virtualMachines;
+        this.derivedVMs = derivedVMs;
+        this.revenueByTime = revenueByTime;
+        this.wastedResources = wastedResources;
+        this.wastedResourcesRatioByTime = wastedResourcesRatioByTime;
+        this.powerByTime = powerByTime;
+        this.placementScores = placementScores;
+        this.code = code;
+        this.timeUnit = timeUnit;
+        this.requestsProcess = requestsProcess;
+        this.context = context;
+        this.trigger = trigger;
+        this.recovery = recovery;
+    }
+
+    /**
+     * 设置每个时间单元结束时是否更新派生虚拟机的租赁成本。
+     * @param updateLeasingCosts 是否更新租赁成本
+     * @return 这个内核
+     */
+    public SimulationKernel setUpdateLeasingCosts(boolean updateLeasingCosts) {
+        this.updateLeasingCosts = updateLeasingCosts;
+        return this;
+    }
+
+    /**
+     * 运行模拟直到处理完工作负载的最后一个请求，最后一个请求之后的事件被丢弃。
+     * @throws IOException          错误管理文件
+     * @throws InterruptedException 多线程错误
+     * @throws ExecutionException   多线程错误
+     */
+    public void run() throws IOException, InterruptedException, ExecutionException {
+        try {
+            int iterator = 0;
+            while (iterator < workload.size()) {
+                Integer actualTimeUnit = workload.get(iterator).getTime();
+                List<Scenario> requests = workload.getRequests(actualTimeUnit);
+                // 处理当前时间单元的所有请求
+                for (Scenario request : requests) {
+                    processRequest(request, iterator + 1 == workload.size());
+                    iterator++;
+                }
+                if (!reconfigurationsInFlight.isEmpty()) {
+                    logRequests(requests);
+                }
+                // 如果是最后一个请求，将下一个时间单元设置为-1
+                Integer nextTimeUnit = iterator == workload.size() ? -1 : workload.get(iterator).getTime();
+                closeTimeUnit(actualTimeUnit);
+                if (nextTimeUnit == -1) {
+                    break;
+                }
+                if (reconfigurationsInFlight.size() < maxReconfigurations
+                        && trigger.isTriggered(this, actualTimeUnit, nextTimeUnit)) {
+                    trigger.triggered(this, nextTimeUnit);
+                    recovery.recover(this, actualTimeUnit, nextTimeUnit);
+                }
+                // 处理下一个请求之前到期的事件
+                while (!events.isEmpty() && events.peek().getTime() < nextTimeUnit) {
+                    dispatch(events.poll());
+                }
+            }
+        } finally {
+            if (executorService != null) {
+                Utils.executorServiceTermination(executorService);
+            }
+        }
+    }
+
+    /**
+     * 处理一个请求，正在迁移的虚拟机在迁移结束之前加上迁移的利用率开销。
+     */
+    private void processRequest(Scenario request, boolean isLastRequest) {
+        if (!isLastRequest && migrationActive && DynamicVMP.isVmBeingMigrated(request.getVirtualMachineID(),
+                request.getCloudServiceID(), vmsToMigrate)) {
+            // 获取正在迁移的虚拟机
+            VirtualMachine vmMigrating = getById(request.getVirtualMachineID(), request.getCloudServiceID(),
+                    virtualMachines);
+            // 检查虚拟机迁移结束的时间
+            vmEndTimeMigration = Utils.updateVmEndTimeMigration(vmsToMigrate, vmsMigrationEndTimes,
+                    vmEndTimeMigration, vmMigrating);
+            // 根据条件判断是否添加过载到CPU利用率
+            updateVmUtilization = request.getTime() <= vmEndTimeMigration;
+        }
+        DynamicVMP.runHeuristics(context, request, code, physicalMachines, virtualMachines, derivedVMs, requestsProcess,
+                updateVmUtilization);
+    }
+
+    /**
+     * 结束一个时间单元：计算目标函数与放置分数并写入文件。
+     */
+    private void closeTimeUnit(Integer actualTimeUnit) {
+        // 获取目标函数值
+        ObjectivesFunctions.getObjectiveFunctionsByTime(context, physicalMachines,
+                virtualMachines, derivedVMs, wastedResources,
+                wastedResourcesRatioByTime, powerByTime, revenueByTime, timeUnit, actualTimeUnit);
+        // 基于距离原点法计算放置分数
+        Float placementScore = ObjectivesFunctions.getDistanceOrigenByTime(context,
+                actualTimeUnit, powerByTime, revenueByTime, wastedResourcesRatioByTime);
+        if (updateLeasingCosts) {
+            DynamicVMP.updateLeasingCosts(context, derivedVMs);
+        }
+        // 写入时间t的放置分数
+        context.printToFile(Constant.PLACEMENT_SCORE_BY_TIME_FILE + context.getScenarioFile(), placementScore);
+        // 更新时间单元
+        timeUnit = actualTimeUnit;
+        placementScores.put(actualTimeUnit, placementScore);
+    }
+
+    /**
+     * 处理一个到期的事件。
+     */
+    private void dispatch(SimulationEvent event) throws InterruptedException, ExecutionException {
+        switch (event.getType()) {
+            case RECONFIGURATION_END:
+                reconfigurationsInFlight.remove(event.getReconfiguration());
+                recovery.reconfigurationEnded(this, event.getReconfiguration(), event.getTime());
+                trimRequestLog();
+                break;
+            case MIGRATION_END:
+                // 结束迁移状态
+                migrationActive = false;
+                vmsToMigrate = new ArrayList<>();
+                vmsMigrationEndTimes = new ArrayList<>();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * 安排一个定时事件。
+     */
+    private void schedule(Integer time, SimulationEvent.Type type, Reconfiguration reconfiguration) {
+        events.add(new SimulationEvent(time, type, eventSequence++, reconfiguration));
+    }
+
+    /**
+     * 在单独的线程中启动一次重配置，并安排它的结束事件。
+     * @param task     重配置任务
+     * @param timeInit 重配置开始的时间单元
+     * @param timeEnd  重配置结束的时间单元
+     * @return 进行中的重配置
+     */
+    public Reconfiguration startReconfiguration(Callable<Placement> task, Integer timeInit, Integer timeEnd) {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(maxReconfigurations);
+        }
+        Reconfiguration reconfiguration = new Reconfiguration(executorService.submit(task), timeInit, timeEnd,
+                requestLogBase + requestLog.size());
+        reconfigurationsInFlight.add(reconfiguration);
+        schedule(timeEnd, SimulationEvent.Type.RECONFIGURATION_END, reconfiguration);
+        return reconfiguration;
+    }
+
+    /**
+     * 将一个时间单元处理的请求追加到请求日志中，同一时间单元的请求按收益从高到低排序。
+     */
+    private void logRequests(List<Scenario> requests) {
+        List<Scenario> sortedRequests = new ArrayList<>(requests);
+        Collections.sort(sortedRequests);
+        requestLog.addAll(sortedRequests);
+    }
+
+    /**
+     * 丢弃所有进行中的重配置开始之前的日志前缀，没有进行中的重配置时清空日志。
+     */
+    private void trimRequestLog() {
+        int start = requestLogBase + requestLog.size();
+        for (Reconfiguration reconfiguration : reconfigurationsInFlight) {
+            start = Math.min(start, reconfiguration.getRequestLogStart());
+        }
+        requestLog.subList(0, start - requestLogBase).clear();
+        requestLogBase = start;
+    }
+
+    /**
+     * 获取重配置执行期间需要重放的请求：开始之后到结束时间单元（包括）处理的、虚拟机在结束时仍然存在的请求，
+     * 按时间和收益排序。
+     * @param reconfiguration 进行中的重配置
+     * @return 需要重放的请求
+     */
+    public List<Scenario> getRequestsDuring(Reconfiguration reconfiguration) {
+        List<Scenario> requests = new ArrayList<>();
+        for (Scenario request : requestLog.subList(reconfiguration.getRequestLogStart() - requestLogBase,
+                requestLog.size())) {
+            if (request.getTime() > reconfiguration.getTimeEnd()) {
+                break;
+            }
+            if (request.getTend() >= reconfiguration.getTimeEnd()) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * 开始迁移虚拟机，并安排迁移结束事件，之前的迁移被替代。
+     * @param migratedVMs 迁移的虚拟机
+     * @param timeUnit    迁移开始的时间单元
+     */
+    public void startMigration(List<VirtualMachine> migratedVMs, Integer timeUnit) {
+        events.removeIf(event -> event.getType() == SimulationEvent.Type.MIGRATION_END);
+        vmsToMigrate = migratedVMs;
+        // 获取虚拟机迁移的结束时间
+        vmsMigrationEndTimes = Utils.getTimeEndMigrationByVM(migratedVMs, timeUnit);
+        migrationActive = !migratedVMs.isEmpty();
+        if (migrationActive) {
+            schedule(Utils.getMigrationEndTime(vmsMigrationEndTimes), SimulationEvent.Type.MIGRATION_END, null);
+        }
+    }
+
+    /**
+     * 接受重配置后的放置：迁移位置改变的虚拟机，并用它替代当前的放置。
+     * @param placement 重配置后的放置
+     * @param timeUnit  接受放置的时间单元
+     */
+    public void acceptPlacement(Placement placement, Integer timeUnit) {
+        // 获取需要迁移的虚拟机
+        List<VirtualMachine> migratedVMs = Utils.getVMsToMigrate(placement.getVirtualMachineList(), virtualMachines);
+        // 更新迁移的虚拟机
+        Utils.removeDeadVMsMigrated(migratedVMs, timeUnit);
+        startMigration(migratedVMs, timeUnit);
+        physicalMachines = new ArrayList<>(placement.getPhysicalMachines());
+        virtualMachines = new ArrayList<>(placement.getVirtualMachineList());
+        derivedVMs = new ArrayList<>(placement.getDerivedVMs());
+        placementScores.put(timeUnit, placement.getPlacementScore());
+    }
+
+    /**
+     * 克隆当前的放置，作为重配置的输入。
+     * @return 当前放置的副本
+     */
+    public Placement snapshot() {
+        return new Placement(PhysicalMachine.clonePMsList(physicalMachines),
+                VirtualMachine.cloneVMsList(virtualMachines),
+                VirtualMachine.cloneVMsList(derivedVMs));
+    }
+
+    /**
+     * 获取当前的放置（不克隆），分数为最后结束的时间单元的分数。
+     * @return 当前的放置
+     */
+    public Placement currentPlacement() {
+        return new Placement(physicalMachines, virtualMachines, derivedVMs, placementScores.get(timeUnit));
+    }
+
+    // 获取场景运行的上下文
+    public ExperimentContext getContext() {
+        return context;
+    }
+
+    // 获取按时间单元索引的工作负载跟踪
+    public WorkloadIndex getWorkload() {
+        return workload;
+    }
+
+    // 获取物理机器列表
+    public List<PhysicalMachine> getPhysicalMachines() {
+        return physicalMachines;
+    }
+
+    // 获取虚拟机器列表
+    public List<VirtualMachine> getVirtualMachines() {
+        return virtualMachines;
+    }
+
+    // 获取派生虚拟机器列表
+    public List<VirtualMachine> getDerivedVMs() {
+        return derivedVMs;
+    }
+
+    // 获取每个时间单元的放置分数
+    public Map<Integer, Float> getPlacementScores() {
+        return placementScores;
+    }
+
+    // 获取虚拟机迁移状态
+    public boolean isMigrationActive() {
+        return migrationActive;
+    }
+}
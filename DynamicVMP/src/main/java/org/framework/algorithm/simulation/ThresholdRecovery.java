@@ -0,0 +1,53 @@
+package org.framework.algorithm.simulation;
+
+import org.domain.PhysicalMachine;
+import org.domain.VirtualMachine;
+import org.framework.Constant;
+import org.framework.Constraints;
+import org.framework.DynamicVMP;
+import org.framework.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于阈值的恢复：用FFD立即移动过载物理机器上选出的虚拟机，以及负载不足的物理机器上的所有虚拟机。
+ */
+public class ThresholdRecovery implements RecoveryPolicy {
+
+    private final Integer heuristicCode = Constant.HEURISTIC_MAP.get(Constant.FFD);//移动虚拟机使用的启发式算法
+
+    @Override
+    public void recover(SimulationKernel kernel, Integer actualTimeUnit, Integer nextTimeUnit) {
+        List<PhysicalMachine> physicalMachines = kernel.getPhysicalMachines();
+        List<VirtualMachine> virtualMachines = kernel.getVirtualMachines();
+        List<VirtualMachine> derivedVMs = kernel.getDerivedVMs();
+        List<VirtualMachine> vmsToMigrate = new ArrayList<>();
+        // 包含分配给特定物理机器的虚拟机器。
+        List<VirtualMachine> vmsInPM;
+        List<VirtualMachine> vmsToMigrateFromPM;
+
+        for (PhysicalMachine pm : physicalMachines) {
+            vmsInPM = Utils.filterVMsByPM(virtualMachines, pm.getId());
+            if (Constraints.isPMOverloaded(pm) && !vmsInPM.isEmpty()) {
+                // 物理机器过载，选择要从该物理机器迁移的虚拟机
+                vmsToMigrateFromPM = Utils.getVMsToMigrate(pm, vmsInPM);
+                // 移动选择的虚拟机
+                DynamicVMP.runHeuristics(kernel.getContext(), heuristicCode, physicalMachines, virtualMachines, derivedVMs,
+                        vmsToMigrateFromPM);
+                // 将选择的虚拟机添加到迁移列表中
+                vmsToMigrate.addAll(vmsToMigrateFromPM);
+            } else if (Constraints.isPMUnderloaded(pm) && !vmsInPM.isEmpty()) {
+                // 物理机器负载不足，从该物理机器移动所有虚拟机
+                vmsToMigrateFromPM = new ArrayList<>(vmsInPM);
+                // 移动虚拟机
+                DynamicVMP.runHeuristics(kernel.getContext(), heuristicCode, physicalMachines, virtualMachines, derivedVMs,
+                        vmsToMigrateFromPM);
+                // 将虚拟机添加到迁移列表中
+                vmsToMigrate.addAll(vmsToMigrateFromPM);
+            }
+        }
+        // 获取每个要迁移的虚拟机的迁移时间，没有要迁移的虚拟机时不开始迁移
+        kernel.startMigration(vmsToMigrate, actualTimeUnit);
+    }
+}
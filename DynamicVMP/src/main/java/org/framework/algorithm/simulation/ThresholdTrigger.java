@@ -0,0 +1,23 @@
+package org.framework.algorithm.simulation;
+
+import org.domain.PhysicalMachine;
+import org.framework.Constraints;
+
+/**
+ * 基于阈值的触发：没有进行中的迁移并且有物理机器过载或负载不足时触发。
+ */
+public class ThresholdTrigger implements TriggerPolicy {
+
+    @Override
+    public boolean isTriggered(SimulationKernel kernel, Integer actualTimeUnit, Integer nextTimeUnit) {
+        if (kernel.isMigrationActive()) {
+            return false;
+        }
+        for (PhysicalMachine pm : kernel.getPhysicalMachines()) {
+            if (Constraints.isPMOverloaded(pm) || Constraints.isPMUnderloaded(pm)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package org.framework.algorithm.simulation;
+
+import org.framework.Parameter;
+
+/**
+ * 模拟内核的触发策略，决定在一个时间单元结束时是否启动恢复（重配置或迁移）。
+ * <p>
+ *     只在还有后续请求并且进行中的重配置少于{@link Parameter#RECONFIGURATIONS_IN_FLIGHT}个时调用。
+ * </p>
+ */
+@FunctionalInterface
+public interface TriggerPolicy {
+
+    /**
+     * 从不触发，用于只运行增量阶段（iVMP）的管理器
+     */
+    TriggerPolicy NEVER = (kernel, actualTimeUnit, nextTimeUnit) -> false;
+
+    /**
+     * 检查是否在下一个时间单元开始之前启动恢复。
+     * @param kernel         模拟内核
+     * @param actualTimeUnit 刚结束的时间单元
+     * @param nextTimeUnit   下一个有请求的时间单元
+     * @return <b>True</b> 启动恢复，<b>False</b> 否则
+     */
+    boolean isTriggered(SimulationKernel kernel, Integer actualTimeUnit, Integer nextTimeUnit);
+
+    /**
+     * 触发后、启动恢复之前调用，无论恢复是否被取消。
+     * @param kernel       模拟内核
+     * @param nextTimeUnit 触发时下一个有请求的时间单元
+     */
+    default void triggered(SimulationKernel kernel, Integer nextTimeUnit) {
+    }
+}
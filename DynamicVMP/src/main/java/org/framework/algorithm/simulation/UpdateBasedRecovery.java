@@ -0,0 +1,95 @@
+package org.framework.algorithm.simulation;
+
+import org.domain.APrioriValue;
+import org.domain.Placement;
+import org.framework.Constant;
+import org.framework.DynamicVMP;
+import org.framework.Utils;
+import org.framework.reconfigurationAlgorithm.concurrent.StaticReconfMemeCall;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.Initialization;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 基于更新的恢复（UPDATE-BASED）：在单独的线程中对当前放置的快照进行重配置，
+ * 结束时用执行期间的请求更新重配置的结果，分数更好时接受它并迁移位置改变的虚拟机。
+ * <p>
+ *     多个重配置同时进行时，每个重配置使用设置的副本；先结束的结果被接受后，
+ *     后结束的结果与接受后的放置比较，分数更好时才替代它，否则被丢弃。
+ * </p>
+ * <p>
+ *     Pareto模式下，每次重配置结束时把按每种标量化方法选择的放置的分数写入
+ *     {@link Constant#SCALARIZATION_SCORE_FILE}下以方法命名的文件，一次运行即可比较不同的标量化方法。
+ * </p>
+ */
+public class UpdateBasedRecovery implements RecoveryPolicy {
+
+    private static Logger logger = DynamicVMP.getLogger();
+
+    protected final MASettings memeConfig;//重配置的设置
+    private final Map<Reconfiguration, StaticReconfMemeCall> calls = new IdentityHashMap<>();//进行中的重配置任务
+
+    /**
+     * @param memeConfig 重配置的设置
+     */
+    public UpdateBasedRecovery(MASettings memeConfig) {
+        this.memeConfig = memeConfig;
+    }
+
+    @Override
+    public void recover(SimulationKernel kernel, Integer actualTimeUnit, Integer nextTimeUnit) throws IOException {
+        if (kernel.getVirtualMachines().isEmpty()) {
+            return;
+        }
+        // 获取先验值列表
+        List<APrioriValue> aPrioriValuesList = Utils.getAprioriValuesList(kernel.getContext(), actualTimeUnit);
+        // 更新重配置执行结束的时间
+        Integer reconfigurationTimeEnd = nextTimeUnit + memeConfig.getExecutionDuration();
+        // 在单独的线程中对当前放置的快照进行重配置，使用设置的副本，不受之后的热启动记录影响
+        StaticReconfMemeCall call = new StaticReconfMemeCall(kernel.snapshot(), aPrioriValuesList, memeConfig.copy());
+        calls.put(kernel.startReconfiguration(call, nextTimeUnit, reconfigurationTimeEnd), call);
+        kernel.getContext().printToFile(Constant.RECONFIGURATION_CALL_TIMES_FILE, nextTimeUnit);
+    }
+
+    @Override
+    public void reconfigurationEnded(SimulationKernel kernel, Reconfiguration reconfiguration, Integer timeUnit)
+            throws InterruptedException, ExecutionException {
+        Placement reconfgPlacementResult;
+        try {
+            // 获取重配置执行的放置
+            reconfgPlacementResult = reconfiguration.getResult().get();
+        } catch (ExecutionException e) {
+            logger.log(Level.SEVERE, "迁移失败！");
+            throw e;
+        }
+        // 记录每种标量化方法选择的放置在重配置开始时的分数
+        for (Map.Entry<String, Placement> choice : calls.remove(reconfiguration).getScalarizationPlacements().entrySet()) {
+            kernel.getContext().printToFile(Constant.SCALARIZATION_SCORE_FILE + choice.getKey() + "/"
+                    + kernel.getContext().getScenarioFile(), timeUnit + "," + choice.getValue().getPlacementScore());
+        }
+        // 更新放置的虚拟机列表
+        Utils.removeDeadVMsFromPlacement(reconfgPlacementResult, timeUnit, memeConfig.getNumberOfResources());
+        // 重放执行期间的请求日志，更新虚拟机资源并添加新的虚拟机
+        Placement reconfgPlacementMerged = DynamicVMP.updatePlacementAfterReconf(kernel.getContext(),
+                kernel.getRequestsDuring(reconfiguration), Constant.BFD, reconfgPlacementResult);
+
+        List<APrioriValue> aPrioriValuesList = Utils.getAprioriValuesList(kernel.getContext(), timeUnit);
+        // 更新放置的虚拟机列表
+        Utils.removeDeadVMsFromPlacement(reconfgPlacementMerged, timeUnit, memeConfig.getNumberOfResources());
+        // 过滤掉死亡虚拟机后更新放置分数
+        reconfgPlacementMerged.updatePlacementScore(aPrioriValuesList, memeConfig.getScalarizationMethod());
+        // 如果重配置放置的分数比当前的放置（可能是之前接受的重配置结果）更好，接受它作为新的放置
+        if (DynamicVMP.isMememeticPlacementBetter(kernel.currentPlacement(), reconfgPlacementMerged)) {
+            kernel.acceptPlacement(reconfgPlacementMerged, timeUnit);
+            // 记录被接受的放置，用于下一次重配置的热启动；被丢弃的结果不影响热启动
+            memeConfig.setPreviousPlacement(Initialization.placementByVM(reconfgPlacementMerged.getVirtualMachineList()));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.framework.comparator;
+
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.FitnessComparator;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.Individual;
+
+import java.util.Comparator;
+
+/**
+ * 按非支配前沿和拥挤距离比较{@link Individual}的比较器，用于Pareto模式下的锦标赛选择。
+ */
+public class CrowdedComparator implements FitnessComparator, Comparator<Individual> {
+    //前沿较小的个体更好，前沿相同时拥挤距离较大的个体更好
+    @Override
+    public int compare(Individual individual1, Individual individual2) {
+        int result = Integer.compare(individual1.getRank(), individual2.getRank());
+        if (result != 0) {
+            return result;
+        }
+        return Double.compare(individual2.getCrowdingDistance(), individual1.getCrowdingDistance());
+    }
+}
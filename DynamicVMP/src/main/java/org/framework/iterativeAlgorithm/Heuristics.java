@@ -2,6 +2,7 @@ package org.framework.iterativeAlgorithm;
 
 import org.domain.*;
 import org.framework.Constraints;
+import org.framework.ExperimentContext;
 import org.framework.DynamicVMP;
 import org.framework.Parameter;
 import org.framework.Utils;
@@ -28,7 +29,8 @@ public class Heuristics {
      */
     @FunctionalInterface
     public interface Algorithm {
-        Boolean useHeuristic(VirtualMachine vm,
+        Boolean useHeuristic(ExperimentContext context,
+            VirtualMachine vm,
             List<PhysicalMachine> physicalMachines,
             List<VirtualMachine> virtualMachines,
             List<VirtualMachine> derivedVMs,
@@ -58,6 +60,7 @@ public class Heuristics {
     /**
      * 更新虚拟机信息，包括放置、迁移等操作。
      *
+     * @param context           场景运行的上下文
      * @param s                 场景对象
      * @param virtualMachines  虚拟机列表
      * @param derivedVMs       衍生的虚拟机列表
@@ -65,7 +68,7 @@ public class Heuristics {
      * @param isMigrationActive 是否激活迁移
      * @return 更新是否成功
      */
-    public static Boolean updateVM(Scenario s, List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs,
+    public static Boolean updateVM(ExperimentContext context, Scenario s, List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs,
             List<PhysicalMachine> physicalMachines, Boolean isMigrationActive) {
         Boolean success = false;
         PhysicalMachine physicalMachine;
@@ -92,14 +95,14 @@ public class Heuristics {
             physicalMachine = PhysicalMachine.getById(vm.getPhysicalMachine(), physicalMachines);
             // 检查资源状况
             if (Constraints.checkResources(physicalMachine, vm, updatedVM, virtualMachines,
-                true)) {
+                true, context.getProtectionFactor(), context.getFaultTolerance())) {
                 // 更新分配虚拟机列表
                 physicalMachine.updatePMResources(vm, Utils.SUB);
                 updateVmResources(virtualMachines, updatedVM);
                 allocateVMToPM(updatedVM, physicalMachine);
                 return true;
             } else {
-                getViolation(s.getTime(), vm, updatedVM, physicalMachine);
+                getViolation(context, s.getTime(), vm, updatedVM, physicalMachine);
                 return false;
             }
         }
@@ -127,12 +130,13 @@ public class Heuristics {
     /**
      * 获取违规信息并处理。
      *
+     * @param context       场景运行的上下文
      * @param timeViolation 违规时间
      * @param oldVm         旧的虚拟机对象
      * @param vm            更新后的虚拟机对象
      * @return 是否有违规
      */
-    private static void getViolation(Integer timeViolation, VirtualMachine oldVm, VirtualMachine vm,
+    private static void getViolation(ExperimentContext context, Integer timeViolation, VirtualMachine oldVm, VirtualMachine vm,
             PhysicalMachine pm) {
 
         Float cpuViolation = 0F;
@@ -167,8 +171,8 @@ public class Heuristics {
         Resources res = new Resources(cpuViolation, ramViolation, netViolation);
         Violation violation = new Violation(timeViolation, res);
 
-        DynamicVMP.updateEconomicalPenalties(vm,res, timeViolation);
-        DynamicVMP.unsatisfiedResources.put(vm.getId(), violation);
+        DynamicVMP.updateEconomicalPenalties(context, vm,res, timeViolation);
+        context.getUnsatisfiedResources().put(vm.getId(), violation);
     }
 
     /**
@@ -235,16 +239,17 @@ public class Heuristics {
     /**
      * 尝试使用 First Fit 算法将虚拟机放置到物理服务器上。
      *
+     * @param context         场景运行的上下文
      * @param vm              要放置的虚拟机
      * @param physicalMachines 物理服务器列表
      * @param virtualMachines  虚拟机列表
      * @param isMigration     是否为迁移操作
      * @return 如果成功放置返回 true，否则返回 false
      */
-    private static Boolean firstFit(VirtualMachine vm, List<PhysicalMachine> physicalMachines,
+    private static Boolean firstFit(ExperimentContext context, VirtualMachine vm, List<PhysicalMachine> physicalMachines,
             List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs, Boolean isMigration) {
 
-        if (allocateVMToDC(vm, physicalMachines, virtualMachines, isMigration)) {
+        if (allocateVMToDC(context, vm, physicalMachines, virtualMachines, isMigration)) {
             return true;
         }
         derivedVMs.add(vm);
@@ -253,13 +258,14 @@ public class Heuristics {
 
     /**
      * 将虚拟机分配到数据中心
+     * @param context          场景运行的上下文
      * @param vm               虚拟机
      * @param physicalMachines 物理机列表
      * @param virtualMachines  虚拟机列表
      * @param isMigration      虚拟机是否正在迁移
      * @return <b>True</b>, if DC can host the VM <br> <b>False</b>, otherwise
      */
-    private static boolean allocateVMToDC(final VirtualMachine vm, final List<PhysicalMachine> physicalMachines,
+    private static boolean allocateVMToDC(final ExperimentContext context, final VirtualMachine vm, final List<PhysicalMachine> physicalMachines,
             final List<VirtualMachine> virtualMachines, Boolean isMigration) {
 
         // 如果正在迁移，不更新资源利用率
@@ -270,7 +276,8 @@ public class Heuristics {
         }
 
         for (PhysicalMachine pm : physicalMachines) {
-            if (Constraints.checkResources(pm, null, vm, virtualMachines, false)) {
+            if (Constraints.checkResources(pm, null, vm, virtualMachines, false, context.getProtectionFactor(),
+                    context.getFaultTolerance())) {
                 // 将虚拟机分配到物理机上
                 allocateVMToPM(vm, pm);
                 vm.setPhysicalMachine(pm.getId());
@@ -284,6 +291,7 @@ public class Heuristics {
     /**
      * 尝试使用 Best Fit 算法将虚拟机放置到物理服务器上。
      *
+     * @param context         场景运行的上下文
      * @param vm              要放置的虚拟机
      * @param physicalMachines 物理服务器列表
      * @param virtualMachines  虚拟机列表
@@ -291,16 +299,17 @@ public class Heuristics {
      * @param isMigration     是否为迁移操作
      * @return 如果成功放置返回 true，否则返回 false
      */
-    private static Boolean bestFit(VirtualMachine vm, List<PhysicalMachine> physicalMachines,
+    private static Boolean bestFit(ExperimentContext context, VirtualMachine vm, List<PhysicalMachine> physicalMachines,
             List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs, Boolean isMigration) {
 
-        return bestOrWorstFit(true, vm, physicalMachines, virtualMachines, derivedVMs, isMigration);
+        return bestOrWorstFit(context, true, vm, physicalMachines, virtualMachines, derivedVMs, isMigration);
 
     }
 
     /**
      * 尝试使用 Best/Worst Fit 算法将虚拟机放置到物理服务器上。
      *
+     * @param context         场景运行的上下文
      * @param vm              要放置的虚拟机
      * @param isBest           是否是Best Fit
      * @param physicalMachines 物理服务器列表
@@ -309,8 +318,9 @@ public class Heuristics {
      * @param isMigration     是否为迁移操作
      * @return 如果成功放置返回 true，否则返回 false
      */
-    private static Boolean  bestOrWorstFit(Boolean isBest, VirtualMachine vm, List<PhysicalMachine> physicalMachines,
-            List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs, Boolean isMigration) {
+    private static Boolean  bestOrWorstFit(ExperimentContext context, Boolean isBest, VirtualMachine vm,
+            List<PhysicalMachine> physicalMachines, List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs,
+            Boolean isMigration) {
 
         if (isBest) {
             Collections.sort(physicalMachines, new BestComparator());
@@ -318,7 +328,7 @@ public class Heuristics {
             Collections.sort(physicalMachines, new WorstComparator());
         }
 
-        if (allocateVMToDC(vm, physicalMachines, virtualMachines, isMigration)) {
+        if (allocateVMToDC(context, vm, physicalMachines, virtualMachines, isMigration)) {
             return true;
         }
 
@@ -330,6 +340,7 @@ public class Heuristics {
     /**
      * 尝试使用 Worst Fit 算法将虚拟机放置到物理服务器上。
      *
+     * @param context         场景运行的上下文
      * @param vm              要放置的虚拟机
      * @param physicalMachines 物理服务器列表
      * @param virtualMachines  虚拟机列表
@@ -337,10 +348,10 @@ public class Heuristics {
      * @param isMigration     是否为迁移操作
      * @return 如果成功放置返回 true，否则返回 false
      */
-    private static Boolean worstFit(VirtualMachine vm, List<PhysicalMachine> physicalMachines,
+    private static Boolean worstFit(ExperimentContext context, VirtualMachine vm, List<PhysicalMachine> physicalMachines,
             List<VirtualMachine> virtualMachines, List<VirtualMachine> derivedVMs, Boolean isMigration) {
 
-        return bestOrWorstFit(false, vm, physicalMachines, virtualMachines, derivedVMs, isMigration);
+        return bestOrWorstFit(context, false, vm, physicalMachines, virtualMachines, derivedVMs, isMigration);
 
     }
 
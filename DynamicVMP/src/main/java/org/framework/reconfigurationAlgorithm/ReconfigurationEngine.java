@@ -0,0 +1,82 @@
+package org.framework.reconfigurationAlgorithm;
+
+import org.domain.APrioriValue;
+import org.domain.Placement;
+import org.framework.RandomSource;
+import org.framework.reconfigurationAlgorithm.acoAlgorithm.AntColonyVMP;
+import org.framework.reconfigurationAlgorithm.concurrent.PortfolioEngine;
+import org.framework.reconfigurationAlgorithm.consolidationAlgorithm.GreedyConsolidationVMP;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MoMaVMP;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 重配置阶段（VMPr）的算法。
+ * <p>
+ *     实现根据当前的放置计算重新配置后的放置，结果的分数由{@link org.framework.Utils#calcPlacemenScore}计算，越小越好。
+ *     一个对象只用于一次重配置，{@link #reconfiguration}在执行重配置的线程中调用，
+ *     {@link #bestPlacementSoFar}可以在重配置进行中从其他线程调用。
+ * </p>
+ */
+public interface ReconfigurationEngine {
+
+    /**
+     * 对实际放置进行重新配置。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          重配置的设置
+     * @return 重新配置后的放置
+     */
+    Placement reconfiguration(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings);
+
+    /**
+     * 获取目前找到的最好放置，可以在重配置进行中从其他线程调用。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          重配置的设置
+     * @return 目前最好的放置，还没有可用的结果时返回null
+     */
+    Placement bestPlacementSoFar(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings);
+
+    /**
+     * 获取{@link #reconfiguration}按每种标量化方法选择的放置，一次重配置即可比较不同的标量化方法。
+     * 只有Pareto模式下的Memetic算法提供，其他算法返回空映射。
+     * @return 标量化方法到放置的映射，在{@link #reconfiguration}返回之后有效
+     */
+    default Map<String, Placement> scalarizationPlacements() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 根据设置创建这一次重配置使用的算法：配置了算法组合时为{@link PortfolioEngine}，否则为参数VMPr指定的算法。
+     * @param settings 重配置的设置
+     * @param random   重配置使用的随机数序列，只能被返回的对象使用
+     * @return 重配置的算法
+     */
+    static ReconfigurationEngine forSettings(MASettings settings, RandomSource random) {
+        String engines = settings.getReconfigurationEngines();
+        if (engines != null && !engines.trim().isEmpty()) {
+            return PortfolioEngine.parse(engines, settings, random);
+        }
+        return forName(settings.getReconfigurationAlgorithm(), random);
+    }
+
+    /**
+     * 根据算法名称创建算法，未知的名称或null使用Memetic算法。
+     * @param algorithm 算法名称：MEMETIC、ACO或CONSOLIDATION
+     * @param random    算法使用的随机数序列
+     * @return 重配置的算法
+     */
+    static ReconfigurationEngine forName(String algorithm, RandomSource random) {
+        if (AntColonyVMP.ACO.equals(algorithm)) {
+            return new AntColonyVMP(random);
+        }
+        if (GreedyConsolidationVMP.CONSOLIDATION.equals(algorithm)) {
+            return new GreedyConsolidationVMP();
+        }
+        return new MoMaVMP(random);
+    }
+}
@@ -0,0 +1,293 @@
+package org.framework.reconfigurationAlgorithm.acoAlgorithm;
+
+import org.domain.APrioriValue;
+import org.domain.Placement;
+import org.framework.RandomSource;
+import org.framework.reconfigurationAlgorithm.ReconfigurationEngine;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.CandidateLists;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.EvaluationByScalarizationMethod;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.FreeCapacityIndex;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.IndexedReparation;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.Individual;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MoMaVMP;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.PlacementSnapshot;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.PopulationWorkers;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.SearchBudget;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 基于蚁群优化（Max-Min Ant System）的放置重配置，与{@link MoMaVMP#reconfiguration}的输入和结果相同，
+ * 可以在相同的触发条件下比较两种算法。
+ * <p>
+ *     信息素矩阵以基本类型数组保存：pheromone[vm * numberOfPMs + pm]，初始值为最大信息素。
+ *     每次迭代中蚂蚁在{@link ForkJoinPool}上并行构造解，构造期间只读取信息素矩阵；
+ *     每只蚂蚁按随机顺序放置虚拟机，从能够按预留资源容纳虚拟机的物理机（有候选列表时只考虑候选物理机）中
+ *     按信息素乘以启发值的比例选择，启发值偏向放入后更满的物理机和虚拟机当前所在的物理机，以减少工作中的物理机和迁移。
+ *     构造的解经过{@link IndexedReparation}修复后按标量化方法评估。
+ *     所有蚂蚁完成后批量更新信息素：先按信息素常数蒸发，再由本次迭代最好的蚂蚁和目前最好的解沉积，
+ *     信息素限制在[最大信息素 / (2 × 物理机数量), 最大信息素]之间。
+ *     每只蚂蚁的随机数序列在迭代开始时按蚂蚁顺序分出，结果与线程数量无关。
+ * </p>
+ */
+public class AntColonyVMP implements ReconfigurationEngine {
+
+    /**
+     * 重配置阶段的算法名称（参数VMPr）
+     */
+    public static final String ACO = "ACO";
+
+    private static final double HEURISTIC_WEIGHT = 2D;//启发值的指数
+    private static final double HOST_BONUS = 1D;//虚拟机当前所在物理机的启发值加成
+
+    private volatile Individual bestSoFar;//目前找到的最好解的副本，可以在搜索进行中被其他线程读取
+    private final RandomSource random;//这一次搜索的随机数序列，蚂蚁的序列从中分出
+
+    /**
+     * 构造函数
+     * @param random 搜索使用的随机数序列，只能被这个对象使用
+     */
+    public AntColonyVMP(RandomSource random) {
+        this.random = random;
+    }
+
+    /**
+     * 对实际放置进行重新配置，使用蚁群优化算法。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          重配置的设置
+     * @return 重新配置后的放置
+     */
+    @Override
+    public Placement reconfiguration(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        Individual best = search(actualPlacement, aPrioriValueList, settings);
+        return MoMaVMP.toPlacement(best, actualPlacement, aPrioriValueList, settings);
+    }
+
+    /**
+     * 获取目前找到的最好解对应的放置，可以在搜索进行中调用。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          重配置的设置
+     * @return 目前最好的放置，还没有评估任何蚂蚁时返回null
+     */
+    @Override
+    public Placement bestPlacementSoFar(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        Individual individual = bestSoFar;
+        return individual == null ? null
+                : MoMaVMP.toPlacement(individual, actualPlacement, aPrioriValueList, settings);
+    }
+
+    /**
+     * 蚁群优化的搜索过程。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          重配置的设置
+     * @return 找到的最好的解
+     */
+    public Individual search(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        SearchBudget budget = new SearchBudget(settings, System.nanoTime(), settings.getAcoIterations());
+        ForkJoinPool pool = PopulationWorkers.createPool(settings);
+        try {
+            PlacementSnapshot snapshot = new PlacementSnapshot(actualPlacement.getVirtualMachineList(),
+                    actualPlacement.getDerivedVMs(), actualPlacement.getPhysicalMachines(), settings.getNumberOfResources(),
+                    settings.getProtectionFactor());
+            snapshot.setCandidates(CandidateLists.forSettings(settings, snapshot));
+            int numberOfVMs = snapshot.getNumberOfVMs();
+            int numberOfPMs = snapshot.getNumberOfPMs();
+            float maxPheromone = settings.getMaxPheromone().floatValue();
+            float minPheromone = maxPheromone / (2 * numberOfPMs);
+            float evaporation = settings.getPheromoneConstant().floatValue();
+            float[] pheromone = new float[numberOfVMs * numberOfPMs];
+            Arrays.fill(pheromone, maxPheromone);
+
+            Individual[] ants = new Individual[Math.max(1, settings.getNumberOfAnts())];
+            for (int iteratorAnt = 0; iteratorAnt < ants.length; iteratorAnt++) {
+                ants[iteratorAnt] = new Individual(settings.getNumberOfObjFunctions(), numberOfVMs, numberOfPMs,
+                        settings.getNumberOfResources());
+            }
+            EvaluationByScalarizationMethod evaluator = new EvaluationByScalarizationMethod(
+                    settings.getScalarizationMethod());
+            long[] seeds = new long[ants.length];
+            Individual best = null;
+            int iteration = 0;
+            do {
+                // 按蚂蚁顺序预先生成随机种子
+                for (int iteratorAnt = 0; iteratorAnt < seeds.length; iteratorAnt++) {
+                    seeds[iteratorAnt] = random.nextLong();
+                }
+                // 每个工作线程使用各自的工作空间，构造期间信息素矩阵只读
+                PopulationWorkers.forEachChunk(pool, ants.length, (from, to) -> {
+                    Ant ant = new Ant(snapshot, pheromone);
+                    FreeCapacityIndex index = new FreeCapacityIndex(numberOfPMs, snapshot.getNumberOfResources());
+                    Map<Long, Integer> servicesByPM = Boolean.TRUE.equals(settings.getFaultTolerance())
+                            ? new HashMap<>() : null;
+                    for (int iteratorAnt = from; iteratorAnt < to; iteratorAnt++) {
+                        RandomSource antRandom = new RandomSource(seeds[iteratorAnt]);
+                        Individual individual = ants[iteratorAnt];
+                        ant.construct(individual.getSolution(), antRandom);
+                        individual.track(snapshot);
+                        IndexedReparation.checkAndRepair(individual, snapshot, index, servicesByPM, antRandom);
+                        individual.loadTrackedObjectives();
+                        evaluator.loadFitness(individual, aPrioriValueList, settings.getNumberOfObjFunctions());
+                    }
+                });
+                // 所有蚂蚁完成后批量更新信息素
+                Individual iterationBest = ants[0];
+                for (Individual individual : ants) {
+                    if (individual.getFitness() < iterationBest.getFitness()) {
+                        iterationBest = individual;
+                    }
+                }
+                if (best == null || iterationBest.getFitness() < best.getFitness()) {
+                    best = iterationBest.copy();
+                    bestSoFar = best.copy();
+                }
+                evaporate(pheromone, evaporation, minPheromone);
+                deposit(pheromone, iterationBest, best.getFitness(), evaporation, maxPheromone, numberOfPMs);
+                deposit(pheromone, best, best.getFitness(), evaporation, maxPheromone, numberOfPMs);
+                iteration++;
+            } while (!budget.isExhausted(iteration, best.getFitness()));
+            return best;
+        } finally {
+            PopulationWorkers.shutdown(pool);
+        }
+    }
+
+    /**
+     * 所有信息素按信息素常数蒸发，不低于最小信息素。
+     */
+    private static void evaporate(float[] pheromone, float evaporation, float minPheromone) {
+        float persistence = 1F - evaporation;
+        for (int iterator = 0; iterator < pheromone.length; iterator++) {
+            pheromone[iterator] = Math.max(minPheromone, pheromone[iterator] * persistence);
+        }
+    }
+
+    /**
+     * 在解的每个基因上沉积信息素，沉积量与解相对目前最好解的质量成正比，不超过最大信息素。
+     * 只有最好的解反复沉积时，其信息素收敛到最大信息素。
+     */
+    private static void deposit(float[] pheromone, Individual individual, double bestFitness, float evaporation,
+                                float maxPheromone, int numberOfPMs) {
+        double quality = individual.getFitness() <= 0D ? 1D : Math.min(1D, bestFitness / individual.getFitness());
+        float amount = (float) (evaporation * maxPheromone * quality);
+        int[] solution = individual.getSolution();
+        for (int iteratorVM = 0; iteratorVM < solution.length; iteratorVM++) {
+            int position = iteratorVM * numberOfPMs + solution[iteratorVM] - 1;
+            pheromone[position] = Math.min(maxPheromone, pheromone[position] + amount);
+        }
+    }
+
+    /**
+     * 一个工作线程中构造解的工作空间，依次被这个线程处理的蚂蚁使用。
+     */
+    private static final class Ant {
+        private final PlacementSnapshot snapshot;//问题数据的快照
+        private final float[] pheromone;//信息素矩阵，只读
+        private final float[] reserved;//已放置的虚拟机在每台物理机上的预留资源，按资源主序展开
+        private final int[] order;//放置虚拟机的顺序
+        private final int[] choices;//当前虚拟机可以选择的物理机索引
+        private final double[] weights;//可以选择的物理机的累积权重
+
+        Ant(PlacementSnapshot snapshot, float[] pheromone) {
+            this.snapshot = snapshot;
+            this.pheromone = pheromone;
+            this.reserved = new float[snapshot.getNumberOfResources() * snapshot.getNumberOfPMs()];
+            this.order = new int[snapshot.getNumberOfVMs()];
+            this.choices = new int[snapshot.getNumberOfPMs()];
+            this.weights = new double[snapshot.getNumberOfPMs()];
+        }
+
+        /**
+         * 按随机顺序放置所有虚拟机，结果写入solution。
+         * @param solution 虚拟机分配给物理机的解决方案
+         * @param random   蚂蚁的随机数序列
+         */
+        void construct(int[] solution, RandomSource random) {
+            int numberOfVMs = snapshot.getNumberOfVMs();
+            int numberOfPMs = snapshot.getNumberOfPMs();
+            int numberOfResources = snapshot.getNumberOfResources();
+            CandidateLists candidates = snapshot.getCandidates();
+            Arrays.fill(reserved, 0F);
+            for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+                order[iteratorVM] = iteratorVM;
+            }
+            for (int iterator = numberOfVMs - 1; iterator > 0; iterator--) {
+                int swap = random.nextInt(iterator + 1);
+                int vm = order[iterator];
+                order[iterator] = order[swap];
+                order[swap] = vm;
+            }
+            for (int iteratorOrder = 0; iteratorOrder < numberOfVMs; iteratorOrder++) {
+                int vmIndex = order[iteratorOrder];
+                int host = snapshot.getOriginalPM(vmIndex);
+                int size = candidates == null ? 0 : candidates.size(vmIndex);
+                int count = 0;
+                double total = 0D;
+                for (int position = 0, limit = size == 0 ? numberOfPMs : size; position < limit; position++) {
+                    int pmIndex = size == 0 ? position : candidates.get(vmIndex, position) - 1;
+                    double fill = fill(vmIndex, pmIndex);
+                    if (fill < 0D) {
+                        continue;
+                    }
+                    double heuristic = 1D + fill + (pmIndex == host - 1 ? HOST_BONUS : 0D);
+                    total += pheromone[vmIndex * numberOfPMs + pmIndex] * Math.pow(heuristic, HEURISTIC_WEIGHT);
+                    choices[count] = pmIndex;
+                    weights[count++] = total;
+                }
+                int pmIndex;
+                if (count > 0) {
+                    pmIndex = choices[roulette(count, total, random)];
+                } else {
+                    // 没有物理机能够容纳虚拟机时留在当前物理机上，由修复操作处理
+                    pmIndex = host >= 1 && host <= numberOfPMs ? host - 1 : random.nextInt(numberOfPMs);
+                }
+                solution[vmIndex] = pmIndex + 1;
+                for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                    reserved[iteratorResource * numberOfPMs + pmIndex] += snapshot.getVMReservation(vmIndex, iteratorResource);
+                }
+            }
+        }
+
+        /**
+         * 虚拟机放入物理机后各资源预留率的平均值，任何资源放不下时为-1。
+         */
+        private double fill(int vmIndex, int pmIndex) {
+            int numberOfPMs = snapshot.getNumberOfPMs();
+            int numberOfResources = snapshot.getNumberOfResources();
+            double fill = 0D;
+            for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                float capacity = snapshot.getPMCapacity(pmIndex, iteratorResource);
+                float after = reserved[iteratorResource * numberOfPMs + pmIndex]
+                        + snapshot.getVMReservation(vmIndex, iteratorResource);
+                if (after > capacity) {
+                    return -1D;
+                }
+                fill += after / capacity;
+            }
+            return fill / numberOfResources;
+        }
+
+        //按累积权重进行轮盘赌选择
+        private int roulette(int count, double total, RandomSource random) {
+            double target = random.nextDouble() * total;
+            int low = 0;
+            int high = count - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (weights[middle] <= target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
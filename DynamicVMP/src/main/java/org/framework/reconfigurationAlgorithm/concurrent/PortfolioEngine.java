@@ -0,0 +1,208 @@
+package org.framework.reconfigurationAlgorithm.concurrent;
+
+import org.domain.APrioriValue;
+import org.domain.Placement;
+import org.framework.Constant;
+import org.framework.DynamicVMP;
+import org.framework.RandomSource;
+import org.framework.reconfigurationAlgorithm.ReconfigurationEngine;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 同时运行多个重配置算法的组合，返回分数最好的放置。
+ * <p>
+ *     组合由参数RECONFIGURATION_ENGINES描述，例如{@code MEMETIC,MEMETIC(CROSSOVER:UNIFORM;POPULATION_SIZE:40),CONSOLIDATION,ACO}：
+ *     以逗号分隔的成员，每个成员是一个VMPr算法名称，括号中可以用分号分隔覆盖这个成员的设置。
+ *     每个成员在各自的线程中运行同一个放置，截止时间为执行持续时间（时间单位）乘以{@link Constant#TIMEUNIT_DURATION}（秒），
+ *     与任意时间模式的时间预算相同。截止时间到达时，还没有结束的成员返回目前最好的放置并被中断。
+ *     所有成员都在截止时间之前结束时结果与线程调度无关：分数相同时选择列表中靠前的成员。
+ * </p>
+ */
+public class PortfolioEngine implements ReconfigurationEngine {
+
+    private final List<String> names;//每个成员在参数中的描述，用于日志
+    private final List<MASettings> memberSettings;//每个成员的设置
+    private final List<ReconfigurationEngine> members;//成员算法
+
+    private PortfolioEngine(List<String> names, List<MASettings> memberSettings, List<ReconfigurationEngine> members) {
+        this.names = names;
+        this.memberSettings = memberSettings;
+        this.members = members;
+    }
+
+    /**
+     * 解析算法组合。每个成员的设置是共享设置的副本，随机数序列按成员顺序从random中分出。
+     * @param engines  参数RECONFIGURATION_ENGINES的值
+     * @param settings 共享的重配置设置
+     * @param random   组合使用的随机数序列
+     * @return 算法组合
+     */
+    public static PortfolioEngine parse(String engines, MASettings settings, RandomSource random) {
+        List<String> names = new ArrayList<>();
+        List<MASettings> memberSettings = new ArrayList<>();
+        List<ReconfigurationEngine> members = new ArrayList<>();
+        for (String member : engines.split(",")) {
+            String description = member.trim();
+            if (description.isEmpty()) {
+                continue;
+            }
+            MASettings copy = settings.copy();
+            String algorithm = description;
+            int open = description.indexOf('(');
+            if (open >= 0) {
+                if (!description.endsWith(")")) {
+                    throw new IllegalArgumentException("Invalid reconfiguration engine: " + description);
+                }
+                algorithm = description.substring(0, open).trim();
+                for (String override : description.substring(open + 1, description.length() - 1).split(";")) {
+                    String[] keyValue = override.split(":");
+                    if (keyValue.length != 2) {
+                        throw new IllegalArgumentException("Invalid reconfiguration engine setting: " + override);
+                    }
+                    override(copy, keyValue[0].trim(), keyValue[1].trim());
+                }
+            }
+            copy.setReconfigurationAlgorithm(algorithm);
+            copy.setReconfigurationEngines(null);
+            names.add(description);
+            memberSettings.add(copy);
+            members.add(ReconfigurationEngine.forName(algorithm, random.split()));
+        }
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("Empty reconfiguration engine portfolio: " + engines);
+        }
+        return new PortfolioEngine(names, memberSettings, members);
+    }
+
+    /**
+     * 覆盖成员的一项设置，键与参数文件中的参数名称相同。
+     */
+    private static void override(MASettings settings, String key, String value) {
+        switch (key) {
+            case "POPULATION_SIZE":
+                settings.setPopulationSize(Integer.parseInt(value));
+                break;
+            case "NUMBER_GENERATIONS":
+                settings.setNumberOfGenerations(Integer.parseInt(value));
+                break;
+            case "EVALUATION_THREADS":
+                settings.setEvaluationThreads(Integer.parseInt(value));
+                break;
+            case "ISLANDS":
+                settings.setIslands(Integer.parseInt(value));
+                break;
+            case "LOCAL_SEARCH_ELITE":
+                settings.setLocalSearchElite(Integer.parseInt(value));
+                break;
+            case "WARM_START_RATIO":
+                settings.setWarmStartRatio(Double.parseDouble(value));
+                break;
+            case "SURVIVOR_SELECTION":
+                settings.setSurvivorSelection(value);
+                break;
+            case "CROSSOVER":
+                settings.setCrossoverOperator(value);
+                break;
+            case "PARTIAL_RECONFIGURATION":
+                settings.setPartialReconfiguration(Boolean.parseBoolean(value));
+                break;
+            case "CANDIDATE_LIST_SIZE":
+                settings.setCandidateListSize(Integer.parseInt(value));
+                break;
+            case "N_ANTS":
+                settings.setNumberOfAnts(Integer.parseInt(value));
+                break;
+            case "ACO_ITERATIONS":
+                settings.setAcoIterations(Integer.parseInt(value));
+                break;
+            case "CONSOLIDATION_MEMORY_CAP":
+                settings.setConsolidationMemoryCap(Double.parseDouble(value));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported reconfiguration engine setting: " + key);
+        }
+    }
+
+    @Override
+    public Placement reconfiguration(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        long budgetNanos = (long) (settings.getExecutionDuration() * Constant.TIMEUNIT_DURATION * 1_000_000_000L);
+        long deadline = System.nanoTime() + budgetNanos;
+        ExecutorService executor = Executors.newFixedThreadPool(members.size());
+        List<Future<Placement>> futures = new ArrayList<>(members.size());
+        try {
+            for (int iteratorMember = 0; iteratorMember < members.size(); iteratorMember++) {
+                ReconfigurationEngine member = members.get(iteratorMember);
+                MASettings memberSetting = memberSettings.get(iteratorMember);
+                futures.add(executor.submit(() -> member.reconfiguration(actualPlacement, aPrioriValueList, memberSetting)));
+            }
+            Placement best = null;
+            int winner = -1;
+            for (int iteratorMember = 0; iteratorMember < members.size(); iteratorMember++) {
+                Placement placement = collect(iteratorMember, futures.get(iteratorMember), deadline, actualPlacement,
+                        aPrioriValueList);
+                if (placement != null && (best == null || placement.getPlacementScore() < best.getPlacementScore())) {
+                    best = placement;
+                    winner = iteratorMember;
+                }
+            }
+            if (best == null) {
+                throw new IllegalStateException("No reconfiguration engine of the portfolio returned a placement");
+            }
+            Logger.getLogger(DynamicVMP.DYNAMIC_VMP).log(Level.INFO, String.format(
+                    "Portfolio reconfiguration: %s won with score %.6f", names.get(winner), best.getPlacementScore()));
+            return best;
+        } finally {
+            for (Future<Placement> future : futures) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 等待成员在截止时间之前结束；超时时取它目前最好的放置并中断它。
+     * @return 成员的放置，成员失败或还没有结果时返回null
+     */
+    private Placement collect(int memberIndex, Future<Placement> future, long deadline, Placement actualPlacement,
+                              List<APrioriValue> aPrioriValueList) {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            Placement placement = members.get(memberIndex).bestPlacementSoFar(actualPlacement, aPrioriValueList,
+                    memberSettings.get(memberIndex));
+            future.cancel(true);
+            return placement;
+        } catch (ExecutionException e) {
+            Logger.getLogger(DynamicVMP.DYNAMIC_VMP).log(Level.WARNING,
+                    "Reconfiguration engine " + names.get(memberIndex) + " failed", e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public Placement bestPlacementSoFar(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        Placement best = null;
+        for (int iteratorMember = 0; iteratorMember < members.size(); iteratorMember++) {
+            Placement placement = members.get(iteratorMember).bestPlacementSoFar(actualPlacement, aPrioriValueList,
+                    memberSettings.get(iteratorMember));
+            if (placement != null && (best == null || placement.getPlacementScore() < best.getPlacementScore())) {
+                best = placement;
+            }
+        }
+        return best;
+    }
+}
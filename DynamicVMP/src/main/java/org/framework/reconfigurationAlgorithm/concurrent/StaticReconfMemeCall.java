@@ -2,10 +2,11 @@ package org.framework.reconfigurationAlgorithm.concurrent;
 
 import org.domain.APrioriValue;
 import org.domain.Placement;
+import org.framework.reconfigurationAlgorithm.ReconfigurationEngine;
 import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings;
-import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MoMaVMP;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 public class StaticReconfMemeCall implements Callable<Placement>{
@@ -13,17 +14,34 @@ public class StaticReconfMemeCall implements Callable<Placement>{
     private List<APrioriValue> aPrioriValuesList;
     private Placement actualPlacement;
     private MASettings settings;
+    private final ReconfigurationEngine engine;//参数VMPr指定的算法，或RECONFIGURATION_ENGINES配置的算法组合
 
     public StaticReconfMemeCall(Placement actualPlacement, List<APrioriValue> aPrioriValuesList, MASettings settings){
         this.actualPlacement = actualPlacement;
         this.aPrioriValuesList = aPrioriValuesList;
         this.settings = settings;
+        // 在提交重配置的线程中分出这一次重配置的随机数序列，使结果与执行的线程无关
+        this.engine = ReconfigurationEngine.forSettings(settings, settings.getRandomSource().split());
     }
 
     @Override
     public Placement call() throws Exception {
-        MoMaVMP memetic  = new MoMaVMP();
-        return memetic.reconfiguration(actualPlacement,aPrioriValuesList,settings);
+        return engine.reconfiguration(actualPlacement,aPrioriValuesList,settings);
+    }
+
+    /**
+     * 获取目前找到的最好放置，可以在重配置进行中从其他线程调用。
+     * @return 目前最好的放置，还没有评估任何个体时返回null
+     */
+    public Placement getBestPlacementSoFar() {
+        return engine.bestPlacementSoFar(actualPlacement, aPrioriValuesList, settings);
     }
-}
 
+    /**
+     * 获取重配置按每种标量化方法选择的放置，在{@link #call()}返回之后调用。
+     * @return 标量化方法到放置的映射，没有使用Pareto模式时为空映射
+     */
+    public Map<String, Placement> getScalarizationPlacements() {
+        return engine.scalarizationPlacements();
+    }
+}
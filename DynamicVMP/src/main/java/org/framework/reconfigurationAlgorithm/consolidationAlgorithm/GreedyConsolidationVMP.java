@@ -0,0 +1,338 @@
+package org.framework.reconfigurationAlgorithm.consolidationAlgorithm;
+
+import org.domain.APrioriValue;
+import org.domain.PhysicalMachine;
+import org.domain.Placement;
+import org.domain.VirtualMachine;
+import org.framework.DynamicVMP;
+import org.framework.Utils;
+import org.framework.reconfigurationAlgorithm.ReconfigurationEngine;
+import org.framework.reconfigurationAlgorithm.enums.ResourcesEnum;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.Individual;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MASettings;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.MoMaVMP;
+import org.framework.reconfigurationAlgorithm.memeticAlgorithm.PlacementSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 确定性的贪心整合重配置，与{@link MoMaVMP#reconfiguration}的输入和结果相同，用于很短的执行窗口。
+ * <p>
+ *     工作中的物理机按平均预留率从低到高依次清空：被清空的物理机上的虚拟机按预留资源从大到小，
+ *     放入CPU剩余预留资源最少、且所有资源都能容纳它的其他工作中物理机（最佳适应），不会开启空闲的物理机。
+ *     最佳适应索引是按CPU剩余预留资源排序的有序集合，从不小于虚拟机CPU需求的位置开始查找，
+ *     通常只需要检查很少的物理机，每次移动后以O(log 物理机数量)更新。一台物理机上的虚拟机不能全部移走、迁移内存之和超过上限时撤销这台物理机的移动并跳过它；
+ *     清空后{@link Utils#calcPlacemenScore}计算的分数没有改进时撤销并停止。
+ *     每次移动通过{@link Individual#setGene}增量更新目标函数，整个过程的代价约为O(虚拟机数量 × log 物理机数量 × 资源数量)。
+ * </p>
+ */
+public class GreedyConsolidationVMP implements ReconfigurationEngine {
+
+    /**
+     * 重配置阶段的算法名称（参数VMPr）
+     */
+    public static final String CONSOLIDATION = "CONSOLIDATION";
+
+    private static final int CPU = ResourcesEnum.CPU.getIndex();
+
+    private volatile Placement result;//整合的结果，整合结束之前为null
+
+    /**
+     * 对实际放置进行重新配置，使用贪心整合。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          重配置的设置
+     * @return 重新配置后的放置
+     */
+    @Override
+    public Placement reconfiguration(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        long startTime = System.nanoTime();
+        PlacementSnapshot snapshot = new PlacementSnapshot(actualPlacement.getVirtualMachineList(),
+                actualPlacement.getDerivedVMs(), actualPlacement.getPhysicalMachines(), settings.getNumberOfResources(),
+                settings.getProtectionFactor());
+        Individual individual = new Individual(settings.getNumberOfObjFunctions(), snapshot.getNumberOfVMs(),
+                snapshot.getNumberOfPMs(), snapshot.getNumberOfResources());
+        for (int iteratorVM = 0; iteratorVM < snapshot.getNumberOfVMs(); iteratorVM++) {
+            individual.getSolution()[iteratorVM] = snapshot.getOriginalPM(iteratorVM);
+        }
+        individual.track(snapshot);
+        if (!individual.isTracked()) {
+            // 有未分配的虚拟机时不进行整合
+            Placement unchanged = new Placement(PhysicalMachine.clonePMsList(actualPlacement.getPhysicalMachines()),
+                    VirtualMachine.cloneVMsList(actualPlacement.getVirtualMachineList()),
+                    VirtualMachine.cloneVMsList(actualPlacement.getDerivedVMs()));
+            unchanged.updatePlacementScore(aPrioriValueList, settings.getScalarizationMethod());
+            result = unchanged;
+            return unchanged;
+        }
+        Double cap = settings.getConsolidationMemoryCap();
+        Consolidation consolidation = new Consolidation(snapshot, individual, aPrioriValueList,
+                settings.getScalarizationMethod(), Boolean.TRUE.equals(settings.getFaultTolerance()),
+                cap == null || cap <= 0 ? Double.POSITIVE_INFINITY : cap);
+        consolidation.run();
+        // 最后一次评估的可能是被撤销的移动
+        individual.loadTrackedObjectives();
+        Logger.getLogger(DynamicVMP.DYNAMIC_VMP).log(Level.INFO, String.format(
+                "Greedy consolidation: %d PMs drained, %d VMs moved, %.2f RAM migrated in %.3f ms",
+                consolidation.drained, consolidation.moved, consolidation.migratedMemory,
+                (System.nanoTime() - startTime) / 1_000_000D));
+        result = MoMaVMP.toPlacement(individual, actualPlacement, aPrioriValueList, settings);
+        return result;
+    }
+
+    /**
+     * 获取整合的结果，可以在整合进行中调用。整合没有中间结果。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          重配置的设置
+     * @return 整合结束后的放置，整合还没有结束时返回null
+     */
+    @Override
+    public Placement bestPlacementSoFar(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        return result;
+    }
+
+    /**
+     * 一次整合的状态。
+     */
+    private static final class Consolidation {
+        private final PlacementSnapshot snapshot;//问题数据的快照
+        private final Individual individual;//处于增量计算状态的放置
+        private final List<APrioriValue> aPrioriValueList;//先验值列表
+        private final String scalarizationMethod;//计算分数的标量化方法
+        private final double memoryCap;//迁移内存之和的上限
+        private final TreeSet<Long> bestFitIndex;//可以作为目标的物理机，按CPU剩余预留资源排序，见indexKey
+        private final long[] indexKeys;//每台物理机在最佳适应索引中的键，不在索引中时为-1
+        private final boolean[] closed;//已经清空或正在清空的物理机
+        private final List<List<Integer>> vmsByPM;//每台物理机上的虚拟机，按预留资源从大到小
+        private final Map<Long, Integer> servicesByPM;//每台物理机上每个云服务的虚拟机数量，不考虑容错时为null
+        private final float[] need;//当前虚拟机的预留资源
+        private double migratedMemory;//所有迁移的虚拟机内存之和
+        private int drained;//清空的物理机数量
+        private int moved;//移动的虚拟机数量
+
+        Consolidation(PlacementSnapshot snapshot, Individual individual, List<APrioriValue> aPrioriValueList,
+                      String scalarizationMethod, boolean faultTolerance, double memoryCap) {
+            this.snapshot = snapshot;
+            this.individual = individual;
+            this.aPrioriValueList = aPrioriValueList;
+            this.scalarizationMethod = scalarizationMethod;
+            this.memoryCap = memoryCap;
+            this.closed = new boolean[snapshot.getNumberOfPMs()];
+            this.need = new float[snapshot.getNumberOfResources()];
+            this.vmsByPM = new ArrayList<>(snapshot.getNumberOfPMs());
+            for (int iteratorPM = 0; iteratorPM < snapshot.getNumberOfPMs(); iteratorPM++) {
+                vmsByPM.add(new ArrayList<>());
+            }
+            this.servicesByPM = faultTolerance ? new HashMap<>() : null;
+            int[] solution = individual.getSolution();
+            for (int iteratorVM = 0; iteratorVM < solution.length; iteratorVM++) {
+                vmsByPM.get(solution[iteratorVM] - 1).add(iteratorVM);
+                if (servicesByPM != null) {
+                    servicesByPM.merge(serviceKey(snapshot.getCloudService(iteratorVM), solution[iteratorVM]), 1,
+                            Integer::sum);
+                }
+            }
+            this.bestFitIndex = new TreeSet<>();
+            this.indexKeys = new long[snapshot.getNumberOfPMs()];
+            for (int pmIndex = 0; pmIndex < snapshot.getNumberOfPMs(); pmIndex++) {
+                indexKeys[pmIndex] = -1L;
+                reindex(pmIndex);
+            }
+        }
+
+        /**
+         * 按负载从低到高依次清空物理机，分数不再改进时停止。
+         */
+        void run() {
+            double score = score();
+            for (int pmIndex : drainOrder()) {
+                int[] targets = drain(pmIndex);
+                if (targets == null) {
+                    continue;
+                }
+                double newScore = score();
+                if (newScore >= score) {
+                    undo(pmIndex, targets);
+                    return;
+                }
+                score = newScore;
+                drained++;
+                moved += targets.length;
+                // 清空的物理机上的虚拟机按预留资源的顺序插入目标物理机的列表，之后清空目标物理机时仍然先移动大的虚拟机
+                List<Integer> vms = vmsByPM.get(pmIndex);
+                for (int iterator = 0; iterator < targets.length; iterator++) {
+                    insertByReservation(vmsByPM.get(targets[iterator]), vms.get(iterator));
+                }
+                vms.clear();
+            }
+        }
+
+        //工作中的物理机按平均预留率从低到高排列，相同时按物理机ID
+        private Integer[] drainOrder() {
+            int numberOfPMs = snapshot.getNumberOfPMs();
+            double[] load = new double[numberOfPMs];
+            List<Integer> working = new ArrayList<>();
+            for (int pmIndex = 0; pmIndex < numberOfPMs; pmIndex++) {
+                if (vmsByPM.get(pmIndex).isEmpty()) {
+                    continue;
+                }
+                for (int iteratorResource = 0; iteratorResource < snapshot.getNumberOfResources(); iteratorResource++) {
+                    load[pmIndex] += individual.getReserved(pmIndex, iteratorResource)
+                            / snapshot.getPMCapacity(pmIndex, iteratorResource);
+                }
+                vmsByPM.get(pmIndex).sort((vm1, vm2) -> Float.compare(reservation(vm2), reservation(vm1)));
+                working.add(pmIndex);
+            }
+            Integer[] order = working.toArray(new Integer[0]);
+            Arrays.sort(order, (pm1, pm2) -> load[pm1] != load[pm2] ? Double.compare(load[pm1], load[pm2])
+                    : Integer.compare(pm1, pm2));
+            return order;
+        }
+
+        /**
+         * 把物理机上的所有虚拟机移到其他工作中的物理机上。
+         * @return 每台虚拟机的目标物理机索引；不能全部移走或超过迁移内存上限时撤销已经完成的移动并返回null
+         */
+        private int[] drain(int pmIndex) {
+            List<Integer> vms = vmsByPM.get(pmIndex);
+            int[] targets = new int[vms.size()];
+            closed[pmIndex] = true;
+            reindex(pmIndex);
+            for (int iterator = 0; iterator < vms.size(); iterator++) {
+                int vmIndex = vms.get(iterator);
+                int target = bestFit(vmIndex);
+                double memory = migratedMemory + memoryDelta(vmIndex, pmIndex + 1, target + 1);
+                if (target < 0 || memory > memoryCap) {
+                    undo(pmIndex, Arrays.copyOf(targets, iterator));
+                    return null;
+                }
+                move(vmIndex, pmIndex, target);
+                targets[iterator] = target;
+            }
+            return targets;
+        }
+
+        //把前targets.length台虚拟机移回物理机，物理机重新可以作为目标
+        private void undo(int pmIndex, int[] targets) {
+            List<Integer> vms = vmsByPM.get(pmIndex);
+            for (int iterator = targets.length - 1; iterator >= 0; iterator--) {
+                move(vms.get(iterator), targets[iterator], pmIndex);
+            }
+            closed[pmIndex] = false;
+            reindex(pmIndex);
+        }
+
+        private void move(int vmIndex, int fromPM, int toPM) {
+            migratedMemory += memoryDelta(vmIndex, fromPM + 1, toPM + 1);
+            individual.setGene(vmIndex, toPM + 1);
+            reindex(fromPM);
+            reindex(toPM);
+            if (servicesByPM != null) {
+                int cloudService = snapshot.getCloudService(vmIndex);
+                servicesByPM.merge(serviceKey(cloudService, fromPM + 1), -1, Integer::sum);
+                servicesByPM.merge(serviceKey(cloudService, toPM + 1), 1, Integer::sum);
+            }
+        }
+
+        /**
+         * 查找按预留资源能够容纳虚拟机、CPU剩余预留资源最少的其他工作中物理机。
+         * @return 物理机的索引，没有时返回-1
+         */
+        private int bestFit(int vmIndex) {
+            for (int iteratorResource = 0; iteratorResource < need.length; iteratorResource++) {
+                need[iteratorResource] = snapshot.getVMReservation(vmIndex, iteratorResource);
+            }
+            int cloudService = snapshot.getCloudService(vmIndex);
+            for (Long key : bestFitIndex.tailSet(indexKey(need[CPU], 0))) {
+                int candidate = (int) (key & 0xFFFFFFFFL);
+                if (servicesByPM != null && servicesByPM.getOrDefault(serviceKey(cloudService, candidate + 1), 0) > 0) {
+                    continue;
+                }
+                if (fits(candidate)) {
+                    return candidate;
+                }
+            }
+            return -1;
+        }
+
+        //物理机的剩余预留资源是否都能容纳当前虚拟机
+        private boolean fits(int pmIndex) {
+            for (int iteratorResource = 0; iteratorResource < need.length; iteratorResource++) {
+                if (individual.getReserved(pmIndex, iteratorResource) + need[iteratorResource]
+                        > snapshot.getPMCapacity(pmIndex, iteratorResource)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        //根据物理机当前的状态更新它在最佳适应索引中的位置，只有没有清空、正在工作且没有过载的物理机可以作为目标
+        private void reindex(int pmIndex) {
+            if (indexKeys[pmIndex] >= 0) {
+                bestFitIndex.remove(indexKeys[pmIndex]);
+                indexKeys[pmIndex] = -1L;
+            }
+            float free = snapshot.getPMCapacity(pmIndex, CPU) - individual.getReserved(pmIndex, CPU);
+            if (!closed[pmIndex] && !vmsByPM.get(pmIndex).isEmpty() && free >= 0F) {
+                indexKeys[pmIndex] = indexKey(free, pmIndex);
+                bestFitIndex.add(indexKeys[pmIndex]);
+            }
+        }
+
+        /**
+         * 最佳适应索引的键：高32位为非负剩余量的float位模式（非负float的位模式与数值顺序相同），低32位为物理机索引。
+         */
+        private static long indexKey(float free, int pmIndex) {
+            return ((long) Float.floatToIntBits(Math.max(0F, free)) << 32) | pmIndex;
+        }
+
+        //虚拟机从一台物理机移到另一台物理机时迁移内存之和的变化，移回原来的物理机时迁移取消
+        private double memoryDelta(int vmIndex, int fromPMId, int toPMId) {
+            int originalPMId = snapshot.getOriginalPM(vmIndex);
+            float memory = snapshot.getMigratedMemory(vmIndex);
+            return (toPMId != originalPMId ? memory : 0D) - (fromPMId != originalPMId ? memory : 0D);
+        }
+
+        //把虚拟机插入按预留资源从大到小排列的列表，与已有的虚拟机相同时排在它们之后
+        private void insertByReservation(List<Integer> vms, int vmIndex) {
+            float value = reservation(vmIndex);
+            int low = 0;
+            int high = vms.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (reservation(vms.get(middle)) >= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            vms.add(low, vmIndex);
+        }
+
+        private float reservation(int vmIndex) {
+            float reservation = 0F;
+            for (int iteratorResource = 0; iteratorResource < snapshot.getNumberOfResources(); iteratorResource++) {
+                reservation += snapshot.getVMReservation(vmIndex, iteratorResource);
+            }
+            return reservation;
+        }
+
+        //当前放置的标量化分数
+        private double score() {
+            individual.loadTrackedObjectives();
+            return Utils.calcPlacemenScore(individual.getObjectiveFunctions(), aPrioriValueList, scalarizationMethod);
+        }
+
+        private static Long serviceKey(int cloudService, int pmId) {
+            return ((long) cloudService << 32) | (pmId & 0xFFFFFFFFL);
+        }
+    }
+}
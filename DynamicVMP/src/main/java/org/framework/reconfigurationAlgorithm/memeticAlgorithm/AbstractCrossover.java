@@ -0,0 +1,160 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 交叉操作的公共部分：父代的配对方式、子代的复制和交叉概率。
+ * 子类只需要实现{@link #recombine}，决定子代从另一个父代继承哪些基因。
+ */
+public abstract class AbstractCrossover implements Crossover {
+
+    /**
+     * 在个体中点处的单点交叉，默认的交叉操作
+     */
+    public static final String ONE_POINT = "ONE_POINT";
+
+    /**
+     * 两个随机交叉点之间的基因互换的两点交叉
+     */
+    public static final String TWO_POINT = "TWO_POINT";
+
+    /**
+     * 每个基因以相同的概率来自任一父代的均匀交叉
+     */
+    public static final String UNIFORM = "UNIFORM";
+
+    /**
+     * 同一个云服务的所有虚拟机来自同一个父代的交叉
+     */
+    public static final String SERVICE = "SERVICE";
+
+    private final Double probability;//交叉概率
+    protected final Random random;//交叉使用的随机数生成器
+
+    /**
+     * 构造函数
+     * @param probability 交叉概率
+     * @param random      交叉使用的随机数生成器
+     */
+    protected AbstractCrossover(Double probability, Random random) {
+        this.probability = probability;
+        this.random = random;
+    }
+
+    /**
+     * 根据设置创建交叉操作。
+     * @param settings Memetic算法的设置，决定交叉操作和交叉概率
+     * @param snapshot 问题数据的快照，按云服务交叉时使用
+     * @param random   交叉使用的随机数生成器
+     * @return 交叉操作
+     */
+    public static Crossover forSettings(MASettings settings, PlacementSnapshot snapshot, Random random) {
+        String operator = settings.getCrossoverOperator() == null ? ONE_POINT : settings.getCrossoverOperator();
+        switch (operator) {
+            case ONE_POINT:
+                return new OnePointCrossover(settings.getCrossoverProb(), random);
+            case TWO_POINT:
+                return new TwoPointCrossover(settings.getCrossoverProb(), random);
+            case UNIFORM:
+                return new UniformCrossover(settings.getCrossoverProb(), random);
+            case SERVICE:
+                return new ServiceGroupedCrossover(settings.getCrossoverProb(), random, snapshot);
+            default:
+                throw new IllegalArgumentException("Unknown crossover operator: " + operator);
+        }
+    }
+
+    // 实现Crossover接口的方法，对一组父代个体进行交叉操作
+    @Override
+    public Population crossover(List<Individual> parents, int arity) {
+        Population population = new Population();//创建population存储新的子代群体
+        Individual parent1, parent2;
+        //遍历父代个体列表
+        for (int iteratorIndividual = 0; iteratorIndividual < parents.size(); iteratorIndividual++) {
+            parent1 = parents.get(iteratorIndividual);
+            // 选择另一个父代个体，确保两两配对
+            parent2 = iteratorIndividual % 2 == 0 ? parents.get(iteratorIndividual + 1) : parents.get(iteratorIndividual - 1);
+            // 调用具体的交叉方法，得到两个子代个体并添加到population中
+            Individual[] result = crossover(parent1, parent2);
+            population.getIndividuals().add(result[0]);
+            population.getIndividuals().add(result[1]);
+            // 如果生成的子代个体数量达到要求的数量，停止
+            if (population.size() >= arity) break;
+        }
+        // 截断Population，确保其大小不超过arity
+        population.truncate(arity);
+        return population;
+    }
+
+    /**
+     * 对一组父代个体进行交叉操作，结果写入已分配的子代群体中，不分配新的个体。
+     * @param parents   父代个体列表
+     * @param offspring 子代群体，其大小决定生成的子代数量
+     */
+    @Override
+    public void crossover(List<Individual> parents, Population offspring) {
+        int arity = offspring.size();
+        int offspringIndex = 0;
+        Individual parent1, parent2, result2;
+        // 与crossover(List, int)相同的配对方式，每次生成两个子代个体
+        for (int iteratorIndividual = 0; offspringIndex < arity; iteratorIndividual++) {
+            parent1 = parents.get(iteratorIndividual);
+            parent2 = iteratorIndividual % 2 == 0 ? parents.get(iteratorIndividual + 1) : parents.get(iteratorIndividual - 1);
+            // 当子代数量为奇数时，最后一个交叉结果只保留第一个子代
+            result2 = offspringIndex + 1 < arity ? offspring.getIndividual(offspringIndex + 1) : null;
+            crossover(parent1, parent2, offspring.getIndividual(offspringIndex), result2);
+            offspringIndex += 2;
+        }
+    }
+
+    // 实现Crossover接口的方法，对两个父代个体进行交叉操作
+    @Override
+    public Individual[] crossover(Individual individual1, Individual individual2) {
+        // 复制两个父代个体，不能修改原始个体
+        Individual result1 = individual1.copy();
+        Individual result2 = individual2.copy();
+        crossover(individual1, individual2, result1, result2);
+        return new Individual[]{result1, result2};
+    }
+
+    /**
+     * 对两个父代个体进行交叉操作，结果写入已分配的个体中。
+     * @param individual1 父代个体1
+     * @param individual2 父代个体2
+     * @param result1     子代个体1
+     * @param result2     子代个体2，可以为null
+     */
+    @Override
+    public void crossover(Individual individual1, Individual individual2, Individual result1, Individual result2) {
+        // 子代从对应的父代复制基因，子代个体不能与父代个体是同一个对象
+        result1.copyFrom(individual1);
+        if (result2 != null) {
+            result2.copyFrom(individual2);
+        }
+        // 根据概率来确定是否进行交叉
+        if (random.nextDouble() <= probability) {
+            recombine(individual1, individual2, result1, result2);
+        }
+    }
+
+    /**
+     * 交换两个子代的一部分基因。调用时子代已经分别复制了对应的父代。
+     * @param individual1 父代个体1
+     * @param individual2 父代个体2
+     * @param result1     子代个体1，从父代个体2继承交换的基因
+     * @param result2     子代个体2，从父代个体1继承交换的基因，可以为null
+     */
+    protected abstract void recombine(Individual individual1, Individual individual2, Individual result1,
+                                      Individual result2);
+
+    /**
+     * 交换一个基因，只有不同的基因会更新子代的缓存值。
+     */
+    protected static void swapGene(int[] solution1, int[] solution2, Individual result1, Individual result2, int gene) {
+        result1.setGene(gene, solution2[gene]);
+        if (result2 != null) {
+            result2.setGene(gene, solution1[gene]);
+        }
+    }
+}
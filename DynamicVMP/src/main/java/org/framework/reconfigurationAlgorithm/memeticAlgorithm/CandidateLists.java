@@ -0,0 +1,196 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * 每台虚拟机的候选物理机列表，限制基因的取值范围。
+ * <p>
+ *     候选列表在每次重配置开始时根据当前放置计算一次：虚拟机当前所在的物理机，加上按预留资源能够容纳它、
+ *     且放入后剩余资源（按容量归一化后求和）最少的k台物理机（最佳适应）。能够容纳虚拟机的物理机由
+ *     {@link FreeCapacityIndex}枚举，空闲量不足的子树被整体跳过。
+ *     初始化和变异只从候选列表中取值，修复优先把虚拟机移到候选物理机上，找不到时再查找所有物理机，
+ *     因此候选列表是软约束，修复和局部搜索仍然可以使用其他物理机。
+ *     列表以压缩行格式保存：虚拟机vm的候选物理机ID为pmIds[offsets[vm]..offsets[vm+1])。
+ * </p>
+ */
+public class CandidateLists {
+    private final int[] offsets;//每台虚拟机的候选列表在pmIds中的起始位置，长度为虚拟机数量加1
+    private final int[] pmIds;//所有虚拟机的候选物理机ID
+
+    private CandidateLists(int[] offsets, int[] pmIds) {
+        this.offsets = offsets;
+        this.pmIds = pmIds;
+    }
+
+    /**
+     * 根据设置计算候选列表，候选列表大小不大于0时返回null。
+     * @param settings Memetic算法的设置
+     * @param snapshot 问题数据的快照，虚拟机的原始位置为当前放置
+     * @return 候选列表或null
+     */
+    public static CandidateLists forSettings(MASettings settings, PlacementSnapshot snapshot) {
+        Integer size = settings.getCandidateListSize();
+        return size == null || size <= 0 ? null : build(snapshot, size);
+    }
+
+    /**
+     * 计算候选列表。
+     * @param snapshot 问题数据的快照，虚拟机的原始位置为当前放置
+     * @param k        每台虚拟机除当前物理机之外的候选物理机数量
+     * @return 候选列表
+     */
+    public static CandidateLists build(PlacementSnapshot snapshot, int k) {
+        int numberOfVMs = snapshot.getNumberOfVMs();
+        int numberOfPMs = snapshot.getNumberOfPMs();
+        int numberOfResources = snapshot.getNumberOfResources();
+        // 当前放置的资源利用和预留资源，按资源主序展开，尚未分配的虚拟机不占用资源
+        float[] utilization = new float[numberOfResources * numberOfPMs];
+        float[] reserved = new float[numberOfResources * numberOfPMs];
+        for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+            int pmId = snapshot.getOriginalPM(iteratorVM);
+            if (pmId >= 1 && pmId <= numberOfPMs) {
+                for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                    utilization[iteratorResource * numberOfPMs + pmId - 1] += snapshot.getVMLoad(iteratorVM, iteratorResource);
+                    reserved[iteratorResource * numberOfPMs + pmId - 1] += snapshot.getVMReservation(iteratorVM, iteratorResource);
+                }
+            }
+        }
+        FreeCapacityIndex index = new FreeCapacityIndex(numberOfPMs, numberOfResources);
+        index.build(utilization, snapshot);
+
+        int limit = Math.min(k, numberOfPMs);
+        int[] offsets = new int[numberOfVMs + 1];
+        int[] pmIds = new int[numberOfVMs * (limit + 1)];
+        // 最佳的k台物理机保存在按剩余资源排列的大顶堆中，堆顶为目前最差的候选
+        int[] heapPMs = new int[limit];
+        double[] heapResiduals = new double[limit];
+        float[] need = new float[numberOfResources];
+        int size = 0;
+        for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+            offsets[iteratorVM] = size;
+            int host = snapshot.getOriginalPM(iteratorVM);
+            boolean hasHost = host >= 1 && host <= numberOfPMs;
+            if (hasHost) {
+                pmIds[size++] = host;
+            }
+            for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                need[iteratorResource] = snapshot.getVMReservation(iteratorVM, iteratorResource);
+            }
+            int heapSize = 0;
+            for (int candidate = index.findFirst(0, need); candidate >= 0; candidate = index.findNext(candidate, 0, need)) {
+                if (candidate == host - 1) {
+                    continue;
+                }
+                double residual = residual(reserved, snapshot, candidate, need);
+                if (residual < 0) {
+                    continue;
+                }
+                if (heapSize < limit) {
+                    heapPMs[heapSize] = candidate + 1;
+                    heapResiduals[heapSize] = residual;
+                    siftUp(heapPMs, heapResiduals, heapSize++);
+                } else if (limit > 0 && residual < heapResiduals[0]) {
+                    heapPMs[0] = candidate + 1;
+                    heapResiduals[0] = residual;
+                    siftDown(heapPMs, heapResiduals, heapSize);
+                }
+            }
+            // 没有任何候选的虚拟机（未分配且放不下）的列表为空，可以取任意物理机
+            System.arraycopy(heapPMs, 0, pmIds, size, heapSize);
+            size += heapSize;
+        }
+        offsets[numberOfVMs] = size;
+        int[] compact = new int[size];
+        System.arraycopy(pmIds, 0, compact, 0, size);
+        return new CandidateLists(offsets, compact);
+    }
+
+    /**
+     * 把虚拟机放入物理机后按容量归一化的剩余预留资源之和，任何资源放不下时为负数。
+     */
+    private static double residual(float[] reserved, PlacementSnapshot snapshot, int pmIndex, float[] need) {
+        int numberOfPMs = snapshot.getNumberOfPMs();
+        double residual = 0D;
+        for (int iteratorResource = 0; iteratorResource < need.length; iteratorResource++) {
+            float capacity = snapshot.getPMCapacity(pmIndex, iteratorResource);
+            float left = capacity - reserved[iteratorResource * numberOfPMs + pmIndex] - need[iteratorResource];
+            if (left < 0) {
+                return -1D;
+            }
+            residual += left / capacity;
+        }
+        return residual;
+    }
+
+    private static void siftUp(int[] pms, double[] residuals, int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (residuals[parent] >= residuals[position]) {
+                return;
+            }
+            swap(pms, residuals, parent, position);
+            position = parent;
+        }
+    }
+
+    private static void siftDown(int[] pms, double[] residuals, int size) {
+        int position = 0;
+        while (true) {
+            int largest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && residuals[left] > residuals[largest]) {
+                largest = left;
+            }
+            if (right < size && residuals[right] > residuals[largest]) {
+                largest = right;
+            }
+            if (largest == position) {
+                return;
+            }
+            swap(pms, residuals, position, largest);
+            position = largest;
+        }
+    }
+
+    private static void swap(int[] pms, double[] residuals, int index1, int index2) {
+        int pm = pms[index1];
+        pms[index1] = pms[index2];
+        pms[index2] = pm;
+        double residual = residuals[index1];
+        residuals[index1] = residuals[index2];
+        residuals[index2] = residual;
+    }
+
+    //获取虚拟机的候选物理机数量，为0时虚拟机可以取任意物理机
+    public int size(int vmIndex) {
+        return offsets[vmIndex + 1] - offsets[vmIndex];
+    }
+
+    //获取虚拟机的第position个候选物理机ID
+    public int get(int vmIndex, int position) {
+        return pmIds[offsets[vmIndex] + position];
+    }
+
+    /**
+     * 从虚拟机的候选列表中随机选择一台物理机。
+     * @param vmIndex     虚拟机的索引
+     * @param numberOfPMs 物理机的数量，候选列表为空时从所有物理机中选择
+     * @param random      随机数生成器
+     * @return 物理机ID
+     */
+    public int random(int vmIndex, int numberOfPMs, Random random) {
+        int size = size(vmIndex);
+        return size == 0 ? 1 + random.nextInt(numberOfPMs) : pmIds[offsets[vmIndex] + random.nextInt(size)];
+    }
+
+    //物理机是否在虚拟机的候选列表中
+    public boolean contains(int vmIndex, int pmId) {
+        for (int position = offsets[vmIndex]; position < offsets[vmIndex + 1]; position++) {
+            if (pmIds[position] == pmId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -7,5 +7,7 @@ import java.util.List;
 public interface Crossover {
     Population crossover(List<Individual> parents, int arity);//对父代个体群体进行交叉操作返回子代群体
     Individual[] crossover(Individual individual1, Individual individual2);//对两个父代个体进行交叉操作返回一个自带个体
+    void crossover(List<Individual> parents, Population offspring);//对父代个体群体进行交叉操作，结果写入已分配的子代群体中
+    void crossover(Individual individual1, Individual individual2, Individual result1, Individual result2);//对两个父代个体进行交叉操作，结果写入已分配的两个个体中
 }
 
@@ -9,26 +9,73 @@ import org.framework.Utils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 public class EvaluationByScalarizationMethod implements FitnessEvaluation {
-    public EvaluationByScalarizationMethod() {
+    private final ForkJoinPool pool;//并行评估使用的线程池，为null时串行评估
+    private final PlacementSnapshot snapshot;//问题数据的快照，为null时每次都完整计算目标函数
+    private final String scalarizationMethod;//计算适应度的标量化方法
+
+    /**
+     * 构造函数
+     * @param scalarizationMethod 计算适应度的标量化方法
+     */
+    public EvaluationByScalarizationMethod(String scalarizationMethod) {
+        this(scalarizationMethod, null, null);
+    }
+
+    /**
+     * 构造函数
+     * @param scalarizationMethod 计算适应度的标量化方法
+     * @param pool                并行评估使用的线程池，为null时串行评估
+     */
+    public EvaluationByScalarizationMethod(String scalarizationMethod, ForkJoinPool pool) {
+        this(scalarizationMethod, pool, null);
+    }
+
+    /**
+     * 构造函数
+     * @param scalarizationMethod 计算适应度的标量化方法
+     * @param pool                并行评估使用的线程池，为null时串行评估
+     * @param snapshot            问题数据的快照，不为null时个体的目标函数在基因改变时增量更新
+     */
+    public EvaluationByScalarizationMethod(String scalarizationMethod, ForkJoinPool pool, PlacementSnapshot snapshot) {
         super();
+        this.scalarizationMethod = scalarizationMethod;
+        this.pool = pool;
+        this.snapshot = snapshot;
     }
     //评估整个种群的适应度，基于Scalarization Method
     @Override
     public void evaluate(Population population, List<VirtualMachine> virtualMachineList, List<VirtualMachine> derivedVMs, List<PhysicalMachine> physicalMachineList, List<APrioriValue> aPrioriValuesList, int numberOfResources, int numberOfObjFunctions) {
 
-        // 辅助列表用于获取个体信息和计算目标函数
-        List<VirtualMachine> individualVMsList = VirtualMachine.cloneVMsList(virtualMachineList);
-        List<PhysicalMachine> individualPMsList = PhysicalMachine.clonePMsList(physicalMachineList);
-        List<VirtualMachine> individualDerivedVMs = VirtualMachine.cloneVMsList(derivedVMs);
-        //遍历每个个体
-        for (Individual individual : population.getIndividuals()) {
-            individualVMsList = individual.convertToVMList(individualVMsList);
-            individualPMsList = individual.convertToPMList(individualPMsList, numberOfResources);
-            // 载入目标函数和适应度
-            loadObjectiveFunctions(individual, individualVMsList, virtualMachineList, individualDerivedVMs, individualPMsList, numberOfResources);
-            loadFitness(individual, aPrioriValuesList, numberOfObjFunctions);
-        }
+        List<Individual> individuals = population.getIndividuals();
+        // 每个工作线程处理一块个体，并使用各自的辅助列表
+        PopulationWorkers.forEachChunk(pool, individuals.size(), (from, to) -> {
+            // 辅助列表用于获取个体信息和计算目标函数，只在需要完整计算时创建
+            List<VirtualMachine> individualVMsList = null;
+            List<PhysicalMachine> individualPMsList = null;
+            List<VirtualMachine> individualDerivedVMs = null;
+            //遍历块中的每个个体
+            for (int iteratorIndividual = from; iteratorIndividual < to; iteratorIndividual++) {
+                Individual individual = individuals.get(iteratorIndividual);
+                if (individual.isTracked()) {
+                    // 目标函数已在基因改变时增量更新
+                    individual.loadTrackedObjectives();
+                    loadFitness(individual, aPrioriValuesList, numberOfObjFunctions);
+                    continue;
+                }
+                if (individualVMsList == null) {
+                    individualVMsList = VirtualMachine.cloneVMsList(virtualMachineList);
+                    individualPMsList = PhysicalMachine.clonePMsList(physicalMachineList);
+                    individualDerivedVMs = VirtualMachine.cloneVMsList(derivedVMs);
+                }
+                individualVMsList = individual.convertToVMList(individualVMsList);
+                individualPMsList = individual.convertToPMList(individualPMsList, numberOfResources);
+                // 载入目标函数和适应度
+                loadObjectiveFunctions(individual, individualVMsList, virtualMachineList, individualDerivedVMs, individualPMsList, numberOfResources);
+                loadFitness(individual, aPrioriValuesList, numberOfObjFunctions);
+            }
+        });
 
     }
     //载入目标函数的值
@@ -44,12 +91,13 @@ public class EvaluationByScalarizationMethod implements FitnessEvaluation {
         powerConsumption = ObjectivesFunctions.powerConsumption(physicalMachineList);
         wastedResources = ObjectivesFunctions.wastedResources(physicalMachineList, null);
         Utils.updateDerivedVMs(virtualMachineList, derivedVMs);
-        economicalRevenue = ObjectivesFunctions.economicalRevenue(virtualMachineList, derivedVMs, null);
+        economicalRevenue = ObjectivesFunctions.economicalRevenue(virtualMachineList, derivedVMs);
         //将目标函数值设置到individual对象中
-        individual.getObjectiveFunctions()[0] = powerConsumption;
-        individual.getObjectiveFunctions()[1] = economicalRevenue;
-        individual.getObjectiveFunctions()[2] = wastedResources;
-        individual.getObjectiveFunctions()[3] = memoryMigrated;
+        double[] objectiveFunctions = individual.getObjectiveFunctions();
+        objectiveFunctions[0] = powerConsumption;
+        objectiveFunctions[1] = economicalRevenue;
+        objectiveFunctions[2] = wastedResources;
+        objectiveFunctions[3] = memoryMigrated;
 
     }
     //载入适应度值
@@ -63,34 +111,48 @@ public class EvaluationByScalarizationMethod implements FitnessEvaluation {
         //标准化目标函数的值
         for (iteratorObjFunctions = 0; iteratorObjFunctions < numberOfObjFunctions; iteratorObjFunctions++) {
             aPrioriValue = aPrioriValuesList.get(iteratorObjFunctions);
-            normalizedValue = Utils.normalizeValue(individual.getObjectiveFunctions()[iteratorObjFunctions], aPrioriValue.getMinValue(), aPrioriValue.getMaxValue());
+            normalizedValue = Utils.normalizeValue((float) individual.getObjectiveFunctions()[iteratorObjFunctions], aPrioriValue.getMinValue(), aPrioriValue.getMaxValue());
             normalizedOjbFunctions.add(iteratorObjFunctions, normalizedValue);
         }
         // 通过Scalarization Method计算适应度
-        Float distance = ObjectivesFunctions.getScalarizationMethod(normalizedOjbFunctions, Constant.WEIGHT_OFFLINE);
+        Float distance = ObjectivesFunctions.getScalarizationMethod(normalizedOjbFunctions, Constant.WEIGHT_OFFLINE,
+                scalarizationMethod);
         individual.setFitness(distance);
     }
     //载入资源利用率
     @Override
     public void loadUtilization(Population population, List<VirtualMachine> virtualMachineList, int numberOfResources) {
-        int iteratorSolution;
-        int iteratorResource;
-        int physicalMachineId;
-        VirtualMachine vm;
-        //遍历种群中的每个个体
-        for (Individual individual : population.getIndividuals()) {
-            //遍历个体的每个解
-            for (iteratorSolution = 0; iteratorSolution < individual.getSize(); iteratorSolution++) {
-                physicalMachineId = individual.getSolution()[iteratorSolution];
-                if (physicalMachineId != 0) {
-                    vm = virtualMachineList.get(iteratorSolution);
-                    //更新资源利用率
-                    for (iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
-                        individual.getUtilization()[physicalMachineId - 1][iteratorResource] += vm.getResources().get(iteratorResource) * (vm.getUtilization().get(iteratorResource) / 100);
+        List<Individual> individuals = population.getIndividuals();
+        //遍历种群中的每个个体，各个个体的利用率互不影响，可以并行计算
+        PopulationWorkers.forEachChunk(pool, individuals.size(), (from, to) -> {
+            int iteratorSolution;
+            int iteratorResource;
+            int physicalMachineId;
+            VirtualMachine vm;
+            for (int iteratorIndividual = from; iteratorIndividual < to; iteratorIndividual++) {
+                Individual individual = individuals.get(iteratorIndividual);
+                if (snapshot != null) {
+                    // 增量计算状态的个体的资源利用始终与基因一致，其余个体根据快照完整计算一次
+                    if (!individual.isTracked()) {
+                        individual.track(snapshot);
+                    }
+                    continue;
+                }
+                // 个体的缓冲区会在各代之间复用，先清零再累加
+                individual.resetUtilization();
+                //遍历个体的每个解
+                for (iteratorSolution = 0; iteratorSolution < individual.getSize(); iteratorSolution++) {
+                    physicalMachineId = individual.getSolution()[iteratorSolution];
+                    if (physicalMachineId != 0) {
+                        vm = virtualMachineList.get(iteratorSolution);
+                        //更新资源利用率
+                        for (iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                            individual.addUtilization(physicalMachineId - 1, iteratorResource, vm.getResources().get(iteratorResource) * (vm.getUtilization().get(iteratorResource) / 100));
+                        }
                     }
                 }
             }
-        }
+        });
     }
 
 }
\ No newline at end of file
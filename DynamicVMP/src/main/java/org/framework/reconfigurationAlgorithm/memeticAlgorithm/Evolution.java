@@ -1,14 +1,43 @@
 package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
 
-import org.framework.comparator.DistanceComparator;
-
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
+/**
+ * 选择下一代种群。
+ * <p>
+ *     所有策略都在预先取出的适应度数组上原地操作：用快速选择把最好的个体划分到P中，
+ *     只对P中靠前的若干个体完全排序，代价为O(|P|+|Q|)加上有序部分的排序代价，不需要对整个P∪Q排序。
+ *     可选的策略见{@link #PLUS}、{@link #ELITIST}、{@link #CROWDING}和{@link #PARETO}。
+ * </p>
+ */
 public class Evolution {
 
+    /**
+     * (μ+λ)：从P∪Q中选出最好的|P|个个体，默认的策略
+     */
+    public static final String PLUS = "PLUS";
+
+    /**
+     * 保留精英的(μ,λ)：保留P中最好的{@link MASettings#getSurvivorElite()}个个体，其余位置由Q中最好的个体填充
+     */
+    public static final String ELITIST = "ELITIST";
+
+    /**
+     * 限制锦标赛的拥挤选择：每个子代与P中随机抽取的{@link MASettings#getCrowdingWindow()}个个体中
+     * 基因最相似的个体比较，更好时替换它，以保持种群的多样性
+     */
+    public static final String CROWDING = "CROWDING";
+
+    /**
+     * Pareto模式：按非支配前沿和拥挤距离从P∪Q中选择（NSGA-II），非支配个体保存在{@link ParetoArchive}中
+     */
+    public static final String PARETO = "PARETO";
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
     private Evolution() {
 
     }
@@ -20,17 +49,277 @@ public class Evolution {
      * @return New Generation of Population
      */
     public static Population getNextGeneration(Population populationP, Population populationQ) {
-
-        List<Individual> individualsPQ = new ArrayList<>();
-        individualsPQ.addAll(populationP.getIndividuals());
-        individualsPQ.addAll(populationQ.getIndividuals());
-        Comparator<Individual> distanceComparator = new DistanceComparator(Boolean.FALSE);
-
-        Collections.sort(individualsPQ,distanceComparator);
+        int sizeP = populationP.size();
+        int size = sizeP + populationQ.size();
+        Individual[] individualsPQ = new Individual[size];
+        double[] keys = new double[size];
+        fill(populationP, individualsPQ, keys, 0);
+        fill(populationQ, individualsPQ, keys, sizeP);
+        selectSmallest(individualsPQ, keys, 0, size, sizeP);
+        sort(individualsPQ, keys, 0, sizeP - 1);
 
         Population population = new Population();
-        population.setIndividuals(individualsPQ);
-        population.truncate(populationP.size());
+        population.setIndividuals(new ArrayList<>(Arrays.asList(individualsPQ).subList(0, sizeP)));
         return population;
     }
+
+    /**
+     * 在不分配新种群的情况下得到下一代种群，P中的个体按适应度完全排序。
+     * @param populationP Population P，保存下一代种群
+     * @param populationQ Population Q，保存被淘汰的个体
+     * @param workspace   大小为|P|+|Q|的辅助数组
+     */
+    public static void nextGeneration(Population populationP, Population populationQ, Individual[] workspace) {
+        nextGeneration(populationP, populationQ, workspace, new double[workspace.length], PLUS, 0, 0,
+                populationP.size(), null);
+    }
+
+    /**
+     * 在不分配新种群的情况下按设置中的策略得到下一代种群。
+     * @param populationP    Population P，保存下一代种群
+     * @param populationQ    Population Q，保存被淘汰的个体，作为下一代子代的缓冲区复用
+     * @param workspace      大小为|P|+|Q|的辅助数组
+     * @param keys           大小为|P|+|Q|的适应度辅助数组
+     * @param settings       Memetic算法的设置，决定选择的策略
+     * @param orderedPrefix  P中需要按适应度完全排序的个体数量，例如参与局部搜索和迁出的个体
+     * @param random         拥挤选择抽取个体使用的随机数生成器
+     */
+    public static void nextGeneration(Population populationP, Population populationQ, Individual[] workspace,
+                                      double[] keys, MASettings settings, int orderedPrefix, Random random) {
+        String strategy = settings.getSurvivorSelection() == null ? PLUS : settings.getSurvivorSelection();
+        int survivorElite = settings.getSurvivorElite() == null ? 1 : settings.getSurvivorElite();
+        int crowdingWindow = settings.getCrowdingWindow() == null ? 0 : settings.getCrowdingWindow();
+        nextGeneration(populationP, populationQ, workspace, keys, strategy, survivorElite, crowdingWindow,
+                orderedPrefix, random);
+    }
+
+    private static void nextGeneration(Population populationP, Population populationQ, Individual[] workspace,
+                                       double[] keys, String strategy, int survivorElite, int crowdingWindow,
+                                       int orderedPrefix, Random random) {
+        int sizeP = populationP.size();
+        int sizeQ = populationQ.size();
+        int size = sizeP + sizeQ;
+        fill(populationP, workspace, keys, 0);
+        fill(populationQ, workspace, keys, sizeP);
+        switch (strategy) {
+            case PLUS:
+                selectSmallest(workspace, keys, 0, size, sizeP);
+                break;
+            case ELITIST:
+                int elite = Math.max(0, Math.min(survivorElite, sizeP));
+                int offspring = Math.min(sizeP - elite, sizeQ);
+                // P中最好的精英留在开头，其余的父代移到末尾，子代紧跟在精英之后
+                selectSmallest(workspace, keys, 0, sizeP, elite);
+                rotate(workspace, keys, elite, sizeP, size);
+                selectSmallest(workspace, keys, elite, elite + sizeQ, offspring);
+                // 子代不足时由剩余父代中最好的个体补足
+                selectSmallest(workspace, keys, elite + offspring, size, sizeP - elite - offspring);
+                break;
+            case CROWDING:
+                crowding(workspace, keys, sizeP, sizeQ, crowdingWindow, random);
+                break;
+            case PARETO:
+                NonDominatedSorting.rank(workspace, size);
+                for (int iterator = 0; iterator < size; iterator++) {
+                    keys[iterator] = crowdedKey(workspace[iterator]);
+                }
+                selectSmallest(workspace, keys, 0, size, sizeP);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown survivor selection: " + strategy);
+        }
+        int ordered = Math.min(orderedPrefix, sizeP);
+        selectSmallest(workspace, keys, 0, sizeP, ordered);
+        sort(workspace, keys, 0, ordered - 1);
+        List<Individual> individualsP = populationP.getIndividuals();
+        List<Individual> individualsQ = populationQ.getIndividuals();
+        for (int iterator = 0; iterator < sizeP; iterator++) {
+            individualsP.set(iterator, workspace[iterator]);
+        }
+        for (int iterator = 0; iterator < sizeQ; iterator++) {
+            individualsQ.set(iterator, workspace[sizeP + iterator]);
+        }
+    }
+
+    /**
+     * 把前沿和拥挤距离合并为一个越小越好的值：前沿相同时拥挤距离越大越好，值位于(rank, rank+1]中。
+     * @param individual 已经计算了前沿和拥挤距离的个体
+     * @return 排序用的值
+     */
+    static double crowdedKey(Individual individual) {
+        return individual.getRank() + 1D / (1D + individual.getCrowdingDistance());
+    }
+
+    /**
+     * 限制锦标赛的拥挤选择。子代与P中随机抽取的个体中汉明距离最小的个体比较，更好时交换二者的位置，
+     * 被替换的个体留在Q中。
+     */
+    private static void crowding(Individual[] workspace, double[] keys, int sizeP, int sizeQ, int window,
+                                 Random random) {
+        if (window <= 0 || sizeP == 0) {
+            selectSmallest(workspace, keys, 0, sizeP + sizeQ, sizeP);
+            return;
+        }
+        for (int iteratorOffspring = sizeP; iteratorOffspring < sizeP + sizeQ; iteratorOffspring++) {
+            int[] genes = workspace[iteratorOffspring].getSolution();
+            int closest = -1;
+            int closestDistance = Integer.MAX_VALUE;
+            for (int iteratorWindow = 0; iteratorWindow < window; iteratorWindow++) {
+                int candidate = random.nextInt(sizeP);
+                int distance = hammingDistance(genes, workspace[candidate].getSolution(), closestDistance);
+                if (distance < closestDistance) {
+                    closest = candidate;
+                    closestDistance = distance;
+                }
+            }
+            if (keys[iteratorOffspring] < keys[closest]) {
+                swap(workspace, keys, iteratorOffspring, closest);
+            }
+        }
+    }
+
+    /**
+     * 计算两个解的汉明距离，距离达到上限时提前结束。
+     */
+    private static int hammingDistance(int[] solution1, int[] solution2, int limit) {
+        int distance = 0;
+        for (int iterator = 0; iterator < solution1.length && distance < limit; iterator++) {
+            if (solution1[iterator] != solution2[iterator]) {
+                distance++;
+            }
+        }
+        return distance;
+    }
+
+    private static void fill(Population population, Individual[] workspace, double[] keys, int offset) {
+        List<Individual> individuals = population.getIndividuals();
+        double fitness;
+        for (int iterator = 0; iterator < individuals.size(); iterator++) {
+            workspace[offset + iterator] = individuals.get(iterator);
+            fitness = individuals.get(iterator).getFitness();
+            // NaN排在最后，使比较满足全序
+            keys[offset + iterator] = Double.isNaN(fitness) ? Double.POSITIVE_INFINITY : fitness;
+        }
+    }
+
+    /**
+     * 快速选择：重排[from, to)中的个体，使适应度最小的count个个体位于[from, from+count)，不保证它们之间的顺序。
+     */
+    static void selectSmallest(Individual[] items, double[] keys, int from, int to, int count) {
+        if (count <= 0 || count >= to - from) {
+            return;
+        }
+        int low = from;
+        int high = to - 1;
+        int target = from + count - 1;
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            double pivot = medianOfThree(items, keys, low, high);
+            int left = low;
+            int right = high;
+            while (left <= right) {
+                while (keys[left] < pivot) {
+                    left++;
+                }
+                while (keys[right] > pivot) {
+                    right--;
+                }
+                if (left <= right) {
+                    swap(items, keys, left++, right--);
+                }
+            }
+            // [low, right]不大于基准，[left, high]不小于基准，二者之间的元素等于基准
+            if (target <= right) {
+                high = right;
+            } else if (target >= left) {
+                low = left;
+            } else {
+                return;
+            }
+        }
+        insertionSort(items, keys, low, high);
+    }
+
+    /**
+     * 按适应度对[low, high]中的个体排序。
+     */
+    static void sort(Individual[] items, double[] keys, int low, int high) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            double pivot = medianOfThree(items, keys, low, high);
+            int left = low;
+            int right = high;
+            while (left <= right) {
+                while (keys[left] < pivot) {
+                    left++;
+                }
+                while (keys[right] > pivot) {
+                    right--;
+                }
+                if (left <= right) {
+                    swap(items, keys, left++, right--);
+                }
+            }
+            // 递归处理较短的一侧，较长的一侧继续循环，栈深度为O(log n)
+            if (right - low < high - left) {
+                sort(items, keys, low, right);
+                low = left;
+            } else {
+                sort(items, keys, left, high);
+                high = right;
+            }
+        }
+        insertionSort(items, keys, low, high);
+    }
+
+    private static double medianOfThree(Individual[] items, double[] keys, int low, int high) {
+        int middle = (low + high) >>> 1;
+        if (keys[middle] < keys[low]) {
+            swap(items, keys, middle, low);
+        }
+        if (keys[high] < keys[low]) {
+            swap(items, keys, high, low);
+        }
+        if (keys[high] < keys[middle]) {
+            swap(items, keys, high, middle);
+        }
+        return keys[middle];
+    }
+
+    private static void insertionSort(Individual[] items, double[] keys, int low, int high) {
+        for (int iterator = low + 1; iterator <= high; iterator++) {
+            Individual item = items[iterator];
+            double key = keys[iterator];
+            int position = iterator - 1;
+            while (position >= low && keys[position] > key) {
+                items[position + 1] = items[position];
+                keys[position + 1] = keys[position];
+                position--;
+            }
+            items[position + 1] = item;
+            keys[position + 1] = key;
+        }
+    }
+
+    /**
+     * 把[from, middle)移到[from, to)的末尾，[middle, to)移到开头。
+     */
+    private static void rotate(Individual[] items, double[] keys, int from, int middle, int to) {
+        reverse(items, keys, from, middle - 1);
+        reverse(items, keys, middle, to - 1);
+        reverse(items, keys, from, to - 1);
+    }
+
+    private static void reverse(Individual[] items, double[] keys, int low, int high) {
+        while (low < high) {
+            swap(items, keys, low++, high--);
+        }
+    }
+
+    private static void swap(Individual[] items, double[] keys, int index1, int index2) {
+        Individual item = items[index1];
+        items[index1] = items[index2];
+        items[index2] = item;
+        double key = keys[index1];
+        keys[index1] = keys[index2];
+        keys[index2] = key;
+    }
 }
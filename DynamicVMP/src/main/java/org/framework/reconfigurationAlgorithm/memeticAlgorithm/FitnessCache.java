@@ -0,0 +1,147 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.framework.DynamicVMP;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 已修复并评估的个体的有界缓存，按基因的Zobrist哈希值（{@link Individual#getHash()}）查找，按LRU策略淘汰。
+ * <p>
+ *     子代在修复之前查找缓存：命中时直接复制缓存的修复和评估结果，跳过修复和评估。
+ *     每个结果以修复前和修复后的基因分别保存，因此与父代相同的子代（没有交叉也没有变异）也会命中。
+ *     命中时还会比较完整的基因，哈希冲突不会返回错误的结果。
+ *     一个缓存只能由一个线程使用，岛屿模型中每个岛屿有自己的缓存。
+ * </p>
+ */
+public class FitnessCache {
+    private final int capacity;//缓存的最大条目数量
+    private final LinkedHashMap<Long, Entry> entries;//按访问顺序排列的条目
+    private long lookups;//查找次数
+    private long hits;//命中次数
+
+    /**
+     * 构造函数
+     * @param capacity 缓存的最大条目数量
+     */
+    public FitnessCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new LinkedHashMap<>(16, 0.75F, true);
+    }
+
+    /**
+     * 根据设置创建缓存，缓存大小不大于0时返回null。
+     * @param settings Memetic算法的设置
+     * @return 缓存或null
+     */
+    public static FitnessCache forSettings(MASettings settings) {
+        Integer size = settings.getFitnessCacheSize();
+        return size == null || size <= 0 ? null : new FitnessCache(size);
+    }
+
+    /**
+     * 查找与个体基因相同的结果，命中时把结果复制到个体中。
+     * @param individual 处于增量计算状态的个体
+     * @return 是否命中
+     */
+    public boolean lookup(Individual individual) {
+        if (!individual.isTracked()) {
+            return false;
+        }
+        lookups++;
+        Entry entry = entries.get(individual.getHash());
+        if (entry == null || !Arrays.equals(entry.key, individual.getSolution())) {
+            return false;
+        }
+        hits++;
+        individual.copyFrom(entry.result);
+        return true;
+    }
+
+    /**
+     * 保存一个已修复并评估的个体。
+     * @param keyHash    查找时使用的基因的哈希值，例如修复前的基因
+     * @param keyGenes   查找时使用的基因
+     * @param individual 修复并评估后的个体
+     */
+    public void store(long keyHash, int[] keyGenes, Individual individual) {
+        if (!individual.isTracked()) {
+            return;
+        }
+        Entry entry = entries.get(keyHash);
+        if (entry == null) {
+            // 缓存已满时淘汰最久没有使用的条目，复用它的数组
+            if (entries.size() >= capacity) {
+                Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+                entry = eldest.next().getValue();
+                eldest.remove();
+            } else {
+                entry = new Entry(keyGenes.length, individual.copy());
+            }
+            entries.put(keyHash, entry);
+        }
+        System.arraycopy(keyGenes, 0, entry.key, 0, keyGenes.length);
+        entry.result.copyFrom(individual);
+    }
+
+    /**
+     * 以个体自身的基因保存个体，用于已经修复并评估的个体，例如初始种群和局部改进后的个体。
+     * @param individual 修复并评估后的个体
+     */
+    public void store(Individual individual) {
+        store(individual.getHash(), individual.getSolution(), individual);
+    }
+
+    //获取查找次数
+    public long getLookups() {
+        return lookups;
+    }
+
+    //获取命中次数
+    public long getHits() {
+        return hits;
+    }
+
+    //获取命中率
+    public double getHitRate() {
+        return lookups == 0 ? 0D : (double) hits / lookups;
+    }
+
+    /**
+     * 汇总一次搜索中所有岛屿的缓存命中率并记录到日志，没有使用缓存时不记录。
+     * @param islands 搜索使用的岛屿
+     */
+    static void logHitRate(List<Island> islands) {
+        long lookups = 0;
+        long hits = 0;
+        for (Island island : islands) {
+            FitnessCache cache = island.getFitnessCache();
+            if (cache != null) {
+                lookups += cache.getLookups();
+                hits += cache.getHits();
+            }
+        }
+        if (lookups > 0) {
+            Logger.getLogger(DynamicVMP.DYNAMIC_VMP).log(Level.INFO, String.format(
+                    "Fitness cache: %d hits / %d lookups (%.1f%%)", hits, lookups, 100D * hits / lookups));
+        }
+    }
+
+    /**
+     * 缓存中的一个条目。
+     */
+    private static final class Entry {
+        private final int[] key;//查找时使用的基因
+        private final Individual result;//修复并评估后的个体
+
+        Entry(int numberOfVMs, Individual result) {
+            this.key = new int[numberOfVMs];
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * 物理机空闲资源的索引，用于在修复时查找可以容纳虚拟机的物理机。
+ * <p>
+ *     索引是一棵线段树，每个节点保存子树中每种资源的最大空闲量（容量减去已使用的资源）。
+ *     查找时从起始物理机开始循环地寻找第一台所有资源都足够的物理机，
+ *     空闲量不足的子树会被整体跳过。物理机的索引从0开始。
+ * </p>
+ */
+public class FreeCapacityIndex {
+    private final int numberOfPMs;//物理机的数量
+    private final int numberOfResources;//资源的数量
+    private final int leaves;//叶子节点的数量，不小于物理机数量的2的幂
+    private final float[] maxFree;//每个节点每种资源的最大空闲量：maxFree[resource * 2 * leaves + node]
+
+    /**
+     * 构造函数
+     * @param numberOfPMs       物理机的数量
+     * @param numberOfResources 资源的数量
+     */
+    public FreeCapacityIndex(int numberOfPMs, int numberOfResources) {
+        int size = 1;
+        while (size < numberOfPMs) {
+            size <<= 1;
+        }
+        this.numberOfPMs = numberOfPMs;
+        this.numberOfResources = numberOfResources;
+        this.leaves = size;
+        this.maxFree = new float[numberOfResources * 2 * size];
+    }
+
+    /**
+     * 根据个体的资源利用重建索引
+     * @param individual 个体
+     * @param snapshot   问题数据的快照
+     */
+    public void build(Individual individual, PlacementSnapshot snapshot) {
+        build(individual.getUtilization(), snapshot);
+    }
+
+    /**
+     * 根据资源利用重建索引
+     * @param utilization 按资源主序展开的物理机资源利用：utilization[resource * numberOfPMs + pm]
+     * @param snapshot    问题数据的快照
+     */
+    public void build(float[] utilization, PlacementSnapshot snapshot) {
+        // 不存在的物理机的空闲量为负无穷，永远不会被选中
+        Arrays.fill(maxFree, Float.NEGATIVE_INFINITY);
+        for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+            int offset = iteratorResource * 2 * leaves;
+            for (int iteratorPM = 0; iteratorPM < numberOfPMs; iteratorPM++) {
+                maxFree[offset + leaves + iteratorPM] = snapshot.getPMCapacity(iteratorPM, iteratorResource)
+                        - utilization[iteratorResource * numberOfPMs + iteratorPM];
+            }
+            for (int node = leaves - 1; node >= 1; node--) {
+                maxFree[offset + node] = Math.max(maxFree[offset + 2 * node], maxFree[offset + 2 * node + 1]);
+            }
+        }
+    }
+
+    /**
+     * 在物理机的资源利用改变后更新索引
+     * @param individual 个体
+     * @param snapshot   问题数据的快照
+     * @param pmIndex    物理机的索引
+     */
+    public void update(Individual individual, PlacementSnapshot snapshot, int pmIndex) {
+        for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+            int offset = iteratorResource * 2 * leaves;
+            int node = leaves + pmIndex;
+            maxFree[offset + node] = snapshot.getPMCapacity(pmIndex, iteratorResource)
+                    - individual.getUtilization(pmIndex, iteratorResource);
+            for (node >>= 1; node >= 1; node >>= 1) {
+                maxFree[offset + node] = Math.max(maxFree[offset + 2 * node], maxFree[offset + 2 * node + 1]);
+            }
+        }
+    }
+
+    /**
+     * 从起始物理机开始循环地查找第一台空闲资源都大于需求的物理机。
+     * @param start 起始物理机的索引
+     * @param need  每种资源的需求
+     * @return 物理机的索引，没有满足条件的物理机时返回-1
+     */
+    public int findFirst(int start, float[] need) {
+        int found = find(1, 0, leaves, start, numberOfPMs, need);
+        if (found < 0 && start > 0) {
+            found = find(1, 0, leaves, 0, start, need);
+        }
+        return found;
+    }
+
+    /**
+     * 从指定物理机之后循环地查找下一台满足条件的物理机，用于跳过被其他约束拒绝的物理机。
+     * @param previous 上一次找到的物理机的索引
+     * @param start    最初的起始物理机的索引
+     * @param need     每种资源的需求
+     * @return 物理机的索引，已经回到起始物理机时返回-1
+     */
+    public int findNext(int previous, int start, float[] need) {
+        int found;
+        if (previous >= start) {
+            found = find(1, 0, leaves, previous + 1, numberOfPMs, need);
+            if (found < 0 && start > 0) {
+                found = find(1, 0, leaves, 0, start, need);
+            }
+        } else {
+            found = find(1, 0, leaves, previous + 1, start, need);
+        }
+        return found;
+    }
+
+    private int find(int node, int nodeFrom, int nodeTo, int from, int to, float[] need) {
+        if (nodeTo <= from || to <= nodeFrom || !fits(node, need)) {
+            return -1;
+        }
+        if (nodeTo - nodeFrom == 1) {
+            return nodeFrom;
+        }
+        int middle = (nodeFrom + nodeTo) >>> 1;
+        int found = find(2 * node, nodeFrom, middle, from, to, need);
+        if (found < 0) {
+            found = find(2 * node + 1, middle, nodeTo, from, to, need);
+        }
+        return found;
+    }
+
+    private boolean fits(int node, float[] need) {
+        for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+            if (maxFree[iteratorResource * 2 * leaves + node] <= need[iteratorResource]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,224 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.APrioriValue;
+import org.domain.PhysicalMachine;
+import org.domain.Placement;
+import org.domain.VirtualMachine;
+import org.framework.Constraints;
+import org.framework.Utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 部分重配置的子问题：过载和负载不足的物理机（热点）及其邻域上的虚拟机放置。
+ * <p>
+ *     热点为至少运行一台虚拟机、且{@link Constraints#isPMOverloaded}或{@link Constraints#isPMUnderloaded}成立的物理机；
+ *     邻域为剩余资源最多的若干台其他工作中物理机，不足时由空闲物理机补足。子问题中的物理机重新编号为1..k，
+ *     只包含这些物理机上的虚拟机，Memetic算法在子问题上搜索，结果再拼接回完整的放置，
+ *     子问题之外的虚拟机不会迁移。
+ * </p>
+ */
+public class HotspotSubproblem {
+    private final Placement fullPlacement;//完整的放置
+    private final Placement placement;//子问题的放置，物理机ID从1开始重新编号
+    private final int[] pmIds;//子问题中的物理机对应的完整放置中的物理机ID，pmIds[子问题ID - 1]
+    private final Map<Integer, Integer> subIds;//完整放置中的物理机ID到子问题中物理机ID的映射
+    private final Set<Long> vmKeys;//子问题中的虚拟机
+
+    private HotspotSubproblem(Placement fullPlacement, List<PhysicalMachine> selected) {
+        this.fullPlacement = fullPlacement;
+        this.pmIds = new int[selected.size()];
+        this.subIds = new HashMap<>(selected.size() * 2);
+        List<PhysicalMachine> physicalMachines = new ArrayList<>(selected.size());
+        PhysicalMachine pm;
+        for (int iteratorPM = 0; iteratorPM < selected.size(); iteratorPM++) {
+            pm = selected.get(iteratorPM);
+            pmIds[iteratorPM] = pm.getId();
+            subIds.put(pm.getId(), iteratorPM + 1);
+            physicalMachines.add(new PhysicalMachine(iteratorPM + 1, pm.getPowerMax(), pm.getResources(),
+                    pm.getResourcesRequested(), pm.getUtilization()));
+        }
+        this.vmKeys = new HashSet<>();
+        List<VirtualMachine> virtualMachines = new ArrayList<>();
+        Integer subId;
+        for (VirtualMachine vm : VirtualMachine.cloneVMsList(fullPlacement.getVirtualMachineList())) {
+            subId = subIds.get(vm.getPhysicalMachine());
+            if (subId != null) {
+                vm.setPhysicalMachine(subId);
+                virtualMachines.add(vm);
+                vmKeys.add(Initialization.vmKey(vm));
+            }
+        }
+        // 衍生虚拟机只影响经济收益，在子问题中保持不变
+        this.placement = new Placement(physicalMachines, virtualMachines,
+                VirtualMachine.cloneVMsList(fullPlacement.getDerivedVMs()));
+    }
+
+    /**
+     * 从完整的放置中选出子问题。
+     * @param fullPlacement 完整的放置
+     * @param neighborhood  热点之外加入子问题的物理机数量
+     * @return 子问题，没有热点时物理机和虚拟机都为空
+     */
+    public static HotspotSubproblem select(Placement fullPlacement, int neighborhood) {
+        // 根据虚拟机重新计算物理机的资源利用，不依赖放置中物理机利用率的单位
+        List<PhysicalMachine> physicalMachines = new ArrayList<>(fullPlacement.getPhysicalMachines().size());
+        Map<Integer, PhysicalMachine> byId = new HashMap<>();
+        List<Float> zeros;
+        for (PhysicalMachine pm : fullPlacement.getPhysicalMachines()) {
+            zeros = new ArrayList<>(pm.getResources().size());
+            for (int iteratorResource = 0; iteratorResource < pm.getResources().size(); iteratorResource++) {
+                zeros.add(0F);
+            }
+            PhysicalMachine load = new PhysicalMachine(pm.getId(), pm.getPowerMax(), pm.getResources(), zeros, zeros);
+            physicalMachines.add(load);
+            byId.put(load.getId(), load);
+        }
+        Set<Integer> working = new HashSet<>();
+        for (VirtualMachine vm : fullPlacement.getVirtualMachineList()) {
+            PhysicalMachine pm = byId.get(vm.getPhysicalMachine());
+            if (pm != null) {
+                pm.updatePMResources(vm, Utils.SUM);
+                working.add(pm.getId());
+            }
+        }
+        List<PhysicalMachine> selected = new ArrayList<>();
+        List<PhysicalMachine> workingNeighbors = new ArrayList<>();
+        List<PhysicalMachine> idleNeighbors = new ArrayList<>();
+        for (PhysicalMachine pm : physicalMachines) {
+            if (!working.contains(pm.getId())) {
+                idleNeighbors.add(pm);
+            } else if (Constraints.isPMOverloaded(pm) || Constraints.isPMUnderloaded(pm)) {
+                selected.add(pm);
+            } else {
+                workingNeighbors.add(pm);
+            }
+        }
+        if (selected.isEmpty()) {
+            return new HotspotSubproblem(fullPlacement, selected);
+        }
+        // 邻域优先选择最紧张的资源利用率最低的工作中物理机
+        workingNeighbors.sort(Comparator.comparingDouble(HotspotSubproblem::maxUtilization));
+        int remaining = Math.max(0, neighborhood);
+        for (int iterator = 0; iterator < workingNeighbors.size() && remaining > 0; iterator++, remaining--) {
+            selected.add(workingNeighbors.get(iterator));
+        }
+        for (int iterator = 0; iterator < idleNeighbors.size() && remaining > 0; iterator++, remaining--) {
+            selected.add(idleNeighbors.get(iterator));
+        }
+        // 保持物理机在完整放置中的顺序
+        selected.sort(Comparator.comparingInt(PhysicalMachine::getId));
+        return new HotspotSubproblem(fullPlacement, selected);
+    }
+
+    //物理机各资源利用率中的最大值
+    private static double maxUtilization(PhysicalMachine pm) {
+        double max = 0D;
+        for (Float utilization : pm.getUtilization()) {
+            max = Math.max(max, utilization);
+        }
+        return max;
+    }
+
+    //子问题是否为空，即没有热点
+    public boolean isEmpty() {
+        return placement.getVirtualMachineList().isEmpty();
+    }
+
+    //获取子问题的放置
+    public Placement getPlacement() {
+        return placement;
+    }
+
+    //获取子问题中的物理机数量
+    public int getNumberOfPMs() {
+        return pmIds.length;
+    }
+
+    /**
+     * 把上一次重配置结果中的物理机ID转换为子问题中的ID，用于热启动；位于子问题之外的虚拟机不出现在结果中。
+     * @param previousPlacement 每台虚拟机在完整放置中的物理机ID，可以为null
+     * @return 每台虚拟机在子问题中的物理机ID，参数为null时返回null
+     */
+    public Map<Long, Integer> toSubproblem(Map<Long, Integer> previousPlacement) {
+        if (previousPlacement == null) {
+            return null;
+        }
+        Map<Long, Integer> translated = new HashMap<>(vmKeys.size() * 2);
+        Integer subId;
+        for (Long vmKey : vmKeys) {
+            Integer pmId = previousPlacement.get(vmKey);
+            subId = pmId == null ? null : subIds.get(pmId);
+            if (subId != null) {
+                translated.put(vmKey, subId);
+            }
+        }
+        return translated;
+    }
+
+    /**
+     * 把子问题的放置拼接回完整的放置：子问题中的虚拟机使用新的位置，子问题中的物理机根据虚拟机重新计算资源，
+     * 其余虚拟机和物理机保持不变。
+     * @param subPlacement     子问题的放置，例如Memetic算法的结果
+     * @param aPrioriValueList 先验值列表，用于计算完整放置的分数
+     * @param scalarizationMethod 计算放置分数的标量化方法
+     * @return 完整的放置
+     */
+    public Placement splice(Placement subPlacement, List<APrioriValue> aPrioriValueList, String scalarizationMethod) {
+        Map<Long, Integer> subResult = Initialization.placementByVM(subPlacement.getVirtualMachineList());
+        List<VirtualMachine> virtualMachines = VirtualMachine.cloneVMsList(fullPlacement.getVirtualMachineList());
+        Long vmKey;
+        Integer subId;
+        for (VirtualMachine vm : virtualMachines) {
+            vmKey = Initialization.vmKey(vm);
+            if (vmKeys.contains(vmKey)) {
+                // 子问题的结果中没有的虚拟机已经成为衍生虚拟机
+                subId = subResult.get(vmKey);
+                vm.setPhysicalMachine(subId == null || subId == 0 ? 0 : pmIds[subId - 1]);
+            }
+        }
+        List<VirtualMachine> derivedVMs = VirtualMachine.cloneVMsList(fullPlacement.getDerivedVMs());
+        Utils.updateDerivedVMs(virtualMachines, derivedVMs);
+        List<PhysicalMachine> physicalMachines = PhysicalMachine.clonePMsList(fullPlacement.getPhysicalMachines());
+        Map<Integer, PhysicalMachine> touched = new HashMap<>(pmIds.length * 2);
+        for (PhysicalMachine pm : physicalMachines) {
+            if (subIds.containsKey(pm.getId())) {
+                for (int iteratorResource = 0; iteratorResource < pm.getResources().size(); iteratorResource++) {
+                    pm.getResourcesRequested().set(iteratorResource, 0F);
+                    pm.getUtilization().set(iteratorResource, 0F);
+                }
+                touched.put(pm.getId(), pm);
+            }
+        }
+        PhysicalMachine pm;
+        for (VirtualMachine vm : virtualMachines) {
+            pm = touched.get(vm.getPhysicalMachine());
+            if (pm != null) {
+                pm.updatePMResources(vm, Utils.SUM);
+            }
+        }
+        Placement splicedPlacement = new Placement(physicalMachines, virtualMachines, derivedVMs);
+        splicedPlacement.updatePlacementScore(aPrioriValueList, scalarizationMethod);
+        return splicedPlacement;
+    }
+
+    /**
+     * 没有热点时的结果：完整放置的副本。
+     * @param aPrioriValueList 先验值列表，用于计算放置的分数
+     * @param scalarizationMethod 计算放置分数的标量化方法
+     * @return 完整放置的副本
+     */
+    public Placement unchanged(List<APrioriValue> aPrioriValueList, String scalarizationMethod) {
+        Placement copy = new Placement(PhysicalMachine.clonePMsList(fullPlacement.getPhysicalMachines()),
+                VirtualMachine.cloneVMsList(fullPlacement.getVirtualMachineList()),
+                VirtualMachine.cloneVMsList(fullPlacement.getDerivedVMs()));
+        copy.updatePlacementScore(aPrioriValueList, scalarizationMethod);
+        return copy;
+    }
+}
@@ -0,0 +1,163 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.framework.RandomSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 基于个体资源利用矩阵的修复操作：过载物理机（{@link org.framework.Constraints#checkPMOverloaded}）上的虚拟机
+ * 从随机的物理机开始循环地移动到第一台可以容纳它的物理机（{@link org.framework.Constraints#checkResources}）。
+ * <p>
+ *     个体在增量计算状态下维护每台物理机上的预留资源，因此检查物理机是否过载只需要O(R)，
+ *     不需要过滤虚拟机列表；目标物理机通过{@link FreeCapacityIndex}查找，不需要逐个遍历物理机列表。
+ *     修复整个种群的代价为O(种群大小 × (虚拟机数量 + 物理机数量) × 资源数量)。
+ * </p>
+ */
+public class IndexedReparation {
+    private IndexedReparation() {
+    }
+
+    /**
+     * 对种群中的个体进行修复操作，可以在线程池上并行执行。
+     * 每个个体的随机种子由指定的随机数生成器按个体顺序预先生成，修复结果与线程数量无关。
+     * @param population 待修复的种群
+     * @param snapshot   问题数据的快照
+     * @param faultTolerance 是否考虑容错约束
+     * @param pool       线程池，为null时串行修复
+     * @param random     生成随机种子的随机数生成器
+     * @return 修复后的种群
+     */
+    public static Population repairPopulation(Population population, PlacementSnapshot snapshot, boolean faultTolerance,
+                                              ForkJoinPool pool, Random random) {
+        List<Individual> individuals = population.getIndividuals();
+        // 按个体顺序预先生成随机种子
+        long[] seeds = new long[individuals.size()];
+        for (int iteratorIndividual = 0; iteratorIndividual < seeds.length; iteratorIndividual++) {
+            seeds[iteratorIndividual] = random.nextLong();
+        }
+        // 每个工作线程使用各自的空闲资源索引和云服务计数
+        PopulationWorkers.forEachChunk(pool, individuals.size(), (from, to) -> {
+            FreeCapacityIndex index = new FreeCapacityIndex(snapshot.getNumberOfPMs(), snapshot.getNumberOfResources());
+            Map<Long, Integer> servicesByPM = faultTolerance ? new HashMap<>() : null;
+            for (int iteratorIndividual = from; iteratorIndividual < to; iteratorIndividual++) {
+                checkAndRepair(individuals.get(iteratorIndividual), snapshot, index, servicesByPM,
+                        new RandomSource(seeds[iteratorIndividual]));
+            }
+        });
+        return population;
+    }
+
+    /**
+     * 检查并修复个体，将过载物理机上的虚拟机移动到可以容纳它的物理机上。
+     * @param individual   待修复的个体
+     * @param snapshot     问题数据的快照
+     * @param index        空闲资源索引，会根据个体重建
+     * @param servicesByPM 每台物理机上每个云服务的虚拟机数量，不考虑容错时为null
+     * @param random       选择起始物理机使用的随机数生成器
+     */
+    public static void checkAndRepair(Individual individual, PlacementSnapshot snapshot, FreeCapacityIndex index,
+                                      Map<Long, Integer> servicesByPM, Random random) {
+        if (!individual.isTracked()) {
+            individual.track(snapshot);
+        }
+        int numberOfPMs = snapshot.getNumberOfPMs();
+        int numberOfResources = snapshot.getNumberOfResources();
+        int[] solution = individual.getSolution();
+        float[] need = new float[numberOfResources];
+        index.build(individual, snapshot);
+        if (servicesByPM != null) {
+            servicesByPM.clear();
+            for (int iteratorVM = 0; iteratorVM < solution.length; iteratorVM++) {
+                servicesByPM.merge(serviceKey(snapshot.getCloudService(iteratorVM), solution[iteratorVM]), 1, Integer::sum);
+            }
+        }
+        int pmId;
+        int start;
+        int candidate;
+        for (int iteratorVM = 0; iteratorVM < solution.length; iteratorVM++) {
+            pmId = solution[iteratorVM];
+            if (pmId == 0 || !isOverloaded(individual, snapshot, pmId - 1)) {
+                continue;
+            }
+            for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                need[iteratorResource] = snapshot.getVMReservation(iteratorVM, iteratorResource);
+            }
+            // 优先使用虚拟机的候选物理机，没有可用的候选时从随机的物理机开始循环查找，跳过违反容错约束的物理机
+            candidate = findCandidate(individual, snapshot, iteratorVM, pmId, need, servicesByPM, random);
+            if (candidate < 0) {
+                start = random.nextInt(numberOfPMs);
+                candidate = index.findFirst(start, need);
+                while (candidate >= 0 && servicesByPM != null
+                        && servicesByPM.getOrDefault(serviceKey(snapshot.getCloudService(iteratorVM), candidate + 1), 0) > 0) {
+                    candidate = index.findNext(candidate, start, need);
+                }
+            }
+            if (candidate < 0) {
+                continue;
+            }
+            individual.setGene(iteratorVM, candidate + 1);
+            index.update(individual, snapshot, pmId - 1);
+            index.update(individual, snapshot, candidate);
+            if (servicesByPM != null) {
+                servicesByPM.merge(serviceKey(snapshot.getCloudService(iteratorVM), pmId), -1, Integer::sum);
+                servicesByPM.merge(serviceKey(snapshot.getCloudService(iteratorVM), candidate + 1), 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * 从随机位置开始循环查找虚拟机的候选物理机中第一台可以容纳它的物理机，判断规则与{@link FreeCapacityIndex}相同。
+     * @return 物理机的索引，没有候选列表或没有可用的候选时返回-1
+     */
+    private static int findCandidate(Individual individual, PlacementSnapshot snapshot, int vmIndex, int pmId,
+                                     float[] need, Map<Long, Integer> servicesByPM, Random random) {
+        CandidateLists candidates = snapshot.getCandidates();
+        int size = candidates == null ? 0 : candidates.size(vmIndex);
+        if (size == 0) {
+            return -1;
+        }
+        int start = random.nextInt(size);
+        for (int iterator = 0; iterator < size; iterator++) {
+            int candidate = candidates.get(vmIndex, (start + iterator) % size);
+            if (candidate == pmId || (servicesByPM != null
+                    && servicesByPM.getOrDefault(serviceKey(snapshot.getCloudService(vmIndex), candidate), 0) > 0)) {
+                continue;
+            }
+            if (fits(individual, snapshot, candidate - 1, need)) {
+                return candidate - 1;
+            }
+        }
+        return -1;
+    }
+
+    //物理机的空闲资源是否都大于需求
+    private static boolean fits(Individual individual, PlacementSnapshot snapshot, int pmIndex, float[] need) {
+        for (int iteratorResource = 0; iteratorResource < need.length; iteratorResource++) {
+            if (snapshot.getPMCapacity(pmIndex, iteratorResource) - individual.getUtilization(pmIndex, iteratorResource)
+                    <= need[iteratorResource]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 检查物理机是否过载，即预留的资源是否超过容量，与Constraints.checkPMOverloaded的规则相同。
+     */
+    private static boolean isOverloaded(Individual individual, PlacementSnapshot snapshot, int pmIndex) {
+        for (int iteratorResource = 0; iteratorResource < snapshot.getNumberOfResources(); iteratorResource++) {
+            if (individual.getReserved(pmIndex, iteratorResource) > snapshot.getPMCapacity(pmIndex, iteratorResource)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long serviceKey(int cloudService, int pmId) {
+        return ((long) cloudService << 32) | (pmId & 0xFFFFFFFFL);
+    }
+}
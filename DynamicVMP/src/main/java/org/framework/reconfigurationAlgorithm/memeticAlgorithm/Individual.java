@@ -2,16 +2,28 @@ package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
 
 import org.domain.PhysicalMachine;
 import org.domain.VirtualMachine;
-import org.framework.Utils;
 
 import java.util.Arrays;
 import java.util.List;
 //个体类
 public class Individual {
-    private Integer[] solution;//虚拟机分配给物理机的解决方案
-    private Float[][] utilization;//每台物理机上的资源利用
-    private Float[] objectiveFunctions;//各个目标函数的值
-    private Float fitness;//适应度值
+    private int[] solution;//虚拟机分配给物理机的解决方案
+    private float[] utilization;//每台物理机上的资源利用，按资源主序展开：utilization[resource * numberOfPMs + pm]
+    private float[] reserved;//每台物理机上预留的资源，布局与utilization相同，只在增量计算状态下维护
+    private int numberOfPMs;//物理机的数量
+    private int numberOfResources;//资源的数量
+    private double[] objectiveFunctions;//各个目标函数的值
+    private double fitness;//适应度值
+    private PlacementSnapshot snapshot;//问题数据的快照，为null时不进行增量计算
+    private boolean tracked;//资源利用和目标函数的缓存值是否与解决方案一致
+    private double powerConsumption;//缓存的总功耗
+    private double wastedResources;//缓存的工作中物理机浪费资源之和
+    private int workingPMs;//缓存的工作中物理机数量
+    private long hash;//基因的Zobrist哈希值，只在增量计算状态下有效
+    private final double[] totals = new double[3];//计算内核返回的功耗、浪费资源之和和工作中物理机数量
+    private final MigrationLedger migrations = new MigrationLedger();//缓存的物理机对之间的迁移内存
+    private int rank;//Pareto模式下个体所在的非支配前沿，0为最好的前沿
+    private double crowdingDistance;//Pareto模式下个体在其前沿中的拥挤距离
 
     public Individual() {
     }
@@ -23,87 +35,330 @@ public class Individual {
      * @param numberOfRes 资源的数量。
      */
     public Individual(Integer numberOfObjFuncts, Integer numberOfVMs, Integer numberOfPMs, Integer numberOfRes) {
-        this.solution = new Integer[numberOfVMs];
-        this.utilization = new Float[numberOfPMs][numberOfRes];
-        this.objectiveFunctions = new Float[numberOfObjFuncts];
-        this.utilization = new Float[numberOfPMs][numberOfRes];
-        Utils.initializeMatrix(utilization, numberOfPMs, numberOfRes);
-        this.fitness = 0F;
+        this.solution = new int[numberOfVMs];
+        this.numberOfPMs = numberOfPMs;
+        this.numberOfResources = numberOfRes;
+        this.utilization = new float[numberOfPMs * numberOfRes];
+        this.reserved = new float[numberOfPMs * numberOfRes];
+        this.objectiveFunctions = new double[numberOfObjFuncts];
+        this.fitness = 0D;
     }
     //受保护的构造函数，用于复制个体
     protected Individual(Individual individual) {
-        Integer numberOfVMs = individual.getSolution().length;
-        Integer numberOfObjFuncts = individual.getObjectiveFunctions().length;
-        Integer numberOfPMs = individual.getUtilization().length;
-        Integer numberOfRes = individual.getUtilization()[0].length;
-        this.solution = new Integer[numberOfVMs];
-        this.objectiveFunctions = new Float[numberOfObjFuncts];
-        this.utilization = new Float[numberOfPMs][numberOfRes];
-        Utils.initializeMatrix(utilization, numberOfPMs, numberOfRes);
-        this.solution = Arrays.copyOf(individual.getSolution(), numberOfVMs);
+        this(individual.getObjectiveFunctions().length, individual.getSize(), individual.getNumberOfPMs(),
+                individual.getNumberOfResources());
+        this.copyFrom(individual);
     }
     //返回适应度值
     public double getFitness() {
         return fitness;
     }
     //设置适应度值
-    public void setFitness(Float fitness) {
+    public void setFitness(double fitness) {
         this.fitness = fitness;
     }
+    //获取个体所在的非支配前沿
+    public int getRank() {
+        return rank;
+    }
+    //设置个体所在的非支配前沿
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+    //获取个体的拥挤距离
+    public double getCrowdingDistance() {
+        return crowdingDistance;
+    }
+    //设置个体的拥挤距离
+    public void setCrowdingDistance(double crowdingDistance) {
+        this.crowdingDistance = crowdingDistance;
+    }
     //获取解决方案
-    public Integer[] getSolution() {
+    public int[] getSolution() {
         return solution;
     }
     //设置解决方案
-    public void setSolution(Integer[] solution) {
+    public void setSolution(int[] solution) {
         this.solution = solution;
     }
-    //获取资源利用值
-    public Float[][] getUtilization() {
+    //获取资源利用值（按资源主序展开的矩阵）
+    public float[] getUtilization() {
         return utilization;
     }
     //设置资源利用值
-    public void setUtilization(Float[][] utilization) {
+    public void setUtilization(float[] utilization) {
         this.utilization = utilization;
     }
+    //获取物理机的资源利用值，pmIndex从0开始
+    public float getUtilization(int pmIndex, int resource) {
+        return utilization[resource * numberOfPMs + pmIndex];
+    }
+    //设置物理机的资源利用值，pmIndex从0开始
+    public void setUtilization(int pmIndex, int resource, float value) {
+        utilization[resource * numberOfPMs + pmIndex] = value;
+    }
+    //增加物理机的资源利用值，pmIndex从0开始
+    public void addUtilization(int pmIndex, int resource, float delta) {
+        utilization[resource * numberOfPMs + pmIndex] += delta;
+    }
+    //获取物理机上预留的资源，pmIndex从0开始，只在增量计算状态下有效
+    public float getReserved(int pmIndex, int resource) {
+        return reserved[resource * numberOfPMs + pmIndex];
+    }
+    //将资源利用值清零
+    public void resetUtilization() {
+        Arrays.fill(utilization, 0F);
+    }
+    //获取物理机的数量
+    public int getNumberOfPMs() {
+        return numberOfPMs;
+    }
+    //获取资源的数量
+    public int getNumberOfResources() {
+        return numberOfResources;
+    }
     //获取目标函数的值
-    public Float[] getObjectiveFunctions() {
+    public double[] getObjectiveFunctions() {
         return objectiveFunctions;
     }
     //设置目标函数的值
-    public void setObjectiveFunctions(Float[] objectiveFunctions) {
+    public void setObjectiveFunctions(double[] objectiveFunctions) {
         this.objectiveFunctions = objectiveFunctions;
     }
     //复制个体
     public Individual copy() {
         return new Individual(this);
     }
+    /**
+     * 将另一个个体的内容复制到当前个体中，复用当前个体已分配的数组。
+     * @param individual 源个体，维度必须与当前个体相同
+     */
+    public void copyFrom(Individual individual) {
+        System.arraycopy(individual.solution, 0, this.solution, 0, this.solution.length);
+        System.arraycopy(individual.utilization, 0, this.utilization, 0, this.utilization.length);
+        System.arraycopy(individual.objectiveFunctions, 0, this.objectiveFunctions, 0, this.objectiveFunctions.length);
+        this.fitness = individual.fitness;
+        this.rank = individual.rank;
+        this.crowdingDistance = individual.crowdingDistance;
+        this.snapshot = individual.snapshot;
+        this.tracked = individual.tracked;
+        if (individual.tracked) {
+            System.arraycopy(individual.reserved, 0, this.reserved, 0, this.reserved.length);
+            this.powerConsumption = individual.powerConsumption;
+            this.wastedResources = individual.wastedResources;
+            this.workingPMs = individual.workingPMs;
+            this.hash = individual.hash;
+            this.migrations.copyFrom(individual.migrations);
+        }
+    }
+    /**
+     * 修改一个基因。个体处于增量计算状态时，同时更新资源利用、预留资源、功耗、浪费资源和迁移内存的缓存值，
+     * 代价只与资源数量有关。
+     * @param vmIndex 虚拟机的索引
+     * @param pmId    新的物理机ID
+     */
+    public void setGene(int vmIndex, int pmId) {
+        int previousPMId = solution[vmIndex];
+        if (previousPMId == pmId) {
+            return;
+        }
+        solution[vmIndex] = pmId;
+        if (!tracked) {
+            return;
+        }
+        // 未分配的虚拟机会改变收益目标函数，需要完整计算
+        if (previousPMId == 0 || pmId == 0) {
+            tracked = false;
+            return;
+        }
+        int previousPM = previousPMId - 1;
+        int newPM = pmId - 1;
+        removePMContribution(previousPM);
+        removePMContribution(newPM);
+        for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+            float load = snapshot.getVMLoad(vmIndex, iteratorResource);
+            float reservation = snapshot.getVMReservation(vmIndex, iteratorResource);
+            utilization[iteratorResource * numberOfPMs + previousPM] -= load;
+            utilization[iteratorResource * numberOfPMs + newPM] += load;
+            reserved[iteratorResource * numberOfPMs + previousPM] -= reservation;
+            reserved[iteratorResource * numberOfPMs + newPM] += reservation;
+        }
+        addPMContribution(previousPM);
+        addPMContribution(newPM);
+        hash ^= zobrist(vmIndex, previousPMId) ^ zobrist(vmIndex, pmId);
+        // 迁移内存只与虚拟机原来的位置和新的位置有关
+        int originalPMId = snapshot.getOriginalPM(vmIndex);
+        float memory = snapshot.getMigratedMemory(vmIndex);
+        if (originalPMId != 0 && previousPMId != originalPMId) {
+            migrations.remove(migrationKey(originalPMId, previousPMId), memory);
+        }
+        if (originalPMId != 0 && pmId != originalPMId) {
+            migrations.add(migrationKey(originalPMId, pmId), memory);
+        }
+    }
+    /**
+     * 根据快照重新计算资源利用和所有缓存值，之后个体进入增量计算状态。
+     * @param snapshot 问题数据的快照
+     */
+    public void track(PlacementSnapshot snapshot) {
+        this.snapshot = snapshot;
+        resetUtilization();
+        Arrays.fill(reserved, 0F);
+        migrations.clear();
+        hash = 0L;
+        int pmId;
+        int originalPMId;
+        boolean allAssigned = true;
+        for (int iteratorVM = 0; iteratorVM < solution.length; iteratorVM++) {
+            pmId = solution[iteratorVM];
+            if (pmId == 0) {
+                allAssigned = false;
+                continue;
+            }
+            originalPMId = snapshot.getOriginalPM(iteratorVM);
+            if (originalPMId != 0 && pmId != originalPMId) {
+                migrations.add(migrationKey(originalPMId, pmId), snapshot.getMigratedMemory(iteratorVM));
+            }
+            hash ^= zobrist(iteratorVM, pmId);
+        }
+        if (!allAssigned) {
+            // 有未分配的虚拟机时逐个累加已分配的虚拟机，个体不进入增量计算状态
+            accumulateAssigned(snapshot.getVMLoads(), utilization);
+            accumulateAssigned(snapshot.getVMReservations(), reserved);
+            tracked = false;
+            return;
+        }
+        PlacementKernels kernels = PlacementKernels.get();
+        kernels.accumulate(solution, solution.length, snapshot.getVMLoads(), utilization, numberOfPMs,
+                numberOfResources);
+        kernels.accumulate(solution, solution.length, snapshot.getVMReservations(), reserved, numberOfPMs,
+                numberOfResources);
+        kernels.reduce(utilization, snapshot.getPMCapacities(), snapshot.getPMPowerMax(), numberOfPMs,
+                numberOfResources, totals);
+        powerConsumption = totals[0];
+        wastedResources = totals[1];
+        workingPMs = (int) totals[2];
+        tracked = true;
+    }
+    /**
+     * 把基因不为0的虚拟机的资源累加到它们所在的物理机上，布局与{@link PlacementKernels#accumulate}相同。
+     * @param vmValues 按资源主序展开的虚拟机资源
+     * @param pmValues 按资源主序展开的物理机资源，累加结果写入其中
+     */
+    private void accumulateAssigned(float[] vmValues, float[] pmValues) {
+        int numberOfVMs = solution.length;
+        for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+            for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+                if (solution[iteratorVM] != 0) {
+                    pmValues[iteratorResource * numberOfPMs + solution[iteratorVM] - 1]
+                            += vmValues[iteratorResource * numberOfVMs + iteratorVM];
+                }
+            }
+        }
+    }
+    /**
+     * 处于增量计算状态的个体根据原来的快照重新计算所有缓存值。多次{@link #setGene}以浮点数加减更新资源利用、
+     * 预留资源、功耗和浪费资源，误差会随着个体在各代之间的复制而累积，重新计算后与{@link #track}的结果相同。
+     * 目标函数需要重新载入。
+     */
+    public void retrack() {
+        if (tracked) {
+            track(snapshot);
+        }
+    }
+    //个体是否处于增量计算状态
+    public boolean isTracked() {
+        return tracked;
+    }
+    //获取基因的Zobrist哈希值，只在增量计算状态下有效，基因相同的个体哈希值相同
+    public long getHash() {
+        return hash;
+    }
+    /**
+     * 一个基因取值的Zobrist键。键由虚拟机索引和物理机ID经过SplitMix64的混合函数得到，
+     * 不需要保存虚拟机数量×物理机数量的随机数表；个体的哈希值是所有基因的键的异或，修改一个基因时可以O(1)更新。
+     * @param vmIndex 虚拟机的索引
+     * @param pmId    物理机ID
+     * @return 基因取值的键
+     */
+    static long zobrist(int vmIndex, int pmId) {
+        long key = (((long) vmIndex << 32) | (pmId & 0xFFFFFFFFL)) + 0x9E3779B97F4A7C15L;
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+    /**
+     * 将缓存值写入目标函数，顺序与完整计算时相同：功耗、经济收益、浪费资源、迁移内存。
+     */
+    public void loadTrackedObjectives() {
+        objectiveFunctions[0] = powerConsumption;
+        objectiveFunctions[1] = snapshot.getRevenue();
+        objectiveFunctions[2] = workingPMs == 0 ? 0D : wastedResources / workingPMs / numberOfResources;
+        objectiveFunctions[3] = migrations.getMaxMemory();
+    }
+    private void addPMContribution(int pmIndex) {
+        powerConsumption += snapshot.powerOf(pmIndex, utilization[pmIndex]);
+        if (isWorking(pmIndex)) {
+            workingPMs++;
+            wastedResources += wastedOf(pmIndex);
+        }
+    }
+    private void removePMContribution(int pmIndex) {
+        powerConsumption -= snapshot.powerOf(pmIndex, utilization[pmIndex]);
+        if (isWorking(pmIndex)) {
+            workingPMs--;
+            wastedResources -= wastedOf(pmIndex);
+        }
+    }
+    private boolean isWorking(int pmIndex) {
+        for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+            if (utilization[iteratorResource * numberOfPMs + pmIndex] > 0.0001) {
+                return true;
+            }
+        }
+        return false;
+    }
+    private double wastedOf(int pmIndex) {
+        double wasted = 0D;
+        float ratio;
+        for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+            ratio = 1 - utilization[iteratorResource * numberOfPMs + pmIndex] / snapshot.getPMCapacity(pmIndex, iteratorResource);
+            if (ratio > 0) {
+                wasted += ratio;
+            }
+        }
+        return wasted;
+    }
+    private int migrationKey(int sourcePMId, int targetPMId) {
+        return (sourcePMId - 1) * numberOfPMs + (targetPMId - 1);
+    }
     //获取个体大小
-    public Integer getSize() {
-        return this.getSolution().length;
+    public int getSize() {
+        return this.solution.length;
     }
     //将个体转换为虚拟机列表
     public List<VirtualMachine> convertToVMList(List<VirtualMachine> virtualMachineList) {
-        Integer iteratorSolution, physicalMachine;
+        int iteratorSolution;
         for (iteratorSolution = 0; iteratorSolution < this.getSize(); iteratorSolution++) {
-            physicalMachine = this.getSolution()[iteratorSolution];
-            virtualMachineList.get(iteratorSolution).setPhysicalMachine(physicalMachine);
+            virtualMachineList.get(iteratorSolution).setPhysicalMachine(this.solution[iteratorSolution]);
         }
         return virtualMachineList;
     }
     //将个体转换为物理机列表
     public List<PhysicalMachine> convertToPMList(List<PhysicalMachine> physicalMachineList, Integer numberOfResources) {
-        Integer iteratorPhysical, iteratorResources;
-        Float utilizationOfResource, utilizationPercentage, resource;
+        int iteratorPhysical, iteratorResources;
+        float utilizationOfResource, utilizationPercentage, resource;
+        PhysicalMachine pm;
         for (iteratorPhysical = 1; iteratorPhysical <= physicalMachineList.size(); iteratorPhysical++) {
+            pm = PhysicalMachine.getById(iteratorPhysical, physicalMachineList);
             for (iteratorResources = 0; iteratorResources < numberOfResources; iteratorResources++) {
-                resource = PhysicalMachine.getById(iteratorPhysical, physicalMachineList).getResources().get(iteratorResources);
-                utilizationOfResource = this.getUtilization()[iteratorPhysical - 1][iteratorResources];
+                resource = pm.getResources().get(iteratorResources);
+                utilizationOfResource = this.getUtilization(iteratorPhysical - 1, iteratorResources);
                 utilizationPercentage = (utilizationOfResource / resource) * 100;
-                PhysicalMachine.getById(iteratorPhysical, physicalMachineList).getResourcesRequested().set(iteratorResources, utilizationOfResource);
-                PhysicalMachine.getById(iteratorPhysical, physicalMachineList).getUtilization().set(iteratorResources, utilizationPercentage);
+                pm.getResourcesRequested().set(iteratorResources, utilizationOfResource);
+                pm.getUtilization().set(iteratorResources, utilizationPercentage);
             }
         }
         return physicalMachineList;
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,25 @@
 package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
 
-import org.framework.Utils;
+import org.domain.VirtualMachine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 //初始化类，负责种群初始化
 public class Initialization {
+    private final Random random;//生成解的位置使用的随机数生成器
+    private final CandidateLists candidates;//每台虚拟机的候选物理机列表，为null时从所有物理机中选择
+    //使用指定随机数生成器的构造函数
+    public Initialization(Random random) {
+        this(random, null);
+    }
+    //使用指定随机数生成器和候选物理机列表的构造函数
+    public Initialization(Random random, CandidateLists candidates) {
+        this.random = random;
+        this.candidates = candidates;
+    }
     /**
      * 初始化Memetic算法的种群。
      * @param numberOfVMs     虚拟机的数量
@@ -17,12 +34,114 @@ public class Initialization {
             Individual individual = new Individual(maSettings.getNumberOfObjFunctions(), numberOfVMs, numberOfPMs, maSettings.getNumberOfResources());
             // 为个体的每个解生成位置
             for (int iteratorSolution = 0; iteratorSolution < numberOfVMs; iteratorSolution++) {
-                individual.getSolution()[iteratorSolution] = generateSolutionPosition(numberOfPMs, false);
+                individual.getSolution()[iteratorSolution] = generateSolutionPosition(iteratorSolution, numberOfPMs);
             }
             population.getIndividuals().add(individual);
         }
         return population;
     }
+    /**
+     * 使用热启动初始化Memetic算法的种群。
+     * <p>
+     *     种群中{@link MASettings#getWarmStartRatio()}比例的个体依次为：当前放置、上一次被接受的重配置结果
+     *     （按虚拟机重新映射到当前的虚拟机顺序），以及二者交替的扰动版本；其余个体随机生成以保持多样性。
+     *     没有上一次的重配置结果时只使用当前放置。
+     * </p>
+     * @param virtualMachineList 虚拟机列表，虚拟机所在的物理机为当前放置
+     * @param numberOfPMs        物理机的数量
+     * @param maSettings         Memetic算法的设置
+     * @return 初始化后的种群
+     */
+    public Population initialize(List<VirtualMachine> virtualMachineList, int numberOfPMs, MASettings maSettings) {
+        int numberOfVMs = virtualMachineList.size();
+        Population population = initialize(numberOfVMs, numberOfPMs, maSettings);
+        Double warmStartRatio = maSettings.getWarmStartRatio();
+        int seeded = warmStartRatio == null ? 0
+                : (int) Math.min(population.size(), Math.round(warmStartRatio * population.size()));
+        if (seeded == 0) {
+            return population;
+        }
+        // 热启动的基础解：当前放置和上一次的重配置结果
+        int[] current = new int[numberOfVMs];
+        int[] previous = maSettings.getPreviousPlacement() == null ? null : new int[numberOfVMs];
+        VirtualMachine vm;
+        for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+            vm = virtualMachineList.get(iteratorVM);
+            current[iteratorVM] = validPosition(iteratorVM, vm.getPhysicalMachine(), numberOfPMs);
+            if (previous != null) {
+                // 上一次重配置之后新到达的虚拟机保持当前的放置
+                Integer pmId = maSettings.getPreviousPlacement().get(vmKey(vm));
+                previous[iteratorVM] = pmId == null ? current[iteratorVM] : validPosition(iteratorVM, pmId, numberOfPMs);
+            }
+        }
+        List<int[]> bases = new ArrayList<>(2);
+        bases.add(current);
+        if (previous != null) {
+            bases.add(previous);
+        }
+        double perturbationRate = maSettings.getPerturbationRate() == null ? 0 : maSettings.getPerturbationRate();
+        int[] solution;
+        int[] base;
+        for (int iteratorIndividual = 0; iteratorIndividual < seeded; iteratorIndividual++) {
+            solution = population.getIndividual(iteratorIndividual).getSolution();
+            base = bases.get(iteratorIndividual % bases.size());
+            System.arraycopy(base, 0, solution, 0, numberOfVMs);
+            // 基础解本身不扰动，之后的个体以给定的概率重新随机每个基因
+            if (iteratorIndividual >= bases.size()) {
+                for (int iteratorSolution = 0; iteratorSolution < numberOfVMs; iteratorSolution++) {
+                    if (random.nextDouble() < perturbationRate) {
+                        solution[iteratorSolution] = generateSolutionPosition(iteratorSolution, numberOfPMs);
+                    }
+                }
+            }
+        }
+        return population;
+    }
+    /**
+     * 记录被接受的重配置结果，作为下一次重配置热启动的基础解。
+     * @param virtualMachineList 重配置结果的虚拟机列表
+     * @return 每台虚拟机所在的物理机ID
+     */
+    public static Map<Long, Integer> placementByVM(List<VirtualMachine> virtualMachineList) {
+        Map<Long, Integer> placement = new HashMap<>(virtualMachineList.size() * 2);
+        for (VirtualMachine vm : virtualMachineList) {
+            placement.put(vmKey(vm), vm.getPhysicalMachine());
+        }
+        return placement;
+    }
+    //虚拟机的键，由云服务ID和虚拟机ID组成
+    static Long vmKey(VirtualMachine vm) {
+        return ((long) vm.getCloudService() << 32) | (vm.getId() & 0xFFFFFFFFL);
+    }
+    //基础解中不合法的物理机ID（例如尚未分配的虚拟机）改为随机位置
+    private int validPosition(int vmIndex, Integer pmId, int numberOfPMs) {
+        return pmId == null || pmId < 1 || pmId > numberOfPMs ? generateSolutionPosition(vmIndex, numberOfPMs) : pmId;
+    }
+    /**
+     * 分配一个种群的缓冲区，个体的基因未初始化，用于在各代之间复用。
+     * @param numberOfVMs     虚拟机的数量
+     * @param numberOfPMs     物理机的数量
+     * @param maSettings      Memetic算法的设置
+     * @return 分配好的种群
+     */
+    public Population allocate(int numberOfVMs, int numberOfPMs, MASettings maSettings) {
+        Population population = new Population();
+        for (int iteratorIndividual = 0; iteratorIndividual < maSettings.getPopulationSize(); iteratorIndividual++) {
+            population.getIndividuals().add(new Individual(maSettings.getNumberOfObjFunctions(), numberOfVMs, numberOfPMs,
+                    maSettings.getNumberOfResources()));
+        }
+        return population;
+    }
+    /**
+     * 为一台虚拟机生成解的位置，有候选物理机列表时从候选列表中选择。
+     * @param vmIndex     虚拟机的索引
+     * @param numberOfPMs 物理机的数量
+     * @return 生成的解的位置
+     */
+    public int generateSolutionPosition(int vmIndex, int numberOfPMs) {
+        return candidates == null ? generateSolutionPosition(numberOfPMs, false)
+                : candidates.random(vmIndex, numberOfPMs, random);
+    }
     /**
      * 生成解的位置。
      * @param maxPossible 最大可能的位置
@@ -32,9 +151,9 @@ public class Initialization {
     public int generateSolutionPosition(int maxPossible, boolean includeZero) {
         //根据条件生成随机位置
         if (includeZero) {
-            return Utils.getRandomInt(0, maxPossible);
+            return random.nextInt(maxPossible + 1);
         } else {
-            return Utils.getRandomInt(1, maxPossible);
+            return 1 + random.nextInt(maxPossible);
         }
     }
 }
@@ -0,0 +1,322 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.APrioriValue;
+import org.domain.PhysicalMachine;
+import org.domain.VirtualMachine;
+import org.framework.comparator.CrowdedComparator;
+import org.framework.comparator.DistanceComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Memetic算法的一个种群及其逐代推进的状态。
+ * <p>
+ *     {@link MoMaVMP#search}使用一个岛屿完成整个搜索；岛屿模型中每个岛屿有自己的算子和随机数序列，
+ *     由{@link IslandModel}在不同线程中推进，并在岛屿之间交换最好的个体。
+ *     一个岛屿对象只能由一个线程使用。
+ * </p>
+ */
+public class Island {
+    private final List<VirtualMachine> virtualMachineList;//虚拟机列表
+    private final List<VirtualMachine> derivedVMs;//派生虚拟机列表
+    private final List<PhysicalMachine> physicalMachineList;//物理机列表
+    private final List<APrioriValue> aPrioriValuesList;//先验值列表
+    private final MASettings settings;//Memetic算法的设置
+    private final PlacementSnapshot snapshot;//问题数据的快照
+    private final ForkJoinPool pool;//评估与修复阶段使用的线程池，为null时串行执行
+    private final Random random;//岛屿的随机数生成器
+    private final ParetoArchive archive;//Pareto模式下的非支配个体存档，为null时不使用Pareto模式
+    private final Selection selectionOperator;
+    private final Crossover crossoverOperator;
+    private final Mutation mutationOperator;
+    private final Initialization initialization;
+    private final FitnessEvaluation fitnessEvaluator;
+    private final FitnessCache fitnessCache;//已评估个体的缓存，为null时不使用缓存
+    private final DistanceComparator comparator = new DistanceComparator(Boolean.FALSE);
+    private Population populationP;//当前种群
+    private Population populationQ;//子代种群的缓冲区
+    private List<Individual> parents;//父代列表，在各代之间复用
+    private Individual[] survivorsWorkspace;//选择下一代时使用的辅助数组
+    private double[] fitnessWorkspace;//选择下一代时使用的适应度辅助数组
+    private int orderedPrefix;//每代结束后需要按适应度排序的个体数量
+    private Population misses;//没有命中缓存、需要修复和评估的子代，在各代之间复用
+    private int[][] missGenes;//未命中的子代修复前的基因
+    private long[] missHashes;//未命中的子代修复前的哈希值
+    private boolean[] missTracked;//未命中的子代修复前是否处于增量计算状态，否则哈希值无效
+    private int generation;//已经完成的迭代次数
+
+    /**
+     * 构造函数
+     * @param virtualMachineList  虚拟机列表
+     * @param derivedVMs          派生虚拟机列表
+     * @param physicalMachineList 物理机列表
+     * @param aPrioriValuesList   先验值列表
+     * @param settings            Memetic算法的设置
+     * @param snapshot            问题数据的快照，可以被多个岛屿共享
+     * @param pool                评估与修复阶段使用的线程池，为null时串行执行
+     * @param random              岛屿的随机数生成器
+     * @param archive             Pareto模式下的非支配个体存档，可以被多个岛屿共享，为null时不使用Pareto模式
+     */
+    public Island(List<VirtualMachine> virtualMachineList, List<VirtualMachine> derivedVMs,
+                  List<PhysicalMachine> physicalMachineList, List<APrioriValue> aPrioriValuesList, MASettings settings,
+                  PlacementSnapshot snapshot, ForkJoinPool pool, Random random, ParetoArchive archive) {
+        this.virtualMachineList = virtualMachineList;
+        this.derivedVMs = derivedVMs;
+        this.physicalMachineList = physicalMachineList;
+        this.aPrioriValuesList = aPrioriValuesList;
+        this.settings = settings;
+        this.snapshot = snapshot;
+        this.pool = pool;
+        this.random = random;
+        this.archive = archive;
+        // 初始化算子，所有算子共用岛屿的随机数生成器；Pareto模式下按前沿和拥挤距离进行锦标赛选择
+        this.selectionOperator = archive == null ? new TournamentSelection(random)
+                : new TournamentSelection(2, new CrowdedComparator(), random);
+        this.crossoverOperator = AbstractCrossover.forSettings(settings, snapshot, random);
+        this.mutationOperator = new UniformMutation(random, snapshot.getCandidates());
+        this.initialization = new Initialization(random, snapshot.getCandidates());
+        this.fitnessEvaluator = new EvaluationByScalarizationMethod(settings.getScalarizationMethod(), pool,
+                snapshot);
+        this.fitnessCache = FitnessCache.forSettings(settings);
+    }
+
+    /**
+     * 初始化、修复并评估初始种群
+     */
+    public void initialize() {
+        // 初始化初始种群，部分个体由当前放置和上一次的重配置结果热启动
+        populationP = initialization.initialize(virtualMachineList, physicalMachineList.size(), settings);
+        // 子代种群、父代列表和选择用的辅助数组只分配一次，在各代之间复用
+        populationQ = initialization.allocate(virtualMachineList.size(), physicalMachineList.size(), settings);
+        parents = new ArrayList<>(populationP.size() + 1);
+        survivorsWorkspace = new Individual[populationP.size() + populationQ.size()];
+        fitnessWorkspace = new double[survivorsWorkspace.length];
+        if (fitnessCache != null) {
+            misses = new Population();
+            missGenes = new int[populationQ.size()][virtualMachineList.size()];
+            missHashes = new long[populationQ.size()];
+            missTracked = new boolean[populationQ.size()];
+        }
+        // 只有参与局部搜索和迁出的个体需要排序
+        orderedPrefix = Math.max(1, Math.max(settings.getLocalSearchElite(),
+                settings.getIslands() > 1 ? settings.getMigrants() : 0));
+        // 加载初始种群的资源利用信息
+        fitnessEvaluator.loadUtilization(populationP, virtualMachineList, settings.getNumberOfResources());
+        // 修复初始种群
+        IndexedReparation.repairPopulation(populationP, snapshot, Boolean.TRUE.equals(settings.getFaultTolerance()),
+                pool, random);
+        // 计算初始种群的适应度值
+        fitnessEvaluator.evaluate(populationP, virtualMachineList, derivedVMs, physicalMachineList, aPrioriValuesList,
+                settings.getNumberOfResources(), settings.getNumberOfObjFunctions());
+        if (fitnessCache != null) {
+            for (Individual individual : populationP.getIndividuals()) {
+                fitnessCache.store(individual);
+            }
+        }
+        if (archive != null) {
+            // 初始种群的前沿和拥挤距离用于第一代的锦标赛选择
+            NonDominatedSorting.rank(populationP.getIndividuals().toArray(survivorsWorkspace), populationP.size());
+            offerToArchive();
+        }
+        generation = 0;
+    }
+
+    /**
+     * 推进一代：选择、交叉、变异、修复、评估、选出下一代种群，并对最好的个体进行局部改进
+     */
+    public void step() {
+        // 选择父代个体
+        selectionOperator.select(populationP, parents, populationP.size());
+        // 交叉操作生成子代种群，结果写入子代缓冲区
+        crossoverOperator.crossover(parents, populationQ);
+        // 变异操作对子代种群进行变异
+        mutationOperator.mutate(populationQ);
+        // 加载子代种群的资源利用信息
+        fitnessEvaluator.loadUtilization(populationQ, virtualMachineList, settings.getNumberOfResources());
+        // 与已评估个体重复的子代直接复制缓存的结果，只修复和评估其余的子代
+        Population offspring = fitnessCache == null ? populationQ : lookupOffspring();
+        // 修复子代种群
+        IndexedReparation.repairPopulation(offspring, snapshot, Boolean.TRUE.equals(settings.getFaultTolerance()),
+                pool, random);
+        if (fitnessCache != null) {
+            // 进入缓存的子代的结果会被之后的子代复制，先消除增量更新的累加误差
+            retrack(offspring);
+        }
+        // 计算子代种群的适应度值
+        fitnessEvaluator.evaluate(offspring, virtualMachineList, derivedVMs, physicalMachineList, aPrioriValuesList,
+                settings.getNumberOfResources(), settings.getNumberOfObjFunctions());
+        if (fitnessCache != null) {
+            storeOffspring();
+        }
+        // 获取下一代种群，被淘汰的个体留在Q中作为下一代的缓冲区
+        Evolution.nextGeneration(populationP, populationQ, survivorsWorkspace, fitnessWorkspace, settings,
+                orderedPrefix, random);
+        // 最好的个体会参与局部搜索和迁出，并作为父代留在种群中，重新计算它们的缓存值和适应度
+        retrackElite(orderedPrefix);
+        // 对最好的个体进行局部改进
+        LocalSearch.localImprovement(populationP, snapshot, fitnessEvaluator, aPrioriValuesList, settings, pool, random);
+        if (fitnessCache != null) {
+            int eliteSize = Math.min(settings.getLocalSearchElite(), populationP.size());
+            retrackElite(eliteSize);
+            for (int iterator = 0; iterator < eliteSize; iterator++) {
+                fitnessCache.store(populationP.getIndividual(iterator));
+            }
+        }
+        // Pareto模式下把第一前沿的个体加入存档
+        if (archive != null) {
+            offerToArchive();
+        }
+        // 更新迭代次数
+        generation += 1;
+    }
+
+    /**
+     * 在缓存中查找每个子代，命中的子代已经得到修复和评估的结果；未命中的子代放入{@link #misses}，
+     * 并记录修复前的基因和哈希值，以便修复后以修复前的基因保存结果。
+     * @return 需要修复和评估的子代
+     */
+    private Population lookupOffspring() {
+        List<Individual> missList = misses.getIndividuals();
+        missList.clear();
+        for (Individual individual : populationQ.getIndividuals()) {
+            if (fitnessCache.lookup(individual)) {
+                continue;
+            }
+            int iteratorMiss = missList.size();
+            System.arraycopy(individual.getSolution(), 0, missGenes[iteratorMiss], 0, individual.getSize());
+            missHashes[iteratorMiss] = individual.getHash();
+            missTracked[iteratorMiss] = individual.isTracked();
+            missList.add(individual);
+        }
+        return misses;
+    }
+
+    //以修复前和修复后的基因保存未命中的子代的结果
+    private void storeOffspring() {
+        List<Individual> missList = misses.getIndividuals();
+        for (int iteratorMiss = 0; iteratorMiss < missList.size(); iteratorMiss++) {
+            Individual individual = missList.get(iteratorMiss);
+            if (missTracked[iteratorMiss] && individual.getHash() != missHashes[iteratorMiss]) {
+                fitnessCache.store(missHashes[iteratorMiss], missGenes[iteratorMiss], individual);
+            }
+            fitnessCache.store(individual);
+        }
+    }
+
+    //重新计算种群中处于增量计算状态的个体的缓存值，之后的评估从缓存值载入目标函数
+    private void retrack(Population population) {
+        List<Individual> individuals = population.getIndividuals();
+        PopulationWorkers.forEachChunk(pool, individuals.size(), (from, to) -> {
+            for (int iteratorIndividual = from; iteratorIndividual < to; iteratorIndividual++) {
+                individuals.get(iteratorIndividual).retrack();
+            }
+        });
+    }
+
+    //重新计算当前种群中靠前的count个个体的缓存值、目标函数和适应度
+    private void retrackElite(int count) {
+        for (int iteratorIndividual = 0; iteratorIndividual < Math.min(count, populationP.size()); iteratorIndividual++) {
+            Individual individual = populationP.getIndividual(iteratorIndividual);
+            if (individual.isTracked()) {
+                individual.retrack();
+                individual.loadTrackedObjectives();
+                fitnessEvaluator.loadFitness(individual, aPrioriValuesList, settings.getNumberOfObjFunctions());
+            }
+        }
+    }
+
+    //获取已评估个体的缓存，没有使用缓存时为null
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
+    //把当前种群中第一前沿的个体加入存档，存档会再次检查支配关系
+    private void offerToArchive() {
+        for (Individual individual : populationP.getIndividuals()) {
+            if (individual.getRank() == 0) {
+                archive.offer(individual);
+            }
+        }
+    }
+
+    //获取已经完成的迭代次数
+    public int getGeneration() {
+        return generation;
+    }
+
+    //获取当前种群
+    public Population getPopulation() {
+        return populationP;
+    }
+
+    /**
+     * 获取当前种群中适应度最好的个体
+     * @return 最好的个体，不复制
+     */
+    public Individual getBest() {
+        Individual best = populationP.getIndividual(0);
+        for (int iteratorIndividual = 1; iteratorIndividual < populationP.size(); iteratorIndividual++) {
+            if (comparator.compare(populationP.getIndividual(iteratorIndividual), best) < 0) {
+                best = populationP.getIndividual(iteratorIndividual);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 复制当前种群中靠前的若干个体，作为迁出的个体。在{@link #step()}之后种群中靠前的迁出个体按适应度排序，
+     * 局部改进只会让靠前的个体变得更好。
+     * @param count 迁出的个体数量
+     * @return 个体的副本
+     */
+    public Individual[] emigrants(int count) {
+        int size = Math.min(count, populationP.size());
+        Individual[] emigrants = new Individual[size];
+        for (int iteratorIndividual = 0; iteratorIndividual < size; iteratorIndividual++) {
+            emigrants[iteratorIndividual] = populationP.getIndividual(iteratorIndividual).copy();
+        }
+        return emigrants;
+    }
+
+    /**
+     * 用迁入的个体替换当前种群中按适应度排序的精英之外最差的个体，复用被替换个体的数组。
+     * 迁入的个体多于精英之外的个体数量时，多出的个体被丢弃。
+     * @param immigrants 迁入的个体
+     */
+    public void immigrate(Individual[] immigrants) {
+        replaceWorst(populationP, orderedPrefix, immigrants, survivorsWorkspace, fitnessWorkspace);
+    }
+
+    /**
+     * 用迁入的个体替换种群中[protectedPrefix, |P|)范围内适应度最差的个体，前protectedPrefix个个体保持不变。
+     * @param population      种群
+     * @param protectedPrefix 不能被替换的靠前个体的数量
+     * @param immigrants      迁入的个体
+     * @param workspace       大小至少为|P|的辅助数组
+     * @param keys            大小至少为|P|的适应度辅助数组
+     */
+    static void replaceWorst(Population population, int protectedPrefix, Individual[] immigrants,
+                             Individual[] workspace, double[] keys) {
+        int size = population.size();
+        int from = Math.min(protectedPrefix, size);
+        int count = Math.min(immigrants.length, size - from);
+        if (count <= 0) {
+            return;
+        }
+        double fitness;
+        for (int iterator = from; iterator < size; iterator++) {
+            workspace[iterator] = population.getIndividual(iterator);
+            fitness = workspace[iterator].getFitness();
+            // NaN视为最差，优先被替换
+            keys[iterator] = Double.isNaN(fitness) ? Double.POSITIVE_INFINITY : fitness;
+        }
+        // 较好的个体移到前面，最差的count个个体位于[size-count, size)
+        Evolution.selectSmallest(workspace, keys, from, size, size - from - count);
+        for (int iterator = 0; iterator < count; iterator++) {
+            workspace[size - count + iterator].copyFrom(immigrants[iterator]);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.APrioriValue;
+import org.domain.PhysicalMachine;
+import org.domain.VirtualMachine;
+import org.framework.RandomSource;
+import org.framework.comparator.DistanceComparator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 岛屿模型的Memetic算法。
+ * <p>
+ *     多个岛屿在各自的线程中同时进化，每个岛屿有自己的算子和随机数序列。
+ *     每隔{@link MASettings#getMigrationInterval()}代，岛屿把最好的个体放入环形拓扑中下一个岛屿的邮箱，
+ *     并取出自己邮箱中的个体替换按适应度排序的精英之外最差的个体。默认情况下邮箱是不加锁的单个槽位，岛屿之间不互相等待，
+ *     较慢的岛屿只会收到最新的一批个体；{@link MASettings#getSeeded()}为真时迁移按轮次同步，
+ *     每个岛屿等待上一个岛屿同一轮的个体，使结果可以完全重复。
+ *     搜索结束后返回所有岛屿中最好的个体。
+ * </p>
+ */
+public class IslandModel {
+
+    private final DistanceComparator comparator = new DistanceComparator(Boolean.FALSE);
+
+    /**
+     * 岛屿模型的搜索过程。
+     * @param virtualMachineList    虚拟机列表
+     * @param derivedVMs           派生虚拟机列表
+     * @param physicalMachineList   物理机列表
+     * @param aPrioriValuesList     先验值列表
+     * @param settings             Memetic算法的设置
+     * @param archive              所有岛屿共享的Pareto存档，为null时不使用Pareto模式
+     * @param random               搜索的随机数序列，每个岛屿按顺序从中分出自己的序列
+     * @param bestListener         每个岛屿每代结束后接收其最好个体的回调，会被多个线程调用
+     * @return 所有岛屿中最好的个体
+     */
+    public Individual search(List<VirtualMachine> virtualMachineList, List<VirtualMachine> derivedVMs,
+                             List<PhysicalMachine> physicalMachineList, List<APrioriValue> aPrioriValuesList,
+                             MASettings settings, ParetoArchive archive, RandomSource random,
+                             Consumer<Individual> bestListener) {
+        long startTime = System.nanoTime();
+        int numberOfIslands = settings.getIslands();
+        PlacementSnapshot snapshot = new PlacementSnapshot(virtualMachineList, derivedVMs, physicalMachineList,
+                settings.getNumberOfResources(), settings.getProtectionFactor());
+        snapshot.setCandidates(CandidateLists.forSettings(settings, snapshot));
+        Mailbox[] mailboxes = new Mailbox[numberOfIslands];
+        for (int iteratorIsland = 0; iteratorIsland < numberOfIslands; iteratorIsland++) {
+            mailboxes[iteratorIsland] = Boolean.TRUE.equals(settings.getSeeded()) ? new RoundMailbox()
+                    : new LatestMailbox();
+        }
+        // 每个岛屿的随机数序列在启动线程之前按岛屿顺序分出；岛屿之间已经并行，岛屿内部串行评估
+        List<Island> islands = new ArrayList<>(numberOfIslands);
+        for (int iteratorIsland = 0; iteratorIsland < numberOfIslands; iteratorIsland++) {
+            islands.add(new Island(virtualMachineList, derivedVMs, physicalMachineList, aPrioriValuesList, settings,
+                    snapshot, null, random.split(), archive));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfIslands);
+        try {
+            List<Future<Individual>> futures = new ArrayList<>(numberOfIslands);
+            for (int iteratorIsland = 0; iteratorIsland < numberOfIslands; iteratorIsland++) {
+                final int islandIndex = iteratorIsland;
+                futures.add(executor.submit(() -> evolve(islands.get(islandIndex), islandIndex, mailboxes, settings,
+                        new SearchBudget(settings, startTime), bestListener)));
+            }
+            Individual best = null;
+            for (Future<Individual> future : futures) {
+                Individual candidate = future.get();
+                if (best == null || comparator.compare(candidate, best) < 0) {
+                    best = candidate;
+                }
+            }
+            FitnessCache.logHitRate(islands);
+            return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Island model interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island model failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 推进一个岛屿直到达到迭代次数，并按迁移间隔与其他岛屿交换个体。
+     * @param island      岛屿
+     * @param islandIndex 岛屿的索引
+     * @param mailboxes   所有岛屿的邮箱
+     * @param settings    Memetic算法的设置
+     * @param budget      岛屿的停止条件，所有岛屿共享同一个开始时间
+     * @param bestListener 接收岛屿最好个体的回调
+     * @return 岛屿中最好的个体
+     */
+    private Individual evolve(Island island, int islandIndex, Mailbox[] mailboxes,
+                              MASettings settings, SearchBudget budget, Consumer<Individual> bestListener)
+            throws InterruptedException {
+        Mailbox outbox = mailboxes[(islandIndex + 1) % mailboxes.length];
+        int migrationInterval = settings.getMigrationInterval();
+        try {
+            island.initialize();
+            Individual best = island.getBest();
+            bestListener.accept(best);
+            while (!budget.isExhausted(island.getGeneration(), best.getFitness())) {
+                island.step();
+                if (migrationInterval > 0 && island.getGeneration() % migrationInterval == 0) {
+                    // 先把自己最好的个体放入下一个岛屿的邮箱，再迁入上一个岛屿放入的个体
+                    int round = island.getGeneration() / migrationInterval;
+                    outbox.post(round, island.emigrants(settings.getMigrants()));
+                    Individual[] immigrants = mailboxes[islandIndex].take(round);
+                    if (immigrants != null) {
+                        island.immigrate(immigrants);
+                    }
+                }
+                best = island.getBest();
+                bestListener.accept(best);
+            }
+            return best;
+        } finally {
+            // 下一个岛屿不再等待这个岛屿的个体
+            outbox.close();
+        }
+    }
+
+    /**
+     * 一个岛屿的邮箱，由环形拓扑中的上一个岛屿放入个体。
+     */
+    private interface Mailbox {
+        /**
+         * 放入一轮迁出的个体。
+         */
+        void post(int round, Individual[] emigrants);
+
+        /**
+         * 取出迁入的个体，没有可以迁入的个体时返回null。
+         */
+        Individual[] take(int round) throws InterruptedException;
+
+        /**
+         * 上一个岛屿已经结束，不会再放入个体。
+         */
+        void close();
+    }
+
+    /**
+     * 异步迁移的邮箱：基于{@link AtomicReference}的单个槽位，只保留最新的一批个体，岛屿之间不加锁也不互相等待。
+     */
+    private static final class LatestMailbox implements Mailbox {
+        private final AtomicReference<Individual[]> slot = new AtomicReference<>();//最新放入的个体
+
+        @Override
+        public void post(int round, Individual[] emigrants) {
+            slot.set(emigrants);
+        }
+
+        @Override
+        public Individual[] take(int round) {
+            return slot.getAndSet(null);
+        }
+
+        @Override
+        public void close() {
+            // 异步迁移不等待上一个岛屿
+        }
+    }
+
+    /**
+     * 按轮次同步迁移的邮箱：取出时等待上一个岛屿同一轮的个体，使结果与线程的调度无关。
+     */
+    private static final class RoundMailbox implements Mailbox {
+        private final Deque<Round> rounds = new ArrayDeque<>();//按轮次顺序放入的个体
+        private boolean closed;//上一个岛屿是否已经结束
+
+        @Override
+        public synchronized void post(int round, Individual[] emigrants) {
+            rounds.addLast(new Round(round, emigrants));
+            notifyAll();
+        }
+
+        /**
+         * 等待上一个岛屿同一轮的个体，上一个岛屿已经结束时返回null。
+         */
+        @Override
+        public synchronized Individual[] take(int round) throws InterruptedException {
+            while (true) {
+                while (!rounds.isEmpty() && rounds.peekFirst().round < round) {
+                    rounds.pollFirst();
+                }
+                if (!rounds.isEmpty()) {
+                    return rounds.peekFirst().round == round ? rounds.pollFirst().individuals : null;
+                }
+                if (closed) {
+                    return null;
+                }
+                wait();
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * 一轮迁移的个体。
+     */
+    private static final class Round {
+        private final int round;//迁移的轮次
+        private final Individual[] individuals;//迁移的个体
+
+        Round(int round, Individual[] individuals) {
+            this.round = round;
+            this.individuals = individuals;
+        }
+    }
+}
@@ -1,9 +1,315 @@
 package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
 
+import org.domain.APrioriValue;
+import org.framework.RandomSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Memetic算法的局部改进阶段。
+ * <p>
+ *     对种群中最好的若干个体进行首次改进（first-improvement）的局部搜索，邻域由两类移动组成：
+ *     把负载最低或最高的物理机上的虚拟机迁移到另一台物理机（relocate），
+ *     以及交换负载最高和负载最低的物理机上的两台虚拟机（swap）。
+ *     移动通过{@link Individual#setGene(int, int)}增量地更新目标函数，只保留使适应度变好的移动，
+ *     并且不产生过载的物理机和违反容错约束的放置。个体之间互不影响，可以并行处理。
+ * </p>
+ */
 public class LocalSearch {
 
-    public static Population localImprovement(Population population){
+    private LocalSearch() {
+    }
+
+    /**
+     * 对种群中最好的个体进行局部改进。种群应当已经按适应度排序，且个体处于增量计算状态。
+     * @param population        种群
+     * @param snapshot          问题数据的快照
+     * @param fitnessEvaluator  计算适应度使用的评估器
+     * @param aPrioriValuesList 先验值列表
+     * @param settings          Memetic算法的设置，决定参与局部搜索的个体数量和每个个体的最大移动次数
+     * @param pool              线程池，为null时串行执行
+     * @param random            生成每个个体随机种子的随机数生成器
+     * @return 改进后的种群
+     */
+    public static Population localImprovement(Population population, PlacementSnapshot snapshot,
+                                              FitnessEvaluation fitnessEvaluator, List<APrioriValue> aPrioriValuesList,
+                                              MASettings settings, ForkJoinPool pool, Random random) {
+        int eliteSize = Math.min(settings.getLocalSearchElite(), population.size());
+        if (eliteSize <= 0 || settings.getLocalSearchMoves() <= 0) {
+            return population;
+        }
+        // 按个体顺序预先生成随机种子，结果与线程数量无关
+        long[] seeds = new long[eliteSize];
+        for (int iteratorIndividual = 0; iteratorIndividual < eliteSize; iteratorIndividual++) {
+            seeds[iteratorIndividual] = random.nextLong();
+        }
+        PopulationWorkers.forEachChunk(pool, eliteSize, (from, to) -> {
+            PlacementBuckets buckets = new PlacementBuckets(snapshot.getNumberOfPMs());
+            for (int iteratorIndividual = from; iteratorIndividual < to; iteratorIndividual++) {
+                Individual individual = population.getIndividual(iteratorIndividual);
+                if (!individual.isTracked()) {
+                    continue;
+                }
+                improve(individual, snapshot, fitnessEvaluator, aPrioriValuesList, settings, buckets,
+                        new RandomSource(seeds[iteratorIndividual]));
+            }
+        });
         return population;
     }
 
+    /**
+     * 对一个个体进行首次改进的局部搜索，直到没有改进的移动或达到最大移动次数。
+     */
+    private static void improve(Individual individual, PlacementSnapshot snapshot, FitnessEvaluation fitnessEvaluator,
+                                List<APrioriValue> aPrioriValuesList, MASettings settings, PlacementBuckets buckets,
+                                Random random) {
+        Move move = new Move(individual, snapshot, fitnessEvaluator, aPrioriValuesList, settings, buckets);
+        buckets.build(individual.getSolution());
+        for (int iteratorMove = 0; iteratorMove < settings.getLocalSearchMoves(); iteratorMove++) {
+            int mostLoaded = -1;
+            int leastLoaded = -1;
+            double maxLoad = Double.NEGATIVE_INFINITY;
+            double minLoad = Double.POSITIVE_INFINITY;
+            for (int iteratorPM = 0; iteratorPM < snapshot.getNumberOfPMs(); iteratorPM++) {
+                if (buckets.isEmpty(iteratorPM)) {
+                    continue;
+                }
+                double load = loadOf(individual, snapshot, iteratorPM);
+                if (load > maxLoad) {
+                    maxLoad = load;
+                    mostLoaded = iteratorPM;
+                }
+                if (load < minLoad) {
+                    minLoad = load;
+                    leastLoaded = iteratorPM;
+                }
+            }
+            if (mostLoaded < 0) {
+                return;
+            }
+            // 依次尝试：清空负载最低的物理机、减轻负载最高的物理机、交换两者上的虚拟机
+            boolean improved = move.relocateFrom(leastLoaded, random)
+                    || (mostLoaded != leastLoaded && move.relocateFrom(mostLoaded, random))
+                    || (mostLoaded != leastLoaded && move.swapBetween(mostLoaded, leastLoaded, random));
+            if (!improved) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 物理机的负载，取各资源利用率的最大值
+     */
+    private static double loadOf(Individual individual, PlacementSnapshot snapshot, int pmIndex) {
+        double load = 0D;
+        for (int iteratorResource = 0; iteratorResource < snapshot.getNumberOfResources(); iteratorResource++) {
+            load = Math.max(load, individual.getUtilization(pmIndex, iteratorResource)
+                    / snapshot.getPMCapacity(pmIndex, iteratorResource));
+        }
+        return load;
+    }
+
+    /**
+     * 局部搜索的移动，负责检查约束、增量评估，并在没有改进时撤销移动。
+     */
+    private static class Move {
+        private final Individual individual;
+        private final PlacementSnapshot snapshot;
+        private final FitnessEvaluation fitnessEvaluator;
+        private final List<APrioriValue> aPrioriValuesList;
+        private final MASettings settings;
+        private final PlacementBuckets buckets;
+        private final double[] savedObjectives;
+
+        Move(Individual individual, PlacementSnapshot snapshot, FitnessEvaluation fitnessEvaluator,
+             List<APrioriValue> aPrioriValuesList, MASettings settings, PlacementBuckets buckets) {
+            this.individual = individual;
+            this.snapshot = snapshot;
+            this.fitnessEvaluator = fitnessEvaluator;
+            this.aPrioriValuesList = aPrioriValuesList;
+            this.settings = settings;
+            this.buckets = buckets;
+            this.savedObjectives = new double[individual.getObjectiveFunctions().length];
+        }
+
+        /**
+         * 把物理机上的一台虚拟机迁移到另一台已经工作的物理机上，接受第一个使适应度变好的移动。
+         * 迁移到空闲的物理机会增加功耗，因此不作为候选。
+         */
+        boolean relocateFrom(int sourcePM, Random random) {
+            int[] vms = buckets.vmsOf(sourcePM);
+            int numberOfPMs = snapshot.getNumberOfPMs();
+            int vmOffset = random.nextInt(vms.length);
+            int pmOffset = random.nextInt(numberOfPMs);
+            for (int iteratorVM = 0; iteratorVM < vms.length; iteratorVM++) {
+                int vm = vms[(vmOffset + iteratorVM) % vms.length];
+                for (int iteratorPM = 0; iteratorPM < numberOfPMs; iteratorPM++) {
+                    int targetPM = (pmOffset + iteratorPM) % numberOfPMs;
+                    if (targetPM == sourcePM || buckets.isEmpty(targetPM)
+                            || !fits(targetPM, vm, -1) || violatesFaultTolerance(targetPM, vm, -1)) {
+                        continue;
+                    }
+                    if (tryMoves(vm, targetPM, -1, -1)) {
+                        buckets.move(vm, sourcePM, targetPM);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 交换两台物理机上的两台虚拟机，接受第一个使适应度变好的交换。
+         */
+        boolean swapBetween(int firstPM, int secondPM, Random random) {
+            int[] firstVMs = buckets.vmsOf(firstPM);
+            int[] secondVMs = buckets.vmsOf(secondPM);
+            int firstOffset = random.nextInt(firstVMs.length);
+            int secondOffset = random.nextInt(secondVMs.length);
+            for (int iteratorFirst = 0; iteratorFirst < firstVMs.length; iteratorFirst++) {
+                int firstVM = firstVMs[(firstOffset + iteratorFirst) % firstVMs.length];
+                for (int iteratorSecond = 0; iteratorSecond < secondVMs.length; iteratorSecond++) {
+                    int secondVM = secondVMs[(secondOffset + iteratorSecond) % secondVMs.length];
+                    if (!fits(secondPM, firstVM, secondVM) || !fits(firstPM, secondVM, firstVM)
+                            || violatesFaultTolerance(secondPM, firstVM, secondVM)
+                            || violatesFaultTolerance(firstPM, secondVM, firstVM)) {
+                        continue;
+                    }
+                    if (tryMoves(firstVM, secondPM, secondVM, firstPM)) {
+                        buckets.move(firstVM, firstPM, secondPM);
+                        buckets.move(secondVM, secondPM, firstPM);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 执行一到两个基因的修改并增量评估，适应度没有变好时撤销修改。
+         */
+        private boolean tryMoves(int firstVM, int firstTarget, int secondVM, int secondTarget) {
+            double savedFitness = individual.getFitness();
+            System.arraycopy(individual.getObjectiveFunctions(), 0, savedObjectives, 0, savedObjectives.length);
+            int firstSource = individual.getSolution()[firstVM];
+            int secondSource = secondVM >= 0 ? individual.getSolution()[secondVM] : -1;
+            individual.setGene(firstVM, firstTarget + 1);
+            if (secondVM >= 0) {
+                individual.setGene(secondVM, secondTarget + 1);
+            }
+            individual.loadTrackedObjectives();
+            fitnessEvaluator.loadFitness(individual, aPrioriValuesList, settings.getNumberOfObjFunctions());
+            if (individual.getFitness() < savedFitness) {
+                return true;
+            }
+            // 撤销修改并恢复目标函数和适应度
+            if (secondVM >= 0) {
+                individual.setGene(secondVM, secondSource);
+            }
+            individual.setGene(firstVM, firstSource);
+            System.arraycopy(savedObjectives, 0, individual.getObjectiveFunctions(), 0, savedObjectives.length);
+            individual.setFitness(savedFitness);
+            return false;
+        }
+
+        /**
+         * 检查虚拟机迁入目标物理机后预留资源是否超过容量，与修复操作的过载规则相同。
+         * @param leavingVM 同时离开目标物理机的虚拟机，没有时为-1
+         */
+        private boolean fits(int targetPM, int vm, int leavingVM) {
+            for (int iteratorResource = 0; iteratorResource < snapshot.getNumberOfResources(); iteratorResource++) {
+                float reserved = individual.getReserved(targetPM, iteratorResource) + snapshot.getVMReservation(vm, iteratorResource);
+                if (leavingVM >= 0) {
+                    reserved -= snapshot.getVMReservation(leavingVM, iteratorResource);
+                }
+                if (reserved > snapshot.getPMCapacity(targetPM, iteratorResource)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 检查目标物理机上是否已有同一云服务的其他虚拟机
+         * @param leavingVM 同时离开目标物理机的虚拟机，没有时为-1
+         */
+        private boolean violatesFaultTolerance(int targetPM, int vm, int leavingVM) {
+            if (!Boolean.TRUE.equals(settings.getFaultTolerance())) {
+                return false;
+            }
+            int cloudService = snapshot.getCloudService(vm);
+            for (int iteratorVM = 0; iteratorVM < buckets.count(targetPM); iteratorVM++) {
+                int otherVM = buckets.vmAt(targetPM, iteratorVM);
+                if (otherVM != leavingVM && snapshot.getCloudService(otherVM) == cloudService) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 每台物理机上的虚拟机列表，可以在同一线程处理的多个个体之间复用。
+     */
+    private static class PlacementBuckets {
+        private final int[] counts;//每台物理机上的虚拟机数量
+        private final int[][] vms;//每台物理机上的虚拟机索引，只有前counts个有效
+
+        PlacementBuckets(int numberOfPMs) {
+            this.counts = new int[numberOfPMs];
+            this.vms = new int[numberOfPMs][];
+        }
+
+        void build(int[] solution) {
+            Arrays.fill(counts, 0);
+            for (int pmId : solution) {
+                if (pmId > 0) {
+                    counts[pmId - 1]++;
+                }
+            }
+            for (int iteratorPM = 0; iteratorPM < counts.length; iteratorPM++) {
+                vms[iteratorPM] = new int[counts[iteratorPM]];
+                counts[iteratorPM] = 0;
+            }
+            for (int iteratorVM = 0; iteratorVM < solution.length; iteratorVM++) {
+                if (solution[iteratorVM] > 0) {
+                    int pm = solution[iteratorVM] - 1;
+                    vms[pm][counts[pm]++] = iteratorVM;
+                }
+            }
+        }
+
+        boolean isEmpty(int pmIndex) {
+            return counts[pmIndex] == 0;
+        }
+
+        int count(int pmIndex) {
+            return counts[pmIndex];
+        }
+
+        int vmAt(int pmIndex, int position) {
+            return vms[pmIndex][position];
+        }
+
+        int[] vmsOf(int pmIndex) {
+            return Arrays.copyOf(vms[pmIndex], counts[pmIndex]);
+        }
+
+        void move(int vm, int sourcePM, int targetPM) {
+            int[] source = vms[sourcePM];
+            for (int iteratorVM = 0; iteratorVM < counts[sourcePM]; iteratorVM++) {
+                if (source[iteratorVM] == vm) {
+                    source[iteratorVM] = source[--counts[sourcePM]];
+                    break;
+                }
+            }
+            if (counts[targetPM] == vms[targetPM].length) {
+                vms[targetPM] = Arrays.copyOf(vms[targetPM], Math.max(4, vms[targetPM].length * 2));
+            }
+            vms[targetPM][counts[targetPM]++] = vm;
+        }
+    }
 }
@@ -1,10 +1,13 @@
 package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
 
+import org.framework.RandomSource;
+
+import java.util.Map;
 
 /**
  * MASettings类用于存储Memetic算法的相关设置。
  */
-public class MASettings  {
+public class MASettings implements Cloneable {
 	// 种群大小
 	private Integer populationSize;
 	// 迭代次数
@@ -21,9 +24,79 @@ public class MASettings  {
 	private Integer executionDuration;
 	// 容错性
 	private Boolean faultTolerance;
+	// 保护系数，虚拟机未使用的资源中需要预留的比例
+	private Float protectionFactor;
+	// 标量化方法，用于从多个目标函数值计算放置的分数
+	private String scalarizationMethod;
+	// 评估与修复阶段的并行线程数
+	private Integer evaluationThreads;
+	// 岛屿模型中岛屿的数量
+	private Integer islands;
+	// 岛屿之间交换个体的间隔代数
+	private Integer migrationInterval;
+	// 每次迁移的个体数量
+	private Integer migrants;
+	// 参与局部搜索的最好个体数量
+	private Integer localSearchElite;
+	// 局部搜索中每个个体的最大移动次数
+	private Integer localSearchMoves;
+	// 是否使用任意时间模式
+	private Boolean anytime;
+	// 最好适应度不改进时允许的最大迭代次数
+	private Integer stagnationGenerations;
+	// 使用当前放置和上一次重配置结果初始化的个体比例
+	private Double warmStartRatio;
+	// 扰动热启动个体时每个基因被重新随机的概率
+	private Double perturbationRate;
+	// 上一次被接受的重配置结果，键为虚拟机，值为物理机ID
+	private Map<Long, Integer> previousPlacement;
+	// 选择下一代种群的策略
+	private String survivorSelection;
+	// 保留精英的(μ,λ)策略中保留的父代精英数量
+	private Integer survivorElite;
+	// 拥挤选择中每个子代比较的父代数量
+	private Integer crowdingWindow;
+	// Pareto模式下非支配个体存档的最大个体数量
+	private Integer paretoArchiveSize;
+	// 这一次运行的随机数序列，每次重配置从中分出自己的序列
+	private RandomSource randomSource;
+	// 随机数序列是否由参数文件中的SEED生成，此时结果需要可以完全重复
+	private Boolean seeded;
+	// 交叉操作的类型
+	private String crossoverOperator;
+	// 适应度缓存的最大条目数量
+	private Integer fitnessCacheSize;
+	// 是否只对热点物理机及其邻域进行重配置
+	private Boolean partialReconfiguration;
+	// 部分重配置中热点之外加入子问题的物理机数量
+	private Integer partialNeighborhood;
+	// 每台虚拟机除当前物理机之外的候选物理机数量
+	private Integer candidateListSize;
+	// 重配置阶段使用的算法
+	private String reconfigurationAlgorithm;
+	// ACO中的蚂蚁数量
+	private Integer numberOfAnts;
+	// ACO的迭代次数
+	private Integer acoIterations;
+	// ACO中允许的最大信息素
+	private Double maxPheromone;
+	// ACO的信息素常数（蒸发速度）
+	private Double pheromoneConstant;
+	// 贪心整合中迁移内存之和的上限
+	private Double consolidationMemoryCap;
+	// 同时运行的重配置算法组合
+	private String reconfigurationEngines;
 	// 默认构造函数
 	public MASettings() {
 	}
+	// 浅复制设置，用于在不影响共享设置的情况下修改一次搜索的设置
+	public MASettings copy() {
+		try {
+			return (MASettings) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 	// 获取种群大小
 	public Integer getPopulationSize() {
 		return populationSize;
@@ -72,6 +145,22 @@ public class MASettings  {
 	public void setFaultTolerance(Boolean faultTolerance) {
 		this.faultTolerance = faultTolerance;
 	}
+	// 获取保护系数
+	public Float getProtectionFactor() {
+		return protectionFactor;
+	}
+	// 设置保护系数
+	public void setProtectionFactor(Float protectionFactor) {
+		this.protectionFactor = protectionFactor;
+	}
+	// 获取标量化方法
+	public String getScalarizationMethod() {
+		return scalarizationMethod;
+	}
+	// 设置标量化方法
+	public void setScalarizationMethod(String scalarizationMethod) {
+		this.scalarizationMethod = scalarizationMethod;
+	}
 	// 获取执行间隔
 	public Integer getExecutionInterval() {
 		return executionInterval;
@@ -88,4 +177,236 @@ public class MASettings  {
 	public void setExecutionDuration(Integer executionDuration) {
 		this.executionDuration = executionDuration;
 	}
+	// 获取评估与修复阶段的并行线程数
+	public Integer getEvaluationThreads() {
+		return evaluationThreads;
+	}
+	// 设置评估与修复阶段的并行线程数
+	public void setEvaluationThreads(Integer evaluationThreads) {
+		this.evaluationThreads = evaluationThreads;
+	}
+	// 获取岛屿模型中岛屿的数量
+	public Integer getIslands() {
+		return islands;
+	}
+	// 设置岛屿模型中岛屿的数量
+	public void setIslands(Integer islands) {
+		this.islands = islands;
+	}
+	// 获取岛屿之间交换个体的间隔代数
+	public Integer getMigrationInterval() {
+		return migrationInterval;
+	}
+	// 设置岛屿之间交换个体的间隔代数
+	public void setMigrationInterval(Integer migrationInterval) {
+		this.migrationInterval = migrationInterval;
+	}
+	// 获取每次迁移的个体数量
+	public Integer getMigrants() {
+		return migrants;
+	}
+	// 设置每次迁移的个体数量
+	public void setMigrants(Integer migrants) {
+		this.migrants = migrants;
+	}
+	// 获取参与局部搜索的最好个体数量
+	public Integer getLocalSearchElite() {
+		return localSearchElite;
+	}
+	// 设置参与局部搜索的最好个体数量
+	public void setLocalSearchElite(Integer localSearchElite) {
+		this.localSearchElite = localSearchElite;
+	}
+	// 获取局部搜索中每个个体的最大移动次数
+	public Integer getLocalSearchMoves() {
+		return localSearchMoves;
+	}
+	// 设置局部搜索中每个个体的最大移动次数
+	public void setLocalSearchMoves(Integer localSearchMoves) {
+		this.localSearchMoves = localSearchMoves;
+	}
+	// 获取是否使用任意时间模式
+	public Boolean getAnytime() {
+		return anytime;
+	}
+	// 设置是否使用任意时间模式
+	public void setAnytime(Boolean anytime) {
+		this.anytime = anytime;
+	}
+	// 获取最好适应度不改进时允许的最大迭代次数
+	public Integer getStagnationGenerations() {
+		return stagnationGenerations;
+	}
+	// 设置最好适应度不改进时允许的最大迭代次数
+	public void setStagnationGenerations(Integer stagnationGenerations) {
+		this.stagnationGenerations = stagnationGenerations;
+	}
+	// 获取使用当前放置和上一次重配置结果初始化的个体比例
+	public Double getWarmStartRatio() {
+		return warmStartRatio;
+	}
+	// 设置使用当前放置和上一次重配置结果初始化的个体比例
+	public void setWarmStartRatio(Double warmStartRatio) {
+		this.warmStartRatio = warmStartRatio;
+	}
+	// 获取扰动热启动个体时每个基因被重新随机的概率
+	public Double getPerturbationRate() {
+		return perturbationRate;
+	}
+	// 设置扰动热启动个体时每个基因被重新随机的概率
+	public void setPerturbationRate(Double perturbationRate) {
+		this.perturbationRate = perturbationRate;
+	}
+	// 获取上一次被接受的重配置结果，键为虚拟机，值为物理机ID
+	public Map<Long, Integer> getPreviousPlacement() {
+		return previousPlacement;
+	}
+	// 设置上一次被接受的重配置结果，键为虚拟机，值为物理机ID
+	public void setPreviousPlacement(Map<Long, Integer> previousPlacement) {
+		this.previousPlacement = previousPlacement;
+	}
+	// 获取选择下一代种群的策略
+	public String getSurvivorSelection() {
+		return survivorSelection;
+	}
+	// 设置选择下一代种群的策略
+	public void setSurvivorSelection(String survivorSelection) {
+		this.survivorSelection = survivorSelection;
+	}
+	// 获取保留精英的(μ,λ)策略中保留的父代精英数量
+	public Integer getSurvivorElite() {
+		return survivorElite;
+	}
+	// 设置保留精英的(μ,λ)策略中保留的父代精英数量
+	public void setSurvivorElite(Integer survivorElite) {
+		this.survivorElite = survivorElite;
+	}
+	// 获取拥挤选择中每个子代比较的父代数量
+	public Integer getCrowdingWindow() {
+		return crowdingWindow;
+	}
+	// 设置拥挤选择中每个子代比较的父代数量
+	public void setCrowdingWindow(Integer crowdingWindow) {
+		this.crowdingWindow = crowdingWindow;
+	}
+	// 获取Pareto模式下非支配个体存档的最大个体数量
+	public Integer getParetoArchiveSize() {
+		return paretoArchiveSize;
+	}
+	// 设置Pareto模式下非支配个体存档的最大个体数量
+	public void setParetoArchiveSize(Integer paretoArchiveSize) {
+		this.paretoArchiveSize = paretoArchiveSize;
+	}
+	// 获取这一次运行的随机数序列，每次重配置从中分出自己的序列
+	public RandomSource getRandomSource() {
+		return randomSource;
+	}
+	// 设置这一次运行的随机数序列，每次重配置从中分出自己的序列
+	public void setRandomSource(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+	// 获取随机数序列是否由SEED生成
+	public Boolean getSeeded() {
+		return seeded;
+	}
+	// 设置随机数序列是否由SEED生成
+	public void setSeeded(Boolean seeded) {
+		this.seeded = seeded;
+	}
+	// 获取交叉操作的类型
+	public String getCrossoverOperator() {
+		return crossoverOperator;
+	}
+	// 设置交叉操作的类型
+	public void setCrossoverOperator(String crossoverOperator) {
+		this.crossoverOperator = crossoverOperator;
+	}
+	// 获取适应度缓存的最大条目数量
+	public Integer getFitnessCacheSize() {
+		return fitnessCacheSize;
+	}
+	// 设置适应度缓存的最大条目数量
+	public void setFitnessCacheSize(Integer fitnessCacheSize) {
+		this.fitnessCacheSize = fitnessCacheSize;
+	}
+	// 获取是否只对热点物理机及其邻域进行重配置
+	public Boolean getPartialReconfiguration() {
+		return partialReconfiguration;
+	}
+	// 设置是否只对热点物理机及其邻域进行重配置
+	public void setPartialReconfiguration(Boolean partialReconfiguration) {
+		this.partialReconfiguration = partialReconfiguration;
+	}
+	// 获取部分重配置中热点之外加入子问题的物理机数量
+	public Integer getPartialNeighborhood() {
+		return partialNeighborhood;
+	}
+	// 设置部分重配置中热点之外加入子问题的物理机数量
+	public void setPartialNeighborhood(Integer partialNeighborhood) {
+		this.partialNeighborhood = partialNeighborhood;
+	}
+	// 获取每台虚拟机除当前物理机之外的候选物理机数量
+	public Integer getCandidateListSize() {
+		return candidateListSize;
+	}
+	// 设置每台虚拟机除当前物理机之外的候选物理机数量
+	public void setCandidateListSize(Integer candidateListSize) {
+		this.candidateListSize = candidateListSize;
+	}
+	// 获取重配置阶段使用的算法
+	public String getReconfigurationAlgorithm() {
+		return reconfigurationAlgorithm;
+	}
+	// 设置重配置阶段使用的算法
+	public void setReconfigurationAlgorithm(String reconfigurationAlgorithm) {
+		this.reconfigurationAlgorithm = reconfigurationAlgorithm;
+	}
+	// 获取ACO中的蚂蚁数量
+	public Integer getNumberOfAnts() {
+		return numberOfAnts;
+	}
+	// 设置ACO中的蚂蚁数量
+	public void setNumberOfAnts(Integer numberOfAnts) {
+		this.numberOfAnts = numberOfAnts;
+	}
+	// 获取ACO的迭代次数
+	public Integer getAcoIterations() {
+		return acoIterations;
+	}
+	// 设置ACO的迭代次数
+	public void setAcoIterations(Integer acoIterations) {
+		this.acoIterations = acoIterations;
+	}
+	// 获取ACO中允许的最大信息素
+	public Double getMaxPheromone() {
+		return maxPheromone;
+	}
+	// 设置ACO中允许的最大信息素
+	public void setMaxPheromone(Double maxPheromone) {
+		this.maxPheromone = maxPheromone;
+	}
+	// 获取ACO的信息素常数（蒸发速度）
+	public Double getPheromoneConstant() {
+		return pheromoneConstant;
+	}
+	// 设置ACO的信息素常数（蒸发速度）
+	public void setPheromoneConstant(Double pheromoneConstant) {
+		this.pheromoneConstant = pheromoneConstant;
+	}
+	// 获取贪心整合中迁移内存之和的上限
+	public Double getConsolidationMemoryCap() {
+		return consolidationMemoryCap;
+	}
+	// 设置贪心整合中迁移内存之和的上限
+	public void setConsolidationMemoryCap(Double consolidationMemoryCap) {
+		this.consolidationMemoryCap = consolidationMemoryCap;
+	}
+	// 获取同时运行的重配置算法组合
+	public String getReconfigurationEngines() {
+		return reconfigurationEngines;
+	}
+	// 设置同时运行的重配置算法组合
+	public void setReconfigurationEngines(String reconfigurationEngines) {
+		this.reconfigurationEngines = reconfigurationEngines;
+	}
 }
@@ -0,0 +1,179 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * 记录一个个体中每对物理机之间迁移的内存，用于增量地计算迁移内存目标函数。
+ * <p>
+ *     只保存有虚拟机迁移的物理机对，使用开放寻址的基本类型数组实现，复制时不需要创建对象。
+ *     迁移数为0的物理机对保留在表中，直到下一次扩容时被清除。
+ * </p>
+ */
+public class MigrationLedger {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys;//物理机对的键加1，0表示空位置
+    private float[] memory;//物理机对之间迁移的内存
+    private int[] counts;//物理机对之间迁移的虚拟机数量
+    private int used;//已使用的位置数量
+    private float maxMemory;//物理机对之间迁移内存的最大值
+    private boolean maxValid;//最大值是否需要重新计算
+
+    public MigrationLedger() {
+        allocate(INITIAL_CAPACITY);
+        this.maxMemory = 0F;
+        this.maxValid = true;
+    }
+
+    /**
+     * 增加一台虚拟机从源物理机到目标物理机的迁移。
+     * @param key    物理机对的键
+     * @param amount 迁移的内存
+     */
+    public void add(int key, float amount) {
+        int slot = findOrInsert(key);
+        memory[slot] += amount;
+        counts[slot]++;
+        if (maxValid && memory[slot] > maxMemory) {
+            maxMemory = memory[slot];
+        }
+    }
+
+    /**
+     * 移除一台虚拟机从源物理机到目标物理机的迁移。
+     * @param key    物理机对的键
+     * @param amount 迁移的内存
+     */
+    public void remove(int key, float amount) {
+        int slot = find(key);
+        if (slot < 0) {
+            return;
+        }
+        float previous = memory[slot];
+        counts[slot]--;
+        // 没有虚拟机迁移时直接清零，避免浮点误差的累积
+        memory[slot] = counts[slot] == 0 ? 0F : previous - amount;
+        if (previous >= maxMemory) {
+            maxValid = false;
+        }
+    }
+
+    /**
+     * 获取物理机对之间迁移内存的最大值
+     * @return 迁移内存的最大值
+     */
+    public float getMaxMemory() {
+        if (!maxValid) {
+            float max = 0F;
+            for (int iteratorSlot = 0; iteratorSlot < keys.length; iteratorSlot++) {
+                if (keys[iteratorSlot] != 0 && memory[iteratorSlot] > max) {
+                    max = memory[iteratorSlot];
+                }
+            }
+            maxMemory = max;
+            maxValid = true;
+        }
+        return maxMemory;
+    }
+
+    /**
+     * 清空所有迁移记录
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(memory, 0F);
+        Arrays.fill(counts, 0);
+        used = 0;
+        maxMemory = 0F;
+        maxValid = true;
+    }
+
+    /**
+     * 将另一个记录的内容复制到当前记录中，容量相同时复用已分配的数组。
+     * @param ledger 源记录
+     */
+    public void copyFrom(MigrationLedger ledger) {
+        if (keys.length != ledger.keys.length) {
+            allocate(ledger.keys.length);
+        }
+        System.arraycopy(ledger.keys, 0, keys, 0, keys.length);
+        System.arraycopy(ledger.memory, 0, memory, 0, memory.length);
+        System.arraycopy(ledger.counts, 0, counts, 0, counts.length);
+        used = ledger.used;
+        maxMemory = ledger.maxMemory;
+        maxValid = ledger.maxValid;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key + 1) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int findOrInsert(int key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            return slot;
+        }
+        // 装载因子超过1/2时扩容，扩容时清除迁移数为0的物理机对
+        if ((used + 1) * 2 > keys.length) {
+            rehash();
+        }
+        int mask = keys.length - 1;
+        slot = mix(key) & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key + 1;
+        used++;
+        return slot;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        float[] oldMemory = memory;
+        int[] oldCounts = counts;
+        int live = 0;
+        for (int iteratorSlot = 0; iteratorSlot < oldKeys.length; iteratorSlot++) {
+            if (oldKeys[iteratorSlot] != 0 && oldCounts[iteratorSlot] > 0) {
+                live++;
+            }
+        }
+        int capacity = INITIAL_CAPACITY;
+        while ((live + 1) * 4 > capacity) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int iteratorSlot = 0; iteratorSlot < oldKeys.length; iteratorSlot++) {
+            if (oldKeys[iteratorSlot] != 0 && oldCounts[iteratorSlot] > 0) {
+                int slot = mix(oldKeys[iteratorSlot] - 1) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[iteratorSlot];
+                memory[slot] = oldMemory[iteratorSlot];
+                counts[slot] = oldCounts[iteratorSlot];
+                used++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        memory = new float[capacity];
+        counts = new int[capacity];
+        used = 0;
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
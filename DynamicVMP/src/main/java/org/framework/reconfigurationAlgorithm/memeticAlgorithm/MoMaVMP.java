@@ -4,11 +4,38 @@ import org.domain.APrioriValue;
 import org.domain.PhysicalMachine;
 import org.domain.Placement;
 import org.domain.VirtualMachine;
+import org.framework.DynamicVMP;
+import org.framework.RandomSource;
 import org.framework.Utils;
+import org.framework.reconfigurationAlgorithm.ReconfigurationEngine;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-public class MoMaVMP {
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+public class MoMaVMP implements ReconfigurationEngine {
 
+    /**
+     * 重配置阶段的算法名称（参数VMPr）
+     */
+    public static final String MEMETIC = "MEMETIC";
+
+    private volatile Individual bestSoFar;//目前找到的最好个体的副本，可以在搜索进行中被其他线程读取
+    private Map<String, Individual> paretoChoices = Collections.emptyMap();//Pareto模式下每种标量化方法选择的个体
+    private Map<String, Placement> scalarizationPlacements = Collections.emptyMap();//每种标量化方法选择的个体对应的放置
+    private final RandomSource random;//这一次搜索的随机数序列，岛屿的序列从中分出
+    private volatile HotspotSubproblem subproblem;//部分重配置的子问题，完整重配置时为null
+
+    /**
+     * 构造函数
+     * @param random 搜索使用的随机数序列，只能被这个对象使用
+     */
+    public MoMaVMP(RandomSource random) {
+        this.random = random;
+    }
 
     /**
      * 对实际放置进行重新配置，使用Memetic算法。
@@ -17,10 +44,103 @@ public class MoMaVMP {
      * @param settings          Memetic算法的设置
      * @return 重新配置后的放置
      */
+    @Override
     public Placement reconfiguration(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        if (Boolean.TRUE.equals(settings.getPartialReconfiguration())) {
+            return partialReconfiguration(actualPlacement, aPrioriValueList, settings);
+        }
         // 通过搜索得到选择的个体
         Individual individualSelected = this.search(actualPlacement.getVirtualMachineList(), actualPlacement.getDerivedVMs(),
                 actualPlacement.getPhysicalMachines(), aPrioriValueList, settings);
+        Map<String, Placement> placements = new LinkedHashMap<>();
+        for (Map.Entry<String, Individual> choice : paretoChoices.entrySet()) {
+            placements.put(choice.getKey(), toPlacement(choice.getValue(), actualPlacement, aPrioriValueList, settings));
+        }
+        scalarizationPlacements = Collections.unmodifiableMap(placements);
+        return toPlacement(individualSelected, actualPlacement, aPrioriValueList, settings);
+    }
+
+    /**
+     * 只对热点物理机及其邻域进行重配置：在子问题上搜索，再把结果拼接回完整的放置。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          Memetic算法的设置
+     * @return 重新配置后的完整放置，没有热点时为当前放置的副本
+     */
+    private Placement partialReconfiguration(Placement actualPlacement, List<APrioriValue> aPrioriValueList,
+                                             MASettings settings) {
+        HotspotSubproblem hotspots = HotspotSubproblem.select(actualPlacement,
+                settings.getPartialNeighborhood() == null ? 0 : settings.getPartialNeighborhood());
+        subproblem = hotspots;
+        if (hotspots.isEmpty()) {
+            return hotspots.unchanged(aPrioriValueList, settings.getScalarizationMethod());
+        }
+        Logger.getLogger(DynamicVMP.DYNAMIC_VMP).log(Level.INFO, String.format(
+                "Partial reconfiguration: %d of %d PMs, %d of %d VMs", hotspots.getNumberOfPMs(),
+                actualPlacement.getPhysicalMachines().size(), hotspots.getPlacement().getVirtualMachineList().size(),
+                actualPlacement.getVirtualMachineList().size()));
+        // 热启动使用的上一次重配置结果转换为子问题中的物理机ID，不修改共享的设置
+        MASettings subSettings = settings.copy();
+        subSettings.setPreviousPlacement(hotspots.toSubproblem(settings.getPreviousPlacement()));
+        Placement subPlacement = hotspots.getPlacement();
+        Individual individualSelected = this.search(subPlacement.getVirtualMachineList(), subPlacement.getDerivedVMs(),
+                subPlacement.getPhysicalMachines(), aPrioriValueList, subSettings);
+        // 每种标量化方法选择的子问题个体同样拼接回完整的放置
+        Map<String, Placement> placements = new LinkedHashMap<>();
+        for (Map.Entry<String, Individual> choice : paretoChoices.entrySet()) {
+            placements.put(choice.getKey(), hotspots.splice(toPlacement(choice.getValue(), subPlacement,
+                    aPrioriValueList, subSettings), aPrioriValueList, settings.getScalarizationMethod()));
+        }
+        scalarizationPlacements = Collections.unmodifiableMap(placements);
+        return hotspots.splice(toPlacement(individualSelected, subPlacement, aPrioriValueList, subSettings),
+                aPrioriValueList, settings.getScalarizationMethod());
+    }
+
+    /**
+     * 获取目前找到的最好个体对应的放置，可以在搜索进行中调用。
+     * @param actualPlacement   当前的虚拟机放置
+     * @param aPrioriValueList  先验值列表
+     * @param settings          Memetic算法的设置
+     * @return 目前最好的放置，搜索还没有评估任何个体时返回null
+     */
+    @Override
+    public Placement bestPlacementSoFar(Placement actualPlacement, List<APrioriValue> aPrioriValueList, MASettings settings) {
+        Individual individual = bestSoFar;
+        if (individual == null) {
+            return null;
+        }
+        HotspotSubproblem hotspots = subproblem;
+        if (hotspots == null) {
+            return toPlacement(individual, actualPlacement, aPrioriValueList, settings);
+        }
+        return hotspots.splice(toPlacement(individual, hotspots.getPlacement(), aPrioriValueList, settings),
+                aPrioriValueList, settings.getScalarizationMethod());
+    }
+
+    //获取目前找到的最好个体，搜索还没有评估任何个体时返回null
+    public Individual getBestSoFar() {
+        return bestSoFar;
+    }
+
+    /**
+     * 获取Pareto模式下{@link #reconfiguration}按每种标量化方法（ED、CD、MD、WS）从存档中选择的个体对应的放置。
+     * @return 标量化方法到放置的映射，没有使用Pareto模式时为空映射
+     */
+    @Override
+    public Map<String, Placement> scalarizationPlacements() {
+        return scalarizationPlacements;
+    }
+
+    /**
+     * 将个体转换为放置
+     * @param individualSelected 选择的个体
+     * @param actualPlacement    当前的虚拟机放置
+     * @param aPrioriValueList   先验值列表
+     * @param settings           Memetic算法的设置
+     * @return 个体对应的放置
+     */
+    public static Placement toPlacement(Individual individualSelected, Placement actualPlacement,
+                                        List<APrioriValue> aPrioriValueList, MASettings settings) {
         // 复制原始的虚拟机、派生虚拟机和物理机列表
         List<VirtualMachine> newVirtualMachineList = VirtualMachine.cloneVMsList(actualPlacement.getVirtualMachineList());
         newVirtualMachineList = individualSelected.convertToVMList(newVirtualMachineList);
@@ -31,13 +151,14 @@ public class MoMaVMP {
         // 创建新的放置对象
         Placement newPlacement = new Placement(newPhysicalMachineList, newVirtualMachineList, newDerivedVMs);
         // 计算放置分数并设置
-        Float placementScore = Utils.calcPlacemenScore(individualSelected.getObjectiveFunctions(), aPrioriValueList);
+        Float placementScore = Utils.calcPlacemenScore(individualSelected.getObjectiveFunctions(), aPrioriValueList,
+                settings.getScalarizationMethod());
         newPlacement.setPlacementScore(placementScore);
         return newPlacement;
     }
 
     /**
-     * Memetic算法中的搜索过程。
+     * Memetic算法中的搜索过程。Pareto模式下从非支配个体存档中按设置的标量化方法选择个体。
      * @param virtualMachineList    虚拟机列表
      * @param derivedVMs           派生虚拟机列表
      * @param physicalMachineList   物理机列表
@@ -47,48 +168,67 @@ public class MoMaVMP {
      */
     public Individual search(List<VirtualMachine> virtualMachineList, List<VirtualMachine> derivedVMs,
                              List<PhysicalMachine> physicalMachineList, List<APrioriValue> aPrioriValuesList, MASettings settings) {
-        // 初始化算子
-        Selection selectionOperator = new TournamentSelection();
-        Crossover crossoverOperator = new OnePointCrossover(settings.getCrossoverProb());
-        Mutation mutationOperator = new UniformMutation();
-        Initialization initialization = new Initialization();
-        FitnessEvaluation fitnessEvaluator = new EvaluationByScalarizationMethod();
-        Population populationQ, populationP;
-        int generation = 0;
-        // 初始化初始种群
-        populationP = initialization.initialize(virtualMachineList.size(), physicalMachineList.size(), settings);
-        // 加载初始种群的资源利用信息
-        fitnessEvaluator.loadUtilization(populationP, virtualMachineList, settings.getNumberOfResources());
-        // 修复初始种群
-        populationP = Reparation.repairPopulation(populationP, virtualMachineList, physicalMachineList,
-                settings.getNumberOfResources());
-        // 计算初始种群的适应度值
-        fitnessEvaluator.evaluate(populationP, virtualMachineList, derivedVMs, physicalMachineList, aPrioriValuesList,
-                settings.getNumberOfResources(), settings.getNumberOfObjFunctions());
-        //进入循环迭代
-        while (generation < settings.getNumberOfGenerations()) {
-            // 选择父代个体
-            List<Individual> parents = selectionOperator.select(populationP, populationP.size());
-            // 交叉操作生成子代种群
-            populationQ = crossoverOperator.crossover(parents, populationP.size());
-            // 变异操作对子代种群进行变异
-            populationQ = mutationOperator.mutate(populationQ);
-            // 加载子代种群的资源利用信息
-            fitnessEvaluator.loadUtilization(populationQ, virtualMachineList, settings.getNumberOfResources());
-            // 修复子代种群
-            populationQ = Reparation.repairPopulation(populationQ, virtualMachineList, physicalMachineList,
-                    settings.getNumberOfResources());
-            // 计算子代种群的适应度值
-            fitnessEvaluator.evaluate(populationQ, virtualMachineList, derivedVMs, physicalMachineList, aPrioriValuesList,
-                    settings.getNumberOfResources(), settings.getNumberOfObjFunctions());
-            // 获取下一代种群
-            populationP = Evolution.getNextGeneration(populationP, populationQ);
-            // 更新迭代次数
-            generation += 1;
+        ParetoArchive archive = ParetoArchive.forSettings(settings);
+        paretoChoices = Collections.emptyMap();
+        Individual best;
+        // 配置了多个岛屿时使用岛屿模型，每个岛屿占用一个线程
+        if (settings.getIslands() != null && settings.getIslands() > 1) {
+            best = new IslandModel().search(virtualMachineList, derivedVMs, physicalMachineList, aPrioriValuesList, settings,
+                    archive, random, this::offerBest);
+        } else {
+            best = evolve(virtualMachineList, derivedVMs, physicalMachineList, aPrioriValuesList, settings, archive);
+        }
+        if (archive == null || archive.size() == 0) {
+            return best;
         }
-        //返回选择的个体
-        return populationP.getIndividual(0);
+        // 按每种标量化方法从存档中选择个体，返回配置的标量化方法选择的个体
+        Map<String, Individual> choices = archive.selectAll(aPrioriValuesList);
+        paretoChoices = Collections.unmodifiableMap(choices);
+        return archive.select(settings.getScalarizationMethod(), aPrioriValuesList);
     }
 
+    /**
+     * 使用一个岛屿进行搜索。
+     */
+    private Individual evolve(List<VirtualMachine> virtualMachineList, List<VirtualMachine> derivedVMs,
+                              List<PhysicalMachine> physicalMachineList, List<APrioriValue> aPrioriValuesList,
+                              MASettings settings, ParetoArchive archive) {
+        SearchBudget budget = new SearchBudget(settings, System.nanoTime());
+        // 评估与修复阶段使用的线程池，串行执行时为null
+        ForkJoinPool pool = PopulationWorkers.createPool(settings);
+        try {
+            // 问题数据的快照使子代的目标函数可以根据改变的基因增量计算
+            PlacementSnapshot snapshot = new PlacementSnapshot(virtualMachineList, derivedVMs, physicalMachineList,
+                    settings.getNumberOfResources(), settings.getProtectionFactor());
+            snapshot.setCandidates(CandidateLists.forSettings(settings, snapshot));
+            // 单个种群直接使用搜索的随机数序列
+            Island island = new Island(virtualMachineList, derivedVMs, physicalMachineList, aPrioriValuesList, settings,
+                    snapshot, pool, random, archive);
+            island.initialize();
+            Individual best = island.getBest();
+            offerBest(best);
+            //进入循环迭代，直到达到迭代次数、用完时间预算或最好的适应度停止改进
+            while (!budget.isExhausted(island.getGeneration(), best.getFitness())) {
+                island.step();
+                best = island.getBest();
+                offerBest(best);
+            }
+            FitnessCache.logHitRate(Collections.singletonList(island));
+            //返回选择的个体
+            return best;
+        } finally {
+            PopulationWorkers.shutdown(pool);
+        }
+    }
 
+    /**
+     * 如果候选个体比目前最好的个体更好，则保存它的副本
+     * @param candidate 候选个体
+     */
+    synchronized void offerBest(Individual candidate) {
+        Individual current = bestSoFar;
+        if (current == null || candidate.getFitness() < current.getFitness()) {
+            bestSoFar = candidate.copy();
+        }
+    }
 }
@@ -0,0 +1,192 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+/**
+ * 基于目标函数值的非支配排序和拥挤距离，所有目标函数都越小越好。
+ * <p>
+ *     使用高效非支配排序（ENS-SS）：个体先按目标函数值的字典序排序，这样支配一个个体的个体一定排在它前面；
+ *     然后依次把每个个体放入第一个没有成员支配它的前沿。与快速非支配排序相比不需要保存支配关系，
+ *     只使用O(n)的辅助数组，比较次数通常远少于O(M·n²)。
+ * </p>
+ */
+public class NonDominatedSorting {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int LEXICOGRAPHIC = -1;
+
+    private NonDominatedSorting() {
+    }
+
+    /**
+     * 计算个体所在的非支配前沿和在前沿中的拥挤距离，结果写入个体中。
+     * @param items 个体数组
+     * @param size  参与排序的个体数量，即items的前size个个体
+     * @return 前沿的数量
+     */
+    public static int rank(Individual[] items, int size) {
+        if (size == 0) {
+            return 0;
+        }
+        int[] order = new int[size];
+        for (int iterator = 0; iterator < size; iterator++) {
+            order[iterator] = iterator;
+        }
+        sortIndices(items, order, size, LEXICOGRAPHIC, new int[size]);
+        // 每个前沿的成员保存为链表：head[front]为最后加入的成员，next[member]为前一个加入的成员
+        int[] head = new int[size];
+        int[] next = new int[size];
+        int[] frontSizes = new int[size];
+        int fronts = 0;
+        for (int iterator = 0; iterator < size; iterator++) {
+            int candidate = order[iterator];
+            int front = 0;
+            while (front < fronts && isDominatedByFront(items, head[front], next, candidate)) {
+                front++;
+            }
+            if (front == fronts) {
+                head[front] = -1;
+                fronts++;
+            }
+            next[candidate] = head[front];
+            head[front] = candidate;
+            frontSizes[front]++;
+            items[candidate].setRank(front);
+        }
+        // 在每个前沿内计算拥挤距离
+        int[] members = new int[size];
+        int[] buffer = new int[size];
+        for (int front = 0; front < fronts; front++) {
+            int count = 0;
+            for (int member = head[front]; member != -1; member = next[member]) {
+                members[count++] = member;
+            }
+            assignCrowdingDistance(items, members, count, buffer);
+        }
+        return fronts;
+    }
+
+    /**
+     * 计算一组互不支配的个体的拥挤距离，例如Pareto存档中的成员。
+     * @param items 个体数组
+     * @param size  个体数量
+     */
+    public static void crowdingDistance(Individual[] items, int size) {
+        int[] members = new int[size];
+        for (int iterator = 0; iterator < size; iterator++) {
+            members[iterator] = iterator;
+        }
+        assignCrowdingDistance(items, members, size, new int[size]);
+    }
+
+    /**
+     * 判断个体1是否支配个体2：所有目标函数都不差，且至少一个目标函数更好。
+     */
+    public static boolean dominates(Individual individual1, Individual individual2) {
+        double[] objectives1 = individual1.getObjectiveFunctions();
+        double[] objectives2 = individual2.getObjectiveFunctions();
+        boolean better = false;
+        for (int iterator = 0; iterator < objectives1.length; iterator++) {
+            if (objectives1[iterator] > objectives2[iterator]) {
+                return false;
+            }
+            if (objectives1[iterator] < objectives2[iterator]) {
+                better = true;
+            }
+        }
+        return better;
+    }
+
+    private static boolean isDominatedByFront(Individual[] items, int head, int[] next, int candidate) {
+        for (int member = head; member != -1; member = next[member]) {
+            if (dominates(items[member], items[candidate])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 拥挤距离：边界上的个体为无穷大，其余个体为各目标函数上相邻个体之差按前沿中的取值范围归一化后的和。
+     */
+    private static void assignCrowdingDistance(Individual[] items, int[] members, int count, int[] buffer) {
+        for (int iterator = 0; iterator < count; iterator++) {
+            items[members[iterator]].setCrowdingDistance(0D);
+        }
+        if (count <= 2) {
+            for (int iterator = 0; iterator < count; iterator++) {
+                items[members[iterator]].setCrowdingDistance(Double.POSITIVE_INFINITY);
+            }
+            return;
+        }
+        int numberOfObjectives = items[members[0]].getObjectiveFunctions().length;
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+            sortIndices(items, members, count, objective, buffer);
+            double min = items[members[0]].getObjectiveFunctions()[objective];
+            double max = items[members[count - 1]].getObjectiveFunctions()[objective];
+            items[members[0]].setCrowdingDistance(Double.POSITIVE_INFINITY);
+            items[members[count - 1]].setCrowdingDistance(Double.POSITIVE_INFINITY);
+            // 所有个体在该目标函数上取值相同时不影响拥挤距离，例如不变的经济收益
+            if (max == min) {
+                continue;
+            }
+            for (int iterator = 1; iterator < count - 1; iterator++) {
+                Individual individual = items[members[iterator]];
+                double gap = items[members[iterator + 1]].getObjectiveFunctions()[objective]
+                        - items[members[iterator - 1]].getObjectiveFunctions()[objective];
+                individual.setCrowdingDistance(individual.getCrowdingDistance() + gap / (max - min));
+            }
+        }
+    }
+
+    /**
+     * 按一个目标函数或字典序对个体的索引进行稳定的归并排序。
+     */
+    private static void sortIndices(Individual[] items, int[] indices, int count, int objective, int[] buffer) {
+        mergeSort(items, indices, buffer, 0, count, objective);
+    }
+
+    private static void mergeSort(Individual[] items, int[] indices, int[] buffer, int from, int to, int objective) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int iterator = from + 1; iterator < to; iterator++) {
+                int index = indices[iterator];
+                int position = iterator - 1;
+                while (position >= from && compare(items, indices[position], index, objective) > 0) {
+                    indices[position + 1] = indices[position];
+                    position--;
+                }
+                indices[position + 1] = index;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(items, indices, buffer, from, middle, objective);
+        mergeSort(items, indices, buffer, middle, to, objective);
+        if (compare(items, indices[middle - 1], indices[middle], objective) <= 0) {
+            return;
+        }
+        System.arraycopy(indices, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int iterator = from; iterator < to; iterator++) {
+            if (right >= to || (left < middle && compare(items, buffer[left], buffer[right], objective) <= 0)) {
+                indices[iterator] = buffer[left++];
+            } else {
+                indices[iterator] = buffer[right++];
+            }
+        }
+    }
+
+    private static int compare(Individual[] items, int index1, int index2, int objective) {
+        double[] objectives1 = items[index1].getObjectiveFunctions();
+        double[] objectives2 = items[index2].getObjectiveFunctions();
+        if (objective != LEXICOGRAPHIC) {
+            return Double.compare(objectives1[objective], objectives2[objective]);
+        }
+        for (int iterator = 0; iterator < objectives1.length; iterator++) {
+            int result = Double.compare(objectives1[iterator], objectives2[iterator]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+}
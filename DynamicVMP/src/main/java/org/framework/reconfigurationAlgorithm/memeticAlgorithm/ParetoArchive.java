@@ -0,0 +1,153 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.APrioriValue;
+import org.framework.Constant;
+import org.framework.ObjectivesFunctions;
+import org.framework.Utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pareto模式下搜索过程中找到的非支配个体的有界存档。
+ * <p>
+ *     存档只保存互不支配的个体的副本；超过容量时删除拥挤距离最小的个体。
+ *     搜索结束后可以按任意一种标量化方法从存档中选择放置，一次搜索可以同时服务ED、CD、MD和WS。
+ *     岛屿模型中所有岛屿共享同一个存档，所有方法都是同步的。
+ * </p>
+ */
+public class ParetoArchive {
+
+    /**
+     * 可以用于选择放置的标量化方法
+     */
+    public static final String[] SCALARIZATION_METHODS = {"ED", "CD", "MD", "WS"};
+
+    private final int capacity;//存档的最大个体数量
+    private final List<Individual> members = new ArrayList<>();//存档中的个体
+    private final Deque<Individual> spare = new ArrayDeque<>();//被删除的个体，复用其数组保存新的副本
+
+    /**
+     * 构造函数
+     * @param capacity 存档的最大个体数量
+     */
+    public ParetoArchive(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * 根据设置创建存档，没有使用Pareto模式时返回null。
+     * @param settings Memetic算法的设置
+     * @return 存档或null
+     */
+    public static ParetoArchive forSettings(MASettings settings) {
+        if (!Evolution.PARETO.equals(settings.getSurvivorSelection())) {
+            return null;
+        }
+        return new ParetoArchive(settings.getParetoArchiveSize() == null ? 100 : settings.getParetoArchiveSize());
+    }
+
+    /**
+     * 尝试把个体的副本加入存档，并删除被它支配的个体。
+     * @param candidate 候选个体
+     * @return 个体是否被加入存档
+     */
+    public synchronized boolean offer(Individual candidate) {
+        for (Individual member : members) {
+            if (NonDominatedSorting.dominates(member, candidate)
+                    || Arrays.equals(member.getObjectiveFunctions(), candidate.getObjectiveFunctions())) {
+                return false;
+            }
+        }
+        for (int iterator = members.size() - 1; iterator >= 0; iterator--) {
+            if (NonDominatedSorting.dominates(candidate, members.get(iterator))) {
+                spare.push(removeAt(iterator));
+            }
+        }
+        Individual copy = spare.isEmpty() ? candidate.copy() : spare.pop();
+        copy.copyFrom(candidate);
+        members.add(copy);
+        if (members.size() > capacity) {
+            // 删除拥挤距离最小的个体，保持存档在目标空间上的分布
+            Individual[] items = members.toArray(new Individual[0]);
+            NonDominatedSorting.crowdingDistance(items, items.length);
+            int mostCrowded = 0;
+            for (int iterator = 1; iterator < members.size(); iterator++) {
+                if (members.get(iterator).getCrowdingDistance() < members.get(mostCrowded).getCrowdingDistance()) {
+                    mostCrowded = iterator;
+                }
+            }
+            spare.push(removeAt(mostCrowded));
+            return members.contains(copy);
+        }
+        return true;
+    }
+
+    /**
+     * 按指定的标量化方法从存档中选择个体。
+     * @param method            标量化方法：ED、CD、MD，其他值为加权和
+     * @param aPrioriValuesList 先验值列表，用于归一化目标函数
+     * @return 所选个体的副本，存档为空时返回null
+     */
+    public synchronized Individual select(String method, List<APrioriValue> aPrioriValuesList) {
+        Individual selected = null;
+        float selectedValue = Float.POSITIVE_INFINITY;
+        for (Individual member : members) {
+            float value = scalarize(member, method, aPrioriValuesList);
+            if (selected == null || value < selectedValue) {
+                selected = member;
+                selectedValue = value;
+            }
+        }
+        return selected == null ? null : selected.copy();
+    }
+
+    /**
+     * 按每一种标量化方法从存档中选择个体。
+     * @param aPrioriValuesList 先验值列表，用于归一化目标函数
+     * @return 标量化方法到所选个体副本的映射，存档为空时为空映射
+     */
+    public synchronized Map<String, Individual> selectAll(List<APrioriValue> aPrioriValuesList) {
+        Map<String, Individual> selected = new LinkedHashMap<>();
+        if (members.isEmpty()) {
+            return selected;
+        }
+        for (String method : SCALARIZATION_METHODS) {
+            selected.put(method, select(method, aPrioriValuesList));
+        }
+        return selected;
+    }
+
+    //获取存档中的个体数量
+    public synchronized int size() {
+        return members.size();
+    }
+
+    /**
+     * 与{@link EvaluationByScalarizationMethod#loadFitness}相同的归一化，使用指定的标量化方法。
+     */
+    private static float scalarize(Individual individual, String method, List<APrioriValue> aPrioriValuesList) {
+        double[] objectiveFunctions = individual.getObjectiveFunctions();
+        List<Float> normalizedValues = new ArrayList<>(objectiveFunctions.length);
+        APrioriValue aPrioriValue;
+        for (int iterator = 0; iterator < objectiveFunctions.length; iterator++) {
+            aPrioriValue = aPrioriValuesList.get(iterator);
+            normalizedValues.add(Utils.normalizeValue((float) objectiveFunctions[iterator], aPrioriValue.getMinValue(),
+                    aPrioriValue.getMaxValue()));
+        }
+        return ObjectivesFunctions.getScalarizationMethod(normalizedValues, Constant.WEIGHT_OFFLINE, method);
+    }
+
+    private Individual removeAt(int index) {
+        Individual last = members.remove(members.size() - 1);
+        if (index == members.size()) {
+            return last;
+        }
+        return members.set(index, last);
+    }
+}
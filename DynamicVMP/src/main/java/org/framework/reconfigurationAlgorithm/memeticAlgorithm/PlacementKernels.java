@@ -0,0 +1,115 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.framework.ObjectivesFunctions;
+
+/**
+ * 个体的资源利用累加和按物理机的功耗、浪费资源归约的计算内核，直接处理{@link PlacementSnapshot}和{@link Individual}中
+ * 按资源主序展开的基本类型数组。
+ * <p>
+ *     这个类是逐元素的标量实现，可以在Java 8上运行，结果与{@link PlacementSnapshot#powerOf}和
+ *     {@link ObjectivesFunctions#wastedResources}的公式一致。多版本jar在Java 17及以上版本中还包含
+ *     VectorPlacementKernels，使用Vector API按硬件支持的最大宽度同时处理多台物理机；
+ *     它依赖孵化模块jdk.incubator.vector，只有启动时加上{@code --add-modules jdk.incubator.vector}才能加载，
+ *     否则使用这个标量实现。
+ * </p>
+ */
+class PlacementKernels {
+
+    private static final String VECTOR_KERNELS = PlacementKernels.class.getName().replace("PlacementKernels",
+            "VectorPlacementKernels");
+
+    private static final PlacementKernels INSTANCE = load();
+
+    //获取当前运行环境中可用的最快实现
+    static PlacementKernels get() {
+        return INSTANCE;
+    }
+
+    //优先加载Vector API实现，类不存在或孵化模块没有启用时使用标量实现
+    private static PlacementKernels load() {
+        try {
+            return (PlacementKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new PlacementKernels();
+        }
+    }
+
+    //实现的名称，用于日志
+    String name() {
+        return "scalar";
+    }
+
+    /**
+     * 把前count台虚拟机的资源累加到它们所在的物理机上。
+     * @param solution          虚拟机分配给物理机的解决方案，前count个基因不为0
+     * @param count             参与累加的虚拟机数量
+     * @param vmValues          按资源主序展开的虚拟机资源：vmValues[resource * numberOfVMs + vm]
+     * @param pmValues          按资源主序展开的物理机资源，累加结果写入其中
+     * @param numberOfPMs       物理机的数量
+     * @param numberOfResources 资源的数量
+     */
+    void accumulate(int[] solution, int count, float[] vmValues, float[] pmValues, int numberOfPMs,
+                    int numberOfResources) {
+        int numberOfVMs = solution.length;
+        for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+            int vmOffset = iteratorResource * numberOfVMs;
+            // 物理机ID从1开始，偏移减1后可以直接用基因作为下标
+            int pmOffset = iteratorResource * numberOfPMs - 1;
+            for (int iteratorVM = 0; iteratorVM < count; iteratorVM++) {
+                pmValues[pmOffset + solution[iteratorVM]] += vmValues[vmOffset + iteratorVM];
+            }
+        }
+    }
+
+    /**
+     * 计算所有物理机的总功耗、工作中物理机的浪费资源之和以及工作中物理机的数量。
+     * @param utilization       按资源主序展开的物理机资源利用
+     * @param capacity          按资源主序展开的物理机资源容量
+     * @param powerMax          物理机的最大功耗
+     * @param numberOfPMs       物理机的数量
+     * @param numberOfResources 资源的数量
+     * @param totals            结果：totals[0]为总功耗，totals[1]为浪费资源之和，totals[2]为工作中物理机的数量
+     */
+    void reduce(float[] utilization, float[] capacity, float[] powerMax, int numberOfPMs, int numberOfResources,
+                double[] totals) {
+        totals[0] = 0D;
+        totals[1] = 0D;
+        totals[2] = 0D;
+        reduceRange(utilization, capacity, powerMax, 0, numberOfPMs, numberOfPMs, numberOfResources, totals);
+    }
+
+    /**
+     * 逐台物理机归约[from, to)中的物理机，结果累加到totals中。
+     */
+    static void reduceRange(float[] utilization, float[] capacity, float[] powerMax, int from, int to,
+                            int numberOfPMs, int numberOfResources, double[] totals) {
+        float minPowerPercentage = ObjectivesFunctions.MIN_POWER_PERCENTAGE;
+        double power = totals[0];
+        double wasted = totals[1];
+        int working = (int) totals[2];
+        for (int iteratorPM = from; iteratorPM < to; iteratorPM++) {
+            float cpu = utilization[iteratorPM];
+            if (cpu > 0.0001) {
+                float minPower = powerMax[iteratorPM] * minPowerPercentage;
+                power += (powerMax[iteratorPM] - minPower) * (cpu / capacity[iteratorPM]) + minPower;
+            }
+            boolean isWorking = false;
+            double pmWasted = 0D;
+            for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                int index = iteratorResource * numberOfPMs + iteratorPM;
+                isWorking |= utilization[index] > 0.0001;
+                float ratio = 1 - utilization[index] / capacity[index];
+                if (ratio > 0) {
+                    pmWasted += ratio;
+                }
+            }
+            if (isWorking) {
+                working++;
+                wasted += pmWasted;
+            }
+        }
+        totals[0] = power;
+        totals[1] = wasted;
+        totals[2] = working;
+    }
+}
@@ -0,0 +1,161 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.PhysicalMachine;
+import org.domain.VirtualMachine;
+import org.framework.ObjectivesFunctions;
+import org.framework.reconfigurationAlgorithm.enums.ResourcesEnum;
+
+import java.util.List;
+
+/**
+ * 一次重配置中问题数据的只读快照，以基本类型数组保存。
+ * <p>
+ *     快照在搜索开始时创建一次，被种群中的所有个体共享，用于增量地更新个体的资源利用和目标函数值。
+ *     物理机的索引从0开始，对应的物理机ID为索引加1。
+ * </p>
+ */
+public class PlacementSnapshot {
+    private final int numberOfVMs;//虚拟机的数量
+    private final int numberOfPMs;//物理机的数量
+    private final int numberOfResources;//资源的数量
+    private final float[] vmLoad;//虚拟机实际使用的资源，按资源主序展开：vmLoad[resource * numberOfVMs + vm]
+    private final float[] vmReservation;//虚拟机预留的资源（实际使用加上按保护系数预留的部分），与vmLoad的布局相同
+    private final int[] vmCloudServices;//虚拟机所属的云服务
+    private final float[] vmMigratedMemory;//迁移虚拟机时需要复制的内存
+    private final int[] originalPMs;//重配置前虚拟机所在的物理机ID
+    private final float[] pmCapacity;//物理机的资源容量，按资源主序展开：pmCapacity[resource * numberOfPMs + pm]
+    private final float[] pmPowerMax;//物理机的最大功耗
+    private final float revenue;//经济收益目标函数值，基因不为0时与放置方案无关
+    private CandidateLists candidates;//每台虚拟机的候选物理机列表，为null时基因可以取任意物理机
+
+    /**
+     * 构造函数
+     * @param virtualMachineList  重配置前的虚拟机列表
+     * @param derivedVMs          衍生虚拟机列表
+     * @param physicalMachineList 物理机列表
+     * @param numberOfResources   资源的数量
+     * @param protectionFactor    保护系数，虚拟机未使用的资源中需要预留的比例
+     */
+    public PlacementSnapshot(List<VirtualMachine> virtualMachineList, List<VirtualMachine> derivedVMs,
+                             List<PhysicalMachine> physicalMachineList, int numberOfResources, float protectionFactor) {
+        this.numberOfVMs = virtualMachineList.size();
+        this.numberOfPMs = physicalMachineList.size();
+        this.numberOfResources = numberOfResources;
+        this.vmLoad = new float[numberOfResources * numberOfVMs];
+        this.vmReservation = new float[numberOfResources * numberOfVMs];
+        this.vmCloudServices = new int[numberOfVMs];
+        this.vmMigratedMemory = new float[numberOfVMs];
+        this.originalPMs = new int[numberOfVMs];
+        this.pmCapacity = new float[numberOfResources * numberOfPMs];
+        this.pmPowerMax = new float[numberOfPMs];
+
+        int ramIndex = ResourcesEnum.RAM.getIndex();
+        VirtualMachine vm;
+        float resource;
+        float utilization;
+        for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+            vm = virtualMachineList.get(iteratorVM);
+            for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                resource = vm.getResources().get(iteratorResource);
+                utilization = vm.getUtilization().get(iteratorResource);
+                vmLoad[iteratorResource * numberOfVMs + iteratorVM] = resource * (utilization / 100);
+                // 与Constraints中的预留资源计算方式相同
+                vmReservation[iteratorResource * numberOfVMs + iteratorVM] = (resource * utilization / 100)
+                        + (resource * (1 - utilization / 100) * protectionFactor);
+            }
+            vmCloudServices[iteratorVM] = vm.getCloudService();
+            vmMigratedMemory[iteratorVM] = vm.getResources().get(ramIndex) * (vm.getUtilization().get(ramIndex) / 100);
+            originalPMs[iteratorVM] = vm.getPhysicalMachine();
+        }
+        PhysicalMachine pm;
+        for (int iteratorPM = 0; iteratorPM < numberOfPMs; iteratorPM++) {
+            pm = PhysicalMachine.getById(iteratorPM + 1, physicalMachineList);
+            for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                pmCapacity[iteratorResource * numberOfPMs + iteratorPM] = pm.getResources().get(iteratorResource);
+            }
+            pmPowerMax[iteratorPM] = pm.getPowerMax();
+        }
+        // 没有超时单位时只有衍生虚拟机产生收益损失
+        this.revenue = ObjectivesFunctions.economicalRevenue(virtualMachineList, derivedVMs);
+    }
+
+    //获取虚拟机的数量
+    public int getNumberOfVMs() {
+        return numberOfVMs;
+    }
+    //获取物理机的数量
+    public int getNumberOfPMs() {
+        return numberOfPMs;
+    }
+    //获取资源的数量
+    public int getNumberOfResources() {
+        return numberOfResources;
+    }
+    //获取虚拟机实际使用的资源，vmIndex从0开始
+    public float getVMLoad(int vmIndex, int resource) {
+        return vmLoad[resource * numberOfVMs + vmIndex];
+    }
+    //获取虚拟机预留的资源，vmIndex从0开始
+    public float getVMReservation(int vmIndex, int resource) {
+        return vmReservation[resource * numberOfVMs + vmIndex];
+    }
+    //获取虚拟机所属的云服务
+    public int getCloudService(int vmIndex) {
+        return vmCloudServices[vmIndex];
+    }
+    //获取迁移虚拟机时需要复制的内存
+    public float getMigratedMemory(int vmIndex) {
+        return vmMigratedMemory[vmIndex];
+    }
+    //获取重配置前虚拟机所在的物理机ID
+    public int getOriginalPM(int vmIndex) {
+        return originalPMs[vmIndex];
+    }
+    //获取物理机的资源容量，pmIndex从0开始
+    public float getPMCapacity(int pmIndex, int resource) {
+        return pmCapacity[resource * numberOfPMs + pmIndex];
+    }
+    //获取经济收益目标函数值
+    public float getRevenue() {
+        return revenue;
+    }
+    //获取每台虚拟机的候选物理机列表，为null时基因可以取任意物理机
+    public CandidateLists getCandidates() {
+        return candidates;
+    }
+    //设置每台虚拟机的候选物理机列表，在搜索开始前设置一次
+    public void setCandidates(CandidateLists candidates) {
+        this.candidates = candidates;
+    }
+    //获取按资源主序展开的虚拟机实际使用的资源，供计算内核直接读取
+    float[] getVMLoads() {
+        return vmLoad;
+    }
+    //获取按资源主序展开的虚拟机预留的资源，供计算内核直接读取
+    float[] getVMReservations() {
+        return vmReservation;
+    }
+    //获取按资源主序展开的物理机资源容量，供计算内核直接读取
+    float[] getPMCapacities() {
+        return pmCapacity;
+    }
+    //获取物理机的最大功耗，供计算内核直接读取
+    float[] getPMPowerMax() {
+        return pmPowerMax;
+    }
+
+    /**
+     * 计算一台物理机的功耗，与{@link ObjectivesFunctions#powerConsumption(List)}中的公式相同。
+     * @param pmIndex     物理机的索引，从0开始
+     * @param cpuRequested 物理机上请求的CPU
+     * @return 物理机的功耗，物理机空闲时为0
+     */
+    public double powerOf(int pmIndex, float cpuRequested) {
+        if (cpuRequested <= 0.0001) {
+            return 0D;
+        }
+        float powerMax = pmPowerMax[pmIndex];
+        float minPower = powerMax * ObjectivesFunctions.MIN_POWER_PERCENTAGE;
+        return (powerMax - minPower) * (cpuRequested / pmCapacity[pmIndex]) + minPower;
+    }
+}
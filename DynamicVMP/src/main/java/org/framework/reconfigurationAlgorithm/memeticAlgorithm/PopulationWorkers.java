@@ -0,0 +1,85 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 将种群划分为连续的块并在{@link ForkJoinPool}上并行处理的工具类。
+ * <p>
+ *     每个块由一个任务处理，任务内部可以创建自己的辅助状态（虚拟机/物理机列表的副本），
+ *     因此不同块之间不共享可变状态。块的划分只依赖种群大小和线程池的并行度，
+ *     与线程调度无关。
+ * </p>
+ */
+public class PopulationWorkers {
+
+    /**
+     * 处理种群中一段连续个体的任务
+     */
+    @FunctionalInterface
+    public interface ChunkTask {
+        /**
+         * @param from 起始索引（包含）
+         * @param to   结束索引（不包含）
+         */
+        void run(int from, int to);
+    }
+
+    private PopulationWorkers() {
+    }
+
+    /**
+     * 将[0, size)划分为若干块并执行任务。
+     * @param pool 线程池，为null或并行度为1时在当前线程串行执行
+     * @param size 种群大小
+     * @param task 处理每一块的任务
+     */
+    public static void forEachChunk(ForkJoinPool pool, int size, ChunkTask task) {
+        if (pool == null || pool.getParallelism() <= 1 || size <= 1) {
+            task.run(0, size);
+            return;
+        }
+        int numberOfChunks = Math.min(pool.getParallelism(), size);
+        int chunkSize = size / numberOfChunks;
+        int remainder = size % numberOfChunks;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(numberOfChunks);
+        int from = 0;
+        for (int iteratorChunk = 0; iteratorChunk < numberOfChunks; iteratorChunk++) {
+            // 前remainder个块多分配一个个体
+            int to = from + chunkSize + (iteratorChunk < remainder ? 1 : 0);
+            final int chunkFrom = from;
+            final int chunkTo = to;
+            tasks.add(pool.submit(() -> task.run(chunkFrom, chunkTo)));
+            from = to;
+        }
+        // 等待所有块完成，异常会在join时重新抛出
+        for (ForkJoinTask<?> forkJoinTask : tasks) {
+            forkJoinTask.join();
+        }
+    }
+
+    /**
+     * 根据设置创建评估与修复阶段使用的线程池。
+     * @param settings Memetic算法的设置
+     * @return 线程池，如果设置为串行执行则返回null
+     */
+    public static ForkJoinPool createPool(MASettings settings) {
+        Integer threads = settings.getEvaluationThreads();
+        if (threads == null || threads <= 1) {
+            return null;
+        }
+        return new ForkJoinPool(threads);
+    }
+
+    /**
+     * 关闭线程池
+     * @param pool 线程池，可以为null
+     */
+    public static void shutdown(ForkJoinPool pool) {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
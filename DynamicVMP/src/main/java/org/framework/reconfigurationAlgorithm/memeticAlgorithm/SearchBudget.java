@@ -0,0 +1,68 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.framework.Constant;
+
+/**
+ * Memetic算法的停止条件。
+ * <p>
+ *     搜索在以下任一条件满足时停止：达到最大迭代次数；任意时间（anytime）模式下用完时间预算；
+ *     最好的适应度连续若干代没有改进。时间预算为执行持续时间（时间单位）乘以
+ *     {@link Constant#TIMEUNIT_DURATION}（秒），使重配置在其执行窗口内结束。
+ *     一个对象只能由一个线程使用，岛屿模型中每个岛屿使用自己的对象。
+ * </p>
+ */
+public class SearchBudget {
+    private final int maxGenerations;//最大迭代次数
+    private final long deadline;//截止时间（System.nanoTime），没有时间预算时为Long.MAX_VALUE
+    private final int stagnationLimit;//允许最好适应度不改进的迭代次数，0表示不限制
+    private double bestFitness = Double.POSITIVE_INFINITY;//目前最好的适应度
+    private int stagnantGenerations;//最好适应度连续没有改进的迭代次数
+
+    /**
+     * 构造函数
+     * @param settings  Memetic算法的设置
+     * @param startTime 搜索开始的时间（System.nanoTime）
+     */
+    public SearchBudget(MASettings settings, long startTime) {
+        this(settings, startTime, settings.getNumberOfGenerations());
+    }
+
+    /**
+     * 构造函数，最大迭代次数不使用Memetic算法的世代数量，例如ACO的迭代次数。
+     * @param settings       Memetic算法的设置
+     * @param startTime      搜索开始的时间（System.nanoTime）
+     * @param maxGenerations 最大迭代次数
+     */
+    public SearchBudget(MASettings settings, long startTime, int maxGenerations) {
+        this.maxGenerations = maxGenerations;
+        if (Boolean.TRUE.equals(settings.getAnytime())) {
+            long budgetNanos = (long) (settings.getExecutionDuration() * Constant.TIMEUNIT_DURATION * 1_000_000_000L);
+            this.deadline = startTime + budgetNanos;
+        } else {
+            this.deadline = Long.MAX_VALUE;
+        }
+        this.stagnationLimit = settings.getStagnationGenerations() == null ? 0 : settings.getStagnationGenerations();
+    }
+
+    /**
+     * 记录一代结束后最好的适应度，并判断是否应当停止搜索。
+     * @param generation  已经完成的迭代次数
+     * @param bestFitness 当前最好的适应度，越小越好
+     * @return 是否应当停止搜索
+     */
+    public boolean isExhausted(int generation, double bestFitness) {
+        if (bestFitness < this.bestFitness) {
+            this.bestFitness = bestFitness;
+            stagnantGenerations = 0;
+        } else {
+            stagnantGenerations++;
+        }
+        if (generation >= maxGenerations || Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        if (stagnationLimit > 0 && stagnantGenerations >= stagnationLimit) {
+            return true;
+        }
+        return deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0;
+    }
+}
@@ -5,6 +5,8 @@ import java.util.List;
 public interface Selection {
     //选择多个个体
     List<Individual> select(Population population, int arity);
+    //选择多个个体并写入给定的列表中，列表在各代之间复用
+    void select(Population population, List<Individual> parents, int arity);
     //选择一个个体
     Individual select(Population population);
 
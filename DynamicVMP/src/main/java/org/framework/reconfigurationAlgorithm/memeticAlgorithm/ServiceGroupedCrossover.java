@@ -0,0 +1,52 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 按云服务分组的均匀交叉：同一个云服务的所有虚拟机来自同一个父代，
+ * 多层服务中被放置在一起的虚拟机在交叉后保持在一起。
+ * 一个对象只能由一个线程使用。
+ */
+public class ServiceGroupedCrossover extends AbstractCrossover {
+    private final int[] groupOfVM;//每个虚拟机所属云服务的编号，从0开始连续编号
+    private final boolean[] fromOtherParent;//每个云服务是否来自另一个父代，在各次交叉之间复用
+
+    /**
+     * 构造函数
+     * @param probability 交叉概率
+     * @param random      交叉使用的随机数生成器
+     * @param snapshot    问题数据的快照，提供每个虚拟机的云服务
+     */
+    public ServiceGroupedCrossover(Double probability, Random random, PlacementSnapshot snapshot) {
+        super(probability, random);
+        int numberOfVMs = snapshot.getNumberOfVMs();
+        this.groupOfVM = new int[numberOfVMs];
+        Map<Integer, Integer> groups = new HashMap<>();
+        for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+            Integer group = groups.get(snapshot.getCloudService(iteratorVM));
+            if (group == null) {
+                group = groups.size();
+                groups.put(snapshot.getCloudService(iteratorVM), group);
+            }
+            groupOfVM[iteratorVM] = group;
+        }
+        this.fromOtherParent = new boolean[groups.size()];
+    }
+
+    // 为每个云服务选择父代，再交换来自另一个父代的云服务的所有虚拟机
+    @Override
+    protected void recombine(Individual individual1, Individual individual2, Individual result1, Individual result2) {
+        int[] solution1 = individual1.getSolution();
+        int[] solution2 = individual2.getSolution();
+        for (int iteratorGroup = 0; iteratorGroup < fromOtherParent.length; iteratorGroup++) {
+            fromOtherParent[iteratorGroup] = random.nextBoolean();
+        }
+        for (int iteratorSolution = 0; iteratorSolution < groupOfVM.length; iteratorSolution++) {
+            if (fromOtherParent[groupOfVM[iteratorSolution]]) {
+                swapGene(solution1, solution2, result1, result2, iteratorSolution);
+            }
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
 
-import org.framework.Utils;
 import org.framework.comparator.DistanceComparator;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * 个体选择接口的具体实现
@@ -12,18 +12,21 @@ import java.util.List;
 public class TournamentSelection implements Selection {
     private final FitnessComparator comparator;//个体适应度比较的比较器
     private int size;//每轮比较的个体数
-    //默认构造函数，个体数为2，使用默认的适应度比较器
-    public TournamentSelection() {
-        this(2, new DistanceComparator(false));
+    private final Random random;//选择个体使用的随机数生成器
+    //使用指定随机数生成器的构造函数，个体数为2，使用默认的适应度比较器
+    public TournamentSelection(Random random) {
+        this(2, new DistanceComparator(false), random);
     }
     /**
-     * 带参数的构造函数，允许指定选择的比较大小和适应度比较器。
+     * 带参数的构造函数，允许指定选择的比较大小、适应度比较器和随机数生成器。
      * @param size       锦标赛选择的比较大小，即每轮比较的个体数量
      * @param comparator 用于比较个体适应度的比较器
+     * @param random     选择个体使用的随机数生成器
      */
-    public TournamentSelection(int size, FitnessComparator comparator) {
+    public TournamentSelection(int size, FitnessComparator comparator, Random random) {
         this.size = size;
         this.comparator = comparator;
+        this.random = random;
     }
     /**
      * 从种群中选择多个个体的方法。
@@ -41,6 +44,19 @@ public class TournamentSelection implements Selection {
         }
         return parents;
     }
+    /**
+     * 从种群中选择多个个体并写入给定的列表中，不分配新的列表。
+     * @param population 种群对象
+     * @param parents    存放所选个体的列表，调用时会先被清空
+     * @param arity      选择的个体数量
+     */
+    @Override
+    public void select(Population population, List<Individual> parents, int arity) {
+        parents.clear();
+        while (parents.size() <= arity) {
+            parents.add(select(population));
+        }
+    }
     /**
      * 从种群中选择一个个体的方法。
      * @param population 种群对象
@@ -49,10 +65,10 @@ public class TournamentSelection implements Selection {
     @Override
     public Individual select(Population population) {
         //随机选择一个个体作为初始选择个体
-        Individual winner = population.getIndividual(Utils.getRandomtInt(population.size()));
+        Individual winner = population.getIndividual(random.nextInt(population.size()));
         for (int iterator = 1; iterator < size; iterator++) {
             //随机选择候选者
-            Individual candidate = population.getIndividual(Utils.getRandomtInt(population.size()));
+            Individual candidate = population.getIndividual(random.nextInt(population.size()));
             //利用适应度比较器进行比较
             int result = comparator.compare(winner, candidate);
             //选择适应度较好的个体
@@ -0,0 +1,27 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import java.util.Random;
+//两点交叉，交换两个随机交叉点之间的基因
+public class TwoPointCrossover extends AbstractCrossover {
+    // 构造函数，接受交叉概率和随机数生成器作为参数
+    public TwoPointCrossover(Double probability, Random random) {
+        super(probability, random);
+    }
+    // 交换[first, second)之间的基因
+    @Override
+    protected void recombine(Individual individual1, Individual individual2, Individual result1, Individual result2) {
+        int individualSize = individual1.getSize();
+        int[] solution1 = individual1.getSolution();
+        int[] solution2 = individual2.getSolution();
+        int first = random.nextInt(individualSize + 1);
+        int second = random.nextInt(individualSize + 1);
+        if (first > second) {
+            int point = first;
+            first = second;
+            second = point;
+        }
+        for (int iteratorSolution = first; iteratorSolution < second; iteratorSolution++) {
+            swapGene(solution1, solution2, result1, result2, iteratorSolution);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import java.util.Random;
+//均匀交叉，每个基因以相同的概率来自任一父代
+public class UniformCrossover extends AbstractCrossover {
+    // 构造函数，接受交叉概率和随机数生成器作为参数
+    public UniformCrossover(Double probability, Random random) {
+        super(probability, random);
+    }
+    // 每个随机长整数提供64个基因的选择
+    @Override
+    protected void recombine(Individual individual1, Individual individual2, Individual result1, Individual result2) {
+        int individualSize = individual1.getSize();
+        int[] solution1 = individual1.getSolution();
+        int[] solution2 = individual2.getSolution();
+        long bits = 0L;
+        for (int iteratorSolution = 0; iteratorSolution < individualSize; iteratorSolution++) {
+            if ((iteratorSolution & 63) == 0) {
+                bits = random.nextLong();
+            }
+            if ((bits & 1L) != 0) {
+                swapGene(solution1, solution2, result1, result2, iteratorSolution);
+            }
+            bits >>>= 1;
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
 
-import org.framework.Utils;
+import java.util.Random;
 public class UniformMutation implements Mutation {
-
+    private final Random random;//变异使用的随机数生成器
+    private final CandidateLists candidates;//每台虚拟机的候选物理机列表，为null时从所有物理机中选择
+    //使用指定随机数生成器的构造函数
+    public UniformMutation(Random random) {
+        this(random, null);
+    }
+    //使用指定随机数生成器和候选物理机列表的构造函数
+    public UniformMutation(Random random, CandidateLists candidates) {
+        this.random = random;
+        this.candidates = candidates;
+    }
 
     @Override
     public Population mutate(Population population) {
@@ -19,23 +29,44 @@ public class UniformMutation implements Mutation {
     @Override
     public Individual mutate(Individual individual) {
         int numberOfVMs = individual.getSolution().length;
-        int numberOfPMs = individual.getUtilization().length;
+        int numberOfPMs = individual.getNumberOfPMs();
         int oldPhysicalPosition, newPhysicalPosition;
         // 对每个解进行变异
         for (int iteratorSolution = 0; iteratorSolution < numberOfVMs; iteratorSolution++) {
             oldPhysicalPosition = individual.getSolution()[iteratorSolution];
             // 以1/numberOfVMs的概率进行变异
-            if (Utils.getRandomDouble() < 1F / numberOfVMs) {
+            if (random.nextDouble() < 1F / numberOfVMs) {
+                if (candidates != null && candidates.size(iteratorSolution) > 0) {
+                    mutateWithinCandidates(individual, iteratorSolution, oldPhysicalPosition);
+                    continue;
+                }
                 do {
                     // 生成新的物理位置
-                    newPhysicalPosition = Utils.getRandomInt(1, numberOfPMs);
+                    newPhysicalPosition = 1 + random.nextInt(numberOfPMs);
                     // 如果新位置不等于旧位置，进行变异
                     if (newPhysicalPosition != oldPhysicalPosition) {
-                        individual.getSolution()[iteratorSolution] = newPhysicalPosition;
+                        individual.setGene(iteratorSolution, newPhysicalPosition);
                     }
                 } while (newPhysicalPosition == oldPhysicalPosition && numberOfPMs > 1);
             }
         }
         return individual;
     }
+
+    /**
+     * 从候选列表中选择与当前位置不同的物理机，候选列表中只有当前位置时不变异。
+     */
+    private void mutateWithinCandidates(Individual individual, int vmIndex, int oldPhysicalPosition) {
+        int size = candidates.size(vmIndex);
+        int newPhysicalPosition = candidates.get(vmIndex, random.nextInt(size));
+        if (newPhysicalPosition == oldPhysicalPosition && size > 1) {
+            // 跳过当前位置后在其余候选中均匀选择
+            int position = random.nextInt(size - 1);
+            newPhysicalPosition = candidates.get(vmIndex, position);
+            if (newPhysicalPosition == oldPhysicalPosition) {
+                newPhysicalPosition = candidates.get(vmIndex, size - 1);
+            }
+        }
+        individual.setGene(vmIndex, newPhysicalPosition);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.framework.ObjectivesFunctions;
+
+/**
+ * 使用Vector API的计算内核，只包含在多版本jar的Java 17版本中，由{@link PlacementKernels#get()}通过反射加载。
+ * <p>
+ *     物理机按{@link FloatVector#SPECIES_PREFERRED}的宽度分块（AVX-512上每块16台），每台物理机的功耗与标量实现逐位相同；
+ *     每块的和以及每台物理机各资源的浪费比例在float中求和后再累加到double中，因此总和只在最后几位与标量实现不同。
+ *     资源利用的累加是按基因的散射累加，同一块中的多个虚拟机可能位于同一台物理机上，
+ *     Vector API没有处理下标冲突的散射累加，所以仍然使用标量实现。
+ * </p>
+ */
+final class VectorPlacementKernels extends PlacementKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    String name() {
+        return "vector-" + SPECIES.length();
+    }
+
+    @Override
+    void reduce(float[] utilization, float[] capacity, float[] powerMax, int numberOfPMs, int numberOfResources,
+                double[] totals) {
+        float minPowerPercentage = ObjectivesFunctions.MIN_POWER_PERCENTAGE;
+        FloatVector zero = FloatVector.zero(SPECIES);
+        FloatVector one = FloatVector.broadcast(SPECIES, 1F);
+        double power = 0D;
+        double wasted = 0D;
+        int working = 0;
+        int bound = SPECIES.loopBound(numberOfPMs);
+        for (int iteratorPM = 0; iteratorPM < bound; iteratorPM += SPECIES.length()) {
+            FloatVector cpu = FloatVector.fromArray(SPECIES, utilization, iteratorPM);
+            FloatVector maxPower = FloatVector.fromArray(SPECIES, powerMax, iteratorPM);
+            FloatVector minPower = maxPower.mul(minPowerPercentage);
+            FloatVector pmPower = maxPower.sub(minPower)
+                    .mul(cpu.div(FloatVector.fromArray(SPECIES, capacity, iteratorPM)))
+                    .add(minPower);
+            power += pmPower.reduceLanes(VectorOperators.ADD, cpu.compare(VectorOperators.GT, 0.0001F));
+
+            VectorMask<Float> isWorking = SPECIES.maskAll(false);
+            FloatVector pmWasted = zero;
+            for (int iteratorResource = 0; iteratorResource < numberOfResources; iteratorResource++) {
+                int index = iteratorResource * numberOfPMs + iteratorPM;
+                FloatVector used = FloatVector.fromArray(SPECIES, utilization, index);
+                isWorking = isWorking.or(used.compare(VectorOperators.GT, 0.0001F));
+                FloatVector ratio = one.sub(used.div(FloatVector.fromArray(SPECIES, capacity, index)));
+                pmWasted = pmWasted.add(ratio, ratio.compare(VectorOperators.GT, 0F));
+            }
+            wasted += pmWasted.reduceLanes(VectorOperators.ADD, isWorking);
+            working += isWorking.trueCount();
+        }
+        totals[0] = power;
+        totals[1] = wasted;
+        totals[2] = working;
+        // 不足一块的物理机使用标量实现
+        reduceRange(utilization, capacity, powerMax, bound, numberOfPMs, numberOfPMs, numberOfResources, totals);
+    }
+}
@@ -0,0 +1,122 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 检查{@link Evolution}中的快速选择和排序与完全排序的结果相同。
+ */
+public class EvolutionTest {
+
+    @Test
+    public void selectSmallestPartitionsTheRange() {
+        for (int trial = 0; trial < 500; trial++) {
+            Random random = new Random(trial);
+            int size = 1 + random.nextInt(200);
+            // 适应度的取值范围较小时有大量相同的值
+            Individual[] items = individuals(random, size, trial % 2 == 0 ? 5 : 1000);
+            double[] keys = keysOf(items);
+            Individual[] original = items.clone();
+            int from = random.nextInt(size);
+            int to = from + 1 + random.nextInt(size - from);
+            int count = random.nextInt(to - from + 1);
+
+            Evolution.selectSmallest(items, keys, from, to, count);
+
+            String message = "trial " + trial;
+            // 范围外的个体不移动，每个个体仍与它的适应度对应
+            for (int iterator = 0; iterator < size; iterator++) {
+                if (iterator < from || iterator >= to) {
+                    assertSame(message, original[iterator], items[iterator]);
+                }
+                assertEquals(message, items[iterator].getFitness(), keys[iterator], 0D);
+            }
+            assertArrayEquals(message, sortedKeys(original, from, to), sortedKeys(items, from, to), 0D);
+            double selectedMax = Double.NEGATIVE_INFINITY;
+            for (int iterator = from; iterator < from + count; iterator++) {
+                selectedMax = Math.max(selectedMax, keys[iterator]);
+            }
+            for (int iterator = from + count; iterator < to; iterator++) {
+                assertTrue(message, keys[iterator] >= selectedMax);
+            }
+        }
+    }
+
+    @Test
+    public void sortOrdersTheRange() {
+        for (int trial = 0; trial < 200; trial++) {
+            Random random = new Random(trial);
+            int size = 1 + random.nextInt(300);
+            Individual[] items = individuals(random, size, trial % 2 == 0 ? 7 : 1000);
+            double[] keys = keysOf(items);
+            double[] expected = sortedKeys(items, 0, size);
+
+            Evolution.sort(items, keys, 0, size - 1);
+
+            assertArrayEquals("trial " + trial, expected, keys, 0D);
+            for (int iterator = 0; iterator < size; iterator++) {
+                assertEquals(items[iterator].getFitness(), keys[iterator], 0D);
+            }
+        }
+    }
+
+    @Test
+    public void nextGenerationKeepsTheBestIndividuals() {
+        for (int trial = 0; trial < 100; trial++) {
+            Random random = new Random(trial);
+            int sizeP = 1 + random.nextInt(50);
+            int sizeQ = 1 + random.nextInt(50);
+            Individual[] all = individuals(random, sizeP + sizeQ, 1000);
+            Population populationP = population(all, 0, sizeP);
+            Population populationQ = population(all, sizeP, sizeP + sizeQ);
+
+            Evolution.nextGeneration(populationP, populationQ, new Individual[sizeP + sizeQ]);
+
+            double[] expected = Arrays.copyOf(sortedKeys(all, 0, all.length), sizeP);
+            double[] actual = new double[sizeP];
+            for (int iterator = 0; iterator < sizeP; iterator++) {
+                actual[iterator] = populationP.getIndividual(iterator).getFitness();
+            }
+            assertArrayEquals("trial " + trial, expected, actual, 0D);
+            assertEquals(sizeQ, populationQ.size());
+        }
+    }
+
+    private static Individual[] individuals(Random random, int size, int values) {
+        Individual[] items = new Individual[size];
+        for (int iterator = 0; iterator < size; iterator++) {
+            items[iterator] = new Individual();
+            items[iterator].setFitness(random.nextInt(values));
+        }
+        return items;
+    }
+
+    private static double[] keysOf(Individual[] items) {
+        double[] keys = new double[items.length];
+        for (int iterator = 0; iterator < items.length; iterator++) {
+            keys[iterator] = items[iterator].getFitness();
+        }
+        return keys;
+    }
+
+    private static double[] sortedKeys(Individual[] items, int from, int to) {
+        double[] keys = Arrays.copyOfRange(keysOf(items), from, to);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static Population population(Individual[] items, int from, int to) {
+        Population population = new Population();
+        population.setIndividuals(new ArrayList<>(Arrays.asList(items).subList(from, to)));
+        return population;
+    }
+}
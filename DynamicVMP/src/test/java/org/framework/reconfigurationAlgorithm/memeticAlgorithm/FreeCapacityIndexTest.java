@@ -0,0 +1,100 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.PhysicalMachine;
+import org.domain.VirtualMachine;
+import org.framework.Constraints;
+import org.framework.Utils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 检查{@link FreeCapacityIndex}和个体的预留资源与{@link Constraints}中基于虚拟机列表的检查结果相同。
+ */
+public class FreeCapacityIndexTest {
+
+    @Test
+    public void reservedMatchesCheckPMOverloaded() {
+        for (int trial = 0; trial < 50; trial++) {
+            Random random = new Random(trial);
+            int numberOfPMs = 2 + random.nextInt(10);
+            List<PhysicalMachine> pms = TestInstances.physicalMachines(random, numberOfPMs);
+            List<VirtualMachine> vms = TestInstances.virtualMachines(random, 5 + random.nextInt(40), numberOfPMs, 6);
+            PlacementSnapshot snapshot = new PlacementSnapshot(vms, new ArrayList<>(), pms, TestInstances.RESOURCES,
+                    TestInstances.PROTECTION_FACTOR);
+            Individual individual = TestInstances.individual(snapshot, TestInstances.solution(random, vms.size(), numberOfPMs));
+            List<VirtualMachine> individualVms = individual.convertToVMList(VirtualMachine.cloneVMsList(vms));
+
+            for (int pmIndex = 0; pmIndex < numberOfPMs; pmIndex++) {
+                boolean overloaded = false;
+                for (int resource = 0; resource < TestInstances.RESOURCES; resource++) {
+                    overloaded |= individual.getReserved(pmIndex, resource) > snapshot.getPMCapacity(pmIndex, resource);
+                }
+                PhysicalMachine pm = PhysicalMachine.getById(pmIndex + 1, pms);
+                assertEquals("trial " + trial + ", pm " + pmIndex,
+                        Constraints.checkPMOverloaded(pm, Utils.filterVMsByPM(individualVms, pmIndex + 1),
+                                TestInstances.PROTECTION_FACTOR), overloaded);
+            }
+        }
+    }
+
+    @Test
+    public void findMatchesCheckResources() {
+        for (int trial = 0; trial < 50; trial++) {
+            Random random = new Random(trial);
+            int numberOfPMs = 1 + random.nextInt(20);
+            List<PhysicalMachine> pms = TestInstances.physicalMachines(random, numberOfPMs);
+            List<VirtualMachine> vms = TestInstances.virtualMachines(random, 5 + random.nextInt(40), numberOfPMs, 6);
+            PlacementSnapshot snapshot = new PlacementSnapshot(vms, new ArrayList<>(), pms, TestInstances.RESOURCES,
+                    TestInstances.PROTECTION_FACTOR);
+            Individual individual = TestInstances.individual(snapshot, TestInstances.solution(random, vms.size(), numberOfPMs));
+            FreeCapacityIndex index = new FreeCapacityIndex(numberOfPMs, TestInstances.RESOURCES);
+            index.build(individual, snapshot);
+
+            for (int move = 0; move < 20; move++) {
+                int vmIndex = random.nextInt(vms.size());
+                int start = random.nextInt(numberOfPMs);
+                assertSameCandidates(individual, snapshot, index, pms, vms, vmIndex, start);
+                // 移动一个虚拟机后只更新受影响的两台物理机
+                int previousPM = individual.getSolution()[vmIndex] - 1;
+                int newPM = random.nextInt(numberOfPMs);
+                individual.setGene(vmIndex, newPM + 1);
+                index.update(individual, snapshot, previousPM);
+                index.update(individual, snapshot, newPM);
+            }
+        }
+    }
+
+    /**
+     * 从start开始循环地用findFirst和findNext列出的物理机，与逐个调用Constraints.checkResources得到的物理机相同。
+     */
+    private static void assertSameCandidates(Individual individual, PlacementSnapshot snapshot, FreeCapacityIndex index,
+                                             List<PhysicalMachine> pms, List<VirtualMachine> vms, int vmIndex, int start) {
+        int numberOfPMs = pms.size();
+        List<VirtualMachine> individualVms = individual.convertToVMList(VirtualMachine.cloneVMsList(vms));
+        List<PhysicalMachine> individualPms = individual.convertToPMList(PhysicalMachine.clonePMsList(pms),
+                TestInstances.RESOURCES);
+        List<Integer> expected = new ArrayList<>();
+        for (int offset = 0; offset < numberOfPMs; offset++) {
+            int pmIndex = (start + offset) % numberOfPMs;
+            if (Constraints.checkResources(individualPms.get(pmIndex), null, individualVms.get(vmIndex), individualVms,
+                    false, TestInstances.PROTECTION_FACTOR, false)) {
+                expected.add(pmIndex);
+            }
+        }
+
+        float[] need = new float[TestInstances.RESOURCES];
+        for (int resource = 0; resource < need.length; resource++) {
+            need[resource] = snapshot.getVMReservation(vmIndex, resource);
+        }
+        List<Integer> actual = new ArrayList<>();
+        for (int found = index.findFirst(start, need); found >= 0; found = index.findNext(found, start, need)) {
+            actual.add(found);
+        }
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,101 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.PhysicalMachine;
+import org.domain.VirtualMachine;
+import org.framework.RandomSource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 检查{@link IndexedReparation}的修复结果与参考实现{@link Reparation}逐位相同。
+ */
+public class IndexedReparationTest {
+
+    @Test
+    public void repairsLikeReparation() {
+        assertSameRepair(false);
+    }
+
+    @Test
+    public void repairsLikeReparationWithFaultTolerance() {
+        assertSameRepair(true);
+    }
+
+    private void assertSameRepair(boolean faultTolerance) {
+        int repaired = 0;
+        for (int trial = 0; trial < 50; trial++) {
+            Random random = new Random(trial);
+            int numberOfPMs = 4 + random.nextInt(8);
+            List<PhysicalMachine> pms = TestInstances.physicalMachines(random, numberOfPMs);
+            List<VirtualMachine> vms = TestInstances.virtualMachines(random, 10 + random.nextInt(30), numberOfPMs, 6);
+            PlacementSnapshot snapshot = new PlacementSnapshot(vms, new ArrayList<>(), pms, TestInstances.RESOURCES,
+                    TestInstances.PROTECTION_FACTOR);
+
+            Population expected = new Population();
+            Population actual = new Population();
+            List<int[]> solutions = new ArrayList<>();
+            for (int iteratorIndividual = 0; iteratorIndividual < 8; iteratorIndividual++) {
+                int[] solution = TestInstances.solution(random, vms.size(), numberOfPMs);
+                solutions.add(solution);
+                expected.getIndividuals().add(TestInstances.individual(snapshot, solution));
+                actual.getIndividuals().add(TestInstances.individual(snapshot, solution));
+            }
+
+            Reparation.repairPopulation(expected, VirtualMachine.cloneVMsList(vms), PhysicalMachine.clonePMsList(pms),
+                    TestInstances.RESOURCES, TestInstances.PROTECTION_FACTOR, faultTolerance, null, new RandomSource(trial));
+            IndexedReparation.repairPopulation(actual, snapshot, faultTolerance, null, new RandomSource(trial));
+
+            for (int iteratorIndividual = 0; iteratorIndividual < expected.getIndividuals().size(); iteratorIndividual++) {
+                Individual expectedIndividual = expected.getIndividual(iteratorIndividual);
+                Individual actualIndividual = actual.getIndividual(iteratorIndividual);
+                assertArrayEquals("trial " + trial + ", individual " + iteratorIndividual,
+                        expectedIndividual.getSolution(), actualIndividual.getSolution());
+                assertArrayEquals(expectedIndividual.getUtilization(), actualIndividual.getUtilization(), 0F);
+                if (!Arrays.equals(solutions.get(iteratorIndividual), actualIndividual.getSolution())) {
+                    repaired++;
+                }
+            }
+        }
+        // 实例中有过载的物理机，否则比较没有意义
+        assertTrue(repaired > 0);
+    }
+
+    @Test
+    public void repairIsIndependentOfThreads() {
+        Random random = new Random(7);
+        List<PhysicalMachine> pms = TestInstances.physicalMachines(random, 6);
+        List<VirtualMachine> vms = TestInstances.virtualMachines(random, 40, 6, 6);
+        PlacementSnapshot snapshot = new PlacementSnapshot(vms, new ArrayList<>(), pms, TestInstances.RESOURCES,
+                TestInstances.PROTECTION_FACTOR);
+        Population serial = new Population();
+        Population parallel = new Population();
+        for (int iteratorIndividual = 0; iteratorIndividual < 32; iteratorIndividual++) {
+            int[] solution = TestInstances.solution(random, vms.size(), pms.size());
+            serial.getIndividuals().add(TestInstances.individual(snapshot, solution));
+            parallel.getIndividuals().add(TestInstances.individual(snapshot, solution));
+        }
+
+        IndexedReparation.repairPopulation(serial, snapshot, false, null, new RandomSource(3));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            IndexedReparation.repairPopulation(parallel, snapshot, false, pool, new RandomSource(3));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(serial.getIndividuals().size(), parallel.getIndividuals().size());
+        for (int iteratorIndividual = 0; iteratorIndividual < serial.getIndividuals().size(); iteratorIndividual++) {
+            assertArrayEquals(serial.getIndividual(iteratorIndividual).getSolution(),
+                    parallel.getIndividual(iteratorIndividual).getSolution());
+        }
+    }
+}
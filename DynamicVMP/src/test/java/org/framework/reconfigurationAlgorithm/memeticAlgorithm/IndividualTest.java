@@ -0,0 +1,131 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.PhysicalMachine;
+import org.domain.Revenue;
+import org.domain.VirtualMachine;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 检查{@link Individual#setGene}增量更新的缓存值与{@link Individual#track}完整计算的结果一致。
+ */
+public class IndividualTest {
+
+    @Test
+    public void setGeneMatchesTrackExactlyWithoutRounding() {
+        for (int trial = 0; trial < 20; trial++) {
+            Random random = new Random(trial);
+            int numberOfPMs = 2 + random.nextInt(10);
+            List<PhysicalMachine> pms = TestInstances.physicalMachines(random, numberOfPMs);
+            List<VirtualMachine> vms = TestInstances.virtualMachines(random, 5 + random.nextInt(40), numberOfPMs, 6);
+            PlacementSnapshot snapshot = new PlacementSnapshot(vms, new ArrayList<>(), pms, TestInstances.RESOURCES,
+                    TestInstances.PROTECTION_FACTOR);
+            Individual individual = TestInstances.individual(snapshot, TestInstances.solution(random, vms.size(), numberOfPMs));
+            moveRandomly(individual, random, 500);
+
+            Individual expected = TestInstances.individual(snapshot, individual.getSolution());
+            assertTrue(individual.isTracked());
+            assertEquals(expected.getHash(), individual.getHash());
+            assertArrayEquals(expected.getUtilization(), individual.getUtilization(), 0F);
+            for (int pmIndex = 0; pmIndex < numberOfPMs; pmIndex++) {
+                for (int resource = 0; resource < TestInstances.RESOURCES; resource++) {
+                    assertEquals(expected.getReserved(pmIndex, resource), individual.getReserved(pmIndex, resource), 0F);
+                }
+            }
+            expected.loadTrackedObjectives();
+            individual.loadTrackedObjectives();
+            assertArrayEquals(expected.getObjectiveFunctions(), individual.getObjectiveFunctions(), 1E-6);
+        }
+    }
+
+    @Test
+    public void retrackRemovesAccumulatedRounding() {
+        Random random = new Random(11);
+        int numberOfPMs = 8;
+        List<PhysicalMachine> pms = TestInstances.physicalMachines(random, numberOfPMs);
+        List<VirtualMachine> vms = fractionalVirtualMachines(random, 60, numberOfPMs);
+        PlacementSnapshot snapshot = new PlacementSnapshot(vms, new ArrayList<>(), pms, TestInstances.RESOURCES,
+                TestInstances.PROTECTION_FACTOR);
+        Individual individual = TestInstances.individual(snapshot, TestInstances.solution(random, vms.size(), numberOfPMs));
+        // 个体在各代之间复制，一长串移动的误差会累积
+        moveRandomly(individual, random, 20000);
+        Individual expected = TestInstances.individual(snapshot, individual.getSolution());
+        assertArrayEquals(expected.getUtilization(), individual.getUtilization(), 1E-2F);
+
+        individual.retrack();
+        assertTrue(individual.isTracked());
+        assertEquals(expected.getHash(), individual.getHash());
+        assertArrayEquals(expected.getUtilization(), individual.getUtilization(), 0F);
+        for (int pmIndex = 0; pmIndex < numberOfPMs; pmIndex++) {
+            for (int resource = 0; resource < TestInstances.RESOURCES; resource++) {
+                assertEquals(expected.getReserved(pmIndex, resource), individual.getReserved(pmIndex, resource), 0F);
+            }
+        }
+        expected.loadTrackedObjectives();
+        individual.loadTrackedObjectives();
+        assertArrayEquals(expected.getObjectiveFunctions(), individual.getObjectiveFunctions(), 0D);
+    }
+
+    @Test
+    public void trackAccumulatesEveryAssignedGene() {
+        for (int trial = 0; trial < 20; trial++) {
+            Random random = new Random(trial);
+            int numberOfPMs = 2 + random.nextInt(10);
+            List<PhysicalMachine> pms = TestInstances.physicalMachines(random, numberOfPMs);
+            List<VirtualMachine> vms = TestInstances.virtualMachines(random, 5 + random.nextInt(40), numberOfPMs, 6);
+            PlacementSnapshot snapshot = new PlacementSnapshot(vms, new ArrayList<>(), pms, TestInstances.RESOURCES,
+                    TestInstances.PROTECTION_FACTOR);
+            int[] solution = TestInstances.solution(random, vms.size(), numberOfPMs);
+            // 未分配的虚拟机不在最后，之后的虚拟机也要累加
+            solution[random.nextInt(solution.length - 1)] = 0;
+            Individual individual = TestInstances.individual(snapshot, solution);
+
+            assertFalse(individual.isTracked());
+            for (int pmIndex = 0; pmIndex < numberOfPMs; pmIndex++) {
+                for (int resource = 0; resource < TestInstances.RESOURCES; resource++) {
+                    float load = 0F;
+                    float reservation = 0F;
+                    for (int vmIndex = 0; vmIndex < solution.length; vmIndex++) {
+                        if (solution[vmIndex] == pmIndex + 1) {
+                            load += snapshot.getVMLoad(vmIndex, resource);
+                            reservation += snapshot.getVMReservation(vmIndex, resource);
+                        }
+                    }
+                    assertEquals("trial " + trial, load, individual.getUtilization(pmIndex, resource), 1E-3F);
+                    assertEquals("trial " + trial, reservation, individual.getReserved(pmIndex, resource), 1E-3F);
+                }
+            }
+        }
+    }
+
+    private static void moveRandomly(Individual individual, Random random, int moves) {
+        for (int move = 0; move < moves; move++) {
+            individual.setGene(random.nextInt(individual.getSize()), 1 + random.nextInt(individual.getNumberOfPMs()));
+        }
+    }
+
+    /**
+     * 利用率不是25%的倍数的虚拟机，预留资源的浮点计算有舍入误差
+     */
+    private static List<VirtualMachine> fractionalVirtualMachines(Random random, int numberOfVMs, int numberOfPMs) {
+        List<VirtualMachine> virtualMachines = new ArrayList<>();
+        for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+            List<Float> resources = Arrays.asList(5F + random.nextInt(36), 5F + random.nextInt(36),
+                    5F + random.nextInt(36));
+            List<Float> utilization = Arrays.asList(1F + 99F * random.nextFloat(), 1F + 99F * random.nextFloat(),
+                    1F + 99F * random.nextFloat());
+            virtualMachines.add(new VirtualMachine(iteratorVM, resources, new Revenue(1F, 1F, 1F), 0, 100,
+                    utilization, 0, 1, 1 + random.nextInt(numberOfPMs)));
+        }
+        return virtualMachines;
+    }
+}
@@ -0,0 +1,120 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 检查{@link Island}的迁入只替换排序的精英之外最差的个体。
+ */
+public class IslandTest {
+
+    private static final double IMMIGRANT_FITNESS = -1D;
+
+    @Test
+    public void immigrationKeepsTheOrderedPrefix() {
+        for (int trial = 0; trial < 300; trial++) {
+            Random random = new Random(trial);
+            int size = 1 + random.nextInt(40);
+            int orderedPrefix = 1 + random.nextInt(size);
+            int migrants = 1 + random.nextInt(size);
+            Population population = nextGeneration(random, size, orderedPrefix, trial % 2 == 0 ? 5 : 1000);
+            Individual[] before = population.getIndividuals().toArray(new Individual[0]);
+            double[] fitness = fitnessOf(before);
+
+            Island.replaceWorst(population, orderedPrefix, immigrants(migrants), new Individual[size],
+                    new double[size]);
+
+            String message = "trial " + trial;
+            int replaced = Math.min(migrants, size - orderedPrefix);
+            // 个体对象不变，精英的适应度不变
+            for (int iterator = 0; iterator < size; iterator++) {
+                assertSame(message, before[iterator], population.getIndividual(iterator));
+            }
+            for (int iterator = 0; iterator < orderedPrefix; iterator++) {
+                assertEquals(message, fitness[iterator], population.getIndividual(iterator).getFitness(), 0D);
+            }
+            // 被替换的是精英之外适应度最大的个体
+            double[] expected = Arrays.copyOfRange(fitness, orderedPrefix, size);
+            Arrays.sort(expected);
+            expected = Arrays.copyOf(expected, expected.length - replaced);
+            List<Double> survivors = new ArrayList<>();
+            int immigrants = 0;
+            for (int iterator = orderedPrefix; iterator < size; iterator++) {
+                double value = population.getIndividual(iterator).getFitness();
+                if (value == IMMIGRANT_FITNESS) {
+                    immigrants++;
+                } else {
+                    survivors.add(value);
+                }
+            }
+            assertEquals(message, replaced, immigrants);
+            double[] actual = new double[survivors.size()];
+            for (int iterator = 0; iterator < actual.length; iterator++) {
+                actual[iterator] = survivors.get(iterator);
+            }
+            Arrays.sort(actual);
+            assertArrayEquals(message, expected, actual, 0D);
+        }
+    }
+
+    @Test
+    public void immigrationKeepsTheBestWhenAllAreMigrants() {
+        Random random = new Random(7);
+        int size = 10;
+        Population population = nextGeneration(random, size, size, 1000);
+        double[] fitness = fitnessOf(population.getIndividuals().toArray(new Individual[0]));
+
+        Island.replaceWorst(population, size, immigrants(size), new Individual[size], new double[size]);
+
+        assertArrayEquals(fitness, fitnessOf(population.getIndividuals().toArray(new Individual[0])), 0D);
+        assertTrue(population.getIndividual(0).getFitness() != IMMIGRANT_FITNESS);
+    }
+
+    /**
+     * 按{@link Evolution}得到下一代种群，只有前orderedPrefix个个体按适应度排序。
+     */
+    private static Population nextGeneration(Random random, int size, int orderedPrefix, int values) {
+        Individual[] items = new Individual[2 * size];
+        for (int iterator = 0; iterator < items.length; iterator++) {
+            items[iterator] = new Individual(1, 1, 1, 1);
+            items[iterator].setFitness(random.nextInt(values));
+        }
+        Population populationP = population(items, 0, size);
+        Population populationQ = population(items, size, items.length);
+        Evolution.nextGeneration(populationP, populationQ, new Individual[items.length], new double[items.length],
+                new MASettings(), orderedPrefix, random);
+        return populationP;
+    }
+
+    private static Individual[] immigrants(int count) {
+        Individual[] immigrants = new Individual[count];
+        for (int iterator = 0; iterator < count; iterator++) {
+            immigrants[iterator] = new Individual(1, 1, 1, 1);
+            immigrants[iterator].setFitness(IMMIGRANT_FITNESS);
+        }
+        return immigrants;
+    }
+
+    private static double[] fitnessOf(Individual[] items) {
+        double[] fitness = new double[items.length];
+        for (int iterator = 0; iterator < items.length; iterator++) {
+            fitness[iterator] = items[iterator].getFitness();
+        }
+        return fitness;
+    }
+
+    private static Population population(Individual[] items, int from, int to) {
+        Population population = new Population();
+        population.setIndividuals(new ArrayList<>(Arrays.asList(items).subList(from, to)));
+        return population;
+    }
+}
@@ -0,0 +1,143 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 检查{@link NonDominatedSorting#rank}与逐层剥离非支配个体的朴素实现得到相同的前沿和拥挤距离。
+ */
+public class NonDominatedSortingTest {
+
+    @Test
+    public void rankMatchesBruteForce() {
+        for (int trial = 0; trial < 300; trial++) {
+            Random random = new Random(trial);
+            int size = 1 + random.nextInt(80);
+            int numberOfObjectives = 2 + random.nextInt(3);
+            // 目标函数的取值范围较小时有大量相同的值和相同的个体
+            Individual[] items = individuals(random, size, numberOfObjectives, trial % 2 == 0 ? 4 : 0);
+
+            int fronts = NonDominatedSorting.rank(items, size);
+
+            int[] expected = bruteForceRanks(items, size);
+            int expectedFronts = 0;
+            for (int iterator = 0; iterator < size; iterator++) {
+                assertEquals("trial " + trial + ", individual " + iterator, expected[iterator], items[iterator].getRank());
+                expectedFronts = Math.max(expectedFronts, expected[iterator] + 1);
+            }
+            assertEquals(expectedFronts, fronts);
+            for (int iterator = size; iterator < items.length; iterator++) {
+                assertEquals(-1, items[iterator].getRank());
+            }
+        }
+    }
+
+    @Test
+    public void crowdingDistanceMatchesBruteForce() {
+        for (int trial = 0; trial < 300; trial++) {
+            Random random = new Random(trial);
+            int size = 1 + random.nextInt(80);
+            int numberOfObjectives = 2 + random.nextInt(3);
+            // 取值互不相同，边界上的个体不依赖相同取值的排列顺序
+            Individual[] items = individuals(random, size, numberOfObjectives, 0);
+
+            NonDominatedSorting.rank(items, size);
+
+            int[] ranks = bruteForceRanks(items, size);
+            for (int front = 0; ; front++) {
+                List<Individual> members = new ArrayList<>();
+                for (int iterator = 0; iterator < size; iterator++) {
+                    if (ranks[iterator] == front) {
+                        members.add(items[iterator]);
+                    }
+                }
+                if (members.isEmpty()) {
+                    break;
+                }
+                double[] expected = bruteForceCrowdingDistance(members, numberOfObjectives);
+                for (int iterator = 0; iterator < members.size(); iterator++) {
+                    assertEquals("trial " + trial + ", front " + front, expected[iterator],
+                            members.get(iterator).getCrowdingDistance(), 1E-12);
+                }
+            }
+        }
+    }
+
+    private static Individual[] individuals(Random random, int size, int numberOfObjectives, int values) {
+        Individual[] items = new Individual[size + 3];
+        for (int iterator = 0; iterator < items.length; iterator++) {
+            items[iterator] = new Individual();
+            double[] objectives = new double[numberOfObjectives];
+            for (int objective = 0; objective < numberOfObjectives; objective++) {
+                objectives[objective] = values > 0 ? random.nextInt(values) : random.nextDouble();
+            }
+            items[iterator].setObjectiveFunctions(objectives);
+            // 数组中size之后的个体不参与排序
+            items[iterator].setRank(-1);
+        }
+        return items;
+    }
+
+    /**
+     * 每一层为剩余个体中不被其他剩余个体支配的个体
+     */
+    private static int[] bruteForceRanks(Individual[] items, int size) {
+        int[] ranks = new int[size];
+        boolean[] removed = new boolean[size];
+        int remaining = size;
+        for (int front = 0; remaining > 0; front++) {
+            List<Integer> layer = new ArrayList<>();
+            for (int candidate = 0; candidate < size; candidate++) {
+                if (removed[candidate]) {
+                    continue;
+                }
+                boolean dominated = false;
+                for (int other = 0; other < size && !dominated; other++) {
+                    dominated = !removed[other] && NonDominatedSorting.dominates(items[other], items[candidate]);
+                }
+                if (!dominated) {
+                    layer.add(candidate);
+                }
+            }
+            for (int member : layer) {
+                ranks[member] = front;
+                removed[member] = true;
+            }
+            remaining -= layer.size();
+        }
+        return ranks;
+    }
+
+    private static double[] bruteForceCrowdingDistance(List<Individual> members, int numberOfObjectives) {
+        int count = members.size();
+        double[] distances = new double[count];
+        if (count <= 2) {
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            return distances;
+        }
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+            final int sortedObjective = objective;
+            List<Integer> order = new ArrayList<>();
+            for (int iterator = 0; iterator < count; iterator++) {
+                order.add(iterator);
+            }
+            order.sort(Comparator.comparingDouble(index -> members.get(index).getObjectiveFunctions()[sortedObjective]));
+            double min = members.get(order.get(0)).getObjectiveFunctions()[objective];
+            double max = members.get(order.get(count - 1)).getObjectiveFunctions()[objective];
+            distances[order.get(0)] = Double.POSITIVE_INFINITY;
+            distances[order.get(count - 1)] = Double.POSITIVE_INFINITY;
+            for (int iterator = 1; iterator < count - 1; iterator++) {
+                distances[order.get(iterator)] += (members.get(order.get(iterator + 1)).getObjectiveFunctions()[objective]
+                        - members.get(order.get(iterator - 1)).getObjectiveFunctions()[objective]) / (max - min);
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,158 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.PhysicalMachine;
+import org.domain.VirtualMachine;
+import org.framework.Constraints;
+import org.framework.RandomSource;
+import org.framework.Utils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reparation类定义了Memetic算法中的修复操作，用于处理种群中个体的不合理解。
+ * <p>
+ *     这是{@link IndexedReparation}之前基于虚拟机列表和物理机列表的修复操作，只作为测试中的参考实现，
+ *     用于检查{@link IndexedReparation}的修复结果与它相同。
+ * </p>
+ */
+public class Reparation {
+    private Reparation() {
+    }
+    /**
+     * 对种群中的个体进行修复操作，可以在线程池上并行执行。
+     * <p>
+     *     每个个体使用由指定的随机数生成器预先生成的种子创建自己的随机数生成器，
+     *     因此修复结果与线程数量和调度顺序无关。
+     * </p>
+     * @param population            待修复的种群
+     * @param virtualMachineList    虚拟机列表
+     * @param physicalMachineList   物理机列表
+     * @param numberOfResources     资源数量
+     * @param protectionFactor      保护系数
+     * @param faultTolerance        是否考虑容错约束
+     * @param pool                  线程池，为null时串行修复
+     * @param random                生成随机种子的随机数生成器
+     * @return 修复后的种群
+     */
+    public static Population repairPopulation(Population population, List<VirtualMachine> virtualMachineList, List<PhysicalMachine> physicalMachineList,
+                                              int numberOfResources, float protectionFactor, boolean faultTolerance,
+                                              ForkJoinPool pool, Random random) {
+        List<Individual> individuals = population.getIndividuals();
+        // 按个体顺序预先生成随机种子
+        long[] seeds = new long[individuals.size()];
+        for (int iteratorIndividual = 0; iteratorIndividual < seeds.length; iteratorIndividual++) {
+            seeds[iteratorIndividual] = random.nextLong();
+        }
+        // 每个工作线程处理一块个体，并使用各自的辅助列表
+        PopulationWorkers.forEachChunk(pool, individuals.size(), (from, to) -> {
+            List<VirtualMachine> individualVmList = VirtualMachine.cloneVMsList(virtualMachineList);
+            List<PhysicalMachine> individualPmList = PhysicalMachine.clonePMsList(physicalMachineList);
+            // 遍历块中的每个个体，进行修复操作
+            for (int iteratorIndividual = from; iteratorIndividual < to; iteratorIndividual++) {
+                Individual individual = individuals.get(iteratorIndividual);
+                individualVmList = individual.convertToVMList(individualVmList);
+                individualPmList = individual.convertToPMList(individualPmList, numberOfResources);
+                checkAndRepair(individual, individualVmList, individualPmList, numberOfResources, protectionFactor,
+                        faultTolerance, new RandomSource(seeds[iteratorIndividual]));
+            }
+        });
+        return population;
+    }
+    /**
+     * 检查并修复个体，确保其满足约束条件。
+     * @param individual           待修复的个体
+     * @param individualVmList     个体对应的虚拟机列表
+     * @param individualPmList     个体对应的物理机列表
+     * @param numberOfResources    资源数量
+     * @param protectionFactor     保护系数
+     * @param faultTolerance       是否考虑容错约束
+     * @param random               选择目标物理机使用的随机数生成器
+     */
+    public static void checkAndRepair(Individual individual, List<VirtualMachine> individualVmList, List<PhysicalMachine> individualPmList,
+                                      int numberOfResources, float protectionFactor, boolean faultTolerance, Random random) {
+        int iteratorSolution;
+        int physicalMachineId;
+        PhysicalMachine pm;
+        VirtualMachine vm;
+        List<VirtualMachine> vmsInPM;
+        // 遍历个体中的每个解，检查并修复
+        for (iteratorSolution = 0; iteratorSolution < individual.getSize(); iteratorSolution++) {
+            physicalMachineId = individual.getSolution()[iteratorSolution];
+            if (physicalMachineId != 0) {
+                pm = PhysicalMachine.getById(physicalMachineId, individualPmList);
+                vmsInPM = Utils.filterVMsByPM(individualVmList, physicalMachineId);
+                vm = individualVmList.get(iteratorSolution);
+                // 如果物理机过载，则移动虚拟机
+                if (Constraints.checkPMOverloaded(pm, vmsInPM, protectionFactor)) {
+                    moveVM(individual, iteratorSolution, vm, individualVmList, individualPmList, numberOfResources,
+                            protectionFactor, faultTolerance, random);
+                }
+            }
+        }
+    }
+
+    /**
+     * 移动虚拟机，以修复物理机的过载情况。
+     * @param individual            待修复的个体
+     * @param iteratorSolution      虚拟机在个体中的索引
+     * @param vm                    待移动的虚拟机
+     * @param virtualMachineList    虚拟机列表
+     * @param physicalMachineList   物理机列表
+     * @param numberOfResources     资源数量
+     * @param protectionFactor      保护系数
+     * @param faultTolerance        是否考虑容错约束
+     * @param random                随机数生成器
+     * @return 是否成功移动虚拟机
+     */
+    private static Boolean moveVM(Individual individual, int iteratorSolution, VirtualMachine vm,
+                                  List<VirtualMachine> virtualMachineList, List<PhysicalMachine> physicalMachineList, int numberOfResources,
+                                  float protectionFactor, boolean faultTolerance, Random random) {
+        int pmIdCandidate;
+        int iteratorPhysical;
+        int iteratorResources;
+        float vmResource;
+        int numberOfPMs = physicalMachineList.size();
+        int actualPMId = vm.getPhysicalMachine();
+        PhysicalMachine pmCandidate;
+        // 随机选择一个物理机作为目标
+        pmIdCandidate = 1 + random.nextInt(numberOfPMs);
+        for (iteratorPhysical = 0; iteratorPhysical < numberOfPMs; iteratorPhysical++) {
+            pmCandidate = PhysicalMachine.getById(pmIdCandidate, physicalMachineList);
+            // 如果目标物理机满足资源约束，则进行移动操作
+            if (Constraints.checkResources(pmCandidate, null, vm, virtualMachineList, false, protectionFactor,
+                    faultTolerance)) {
+                if (individual.isTracked()) {
+                    // 个体处于增量计算状态时，由个体同时更新资源利用和目标函数的缓存值
+                    individual.setGene(iteratorSolution, pmIdCandidate);
+                } else {
+                    for (iteratorResources = 0; iteratorResources < numberOfResources; iteratorResources++) {
+                        vmResource = vm.getResources().get(iteratorResources) * (vm.getUtilization().get(iteratorResources) / 100);
+                        individual.addUtilization(actualPMId - 1, iteratorResources, -vmResource);
+                        individual.addUtilization(pmIdCandidate - 1, iteratorResources, vmResource);
+                    }
+                    individual.getSolution()[iteratorSolution] = pmIdCandidate;
+                }
+                // 更新原物理机和目标物理机的资源利用情况
+                for (iteratorResources = 0; iteratorResources < numberOfResources; iteratorResources++) {
+                    physicalMachineList.get(actualPMId - 1).getResourcesRequested().set(iteratorResources,
+                            individual.getUtilization(actualPMId - 1, iteratorResources));
+                    physicalMachineList.get(pmIdCandidate - 1).getResourcesRequested().set(iteratorResources,
+                            individual.getUtilization(pmIdCandidate - 1, iteratorResources));
+                }
+                // 更新虚拟机的位置
+                virtualMachineList.get(iteratorSolution).setPhysicalMachine(pmIdCandidate);
+                return true;
+            }
+            // 循环选择下一个目标物理机
+            if (pmIdCandidate < numberOfPMs) {
+                pmIdCandidate += 1;
+            } else {
+                pmIdCandidate = 1;
+            }
+        }
+        // 移动失败
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package org.framework.reconfigurationAlgorithm.memeticAlgorithm;
+
+import org.domain.PhysicalMachine;
+import org.domain.Revenue;
+import org.domain.VirtualMachine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 测试使用的随机问题实例。
+ * <p>
+ *     资源取整数，利用率取25%的倍数，保护因子取0.5，因此预留资源的浮点计算没有舍入误差，
+ *     不同实现的结果可以逐位比较。
+ * </p>
+ */
+final class TestInstances {
+
+    static final int RESOURCES = 3;//资源的数量
+    static final float PROTECTION_FACTOR = 0.5F;//测试使用的保护因子
+
+    private TestInstances() {
+    }
+
+    /**
+     * @param random      随机数生成器
+     * @param numberOfPMs 物理机的数量
+     * @return ID从1开始的物理机列表
+     */
+    static List<PhysicalMachine> physicalMachines(Random random, int numberOfPMs) {
+        List<PhysicalMachine> physicalMachines = new ArrayList<>();
+        for (int iteratorPM = 0; iteratorPM < numberOfPMs; iteratorPM++) {
+            physicalMachines.add(new PhysicalMachine(iteratorPM, 100 + random.nextInt(200),
+                    new ArrayList<>(Arrays.asList(resource(random, 60, 120), resource(random, 60, 120),
+                            resource(random, 60, 120)))));
+        }
+        return physicalMachines;
+    }
+
+    /**
+     * @param random      随机数生成器
+     * @param numberOfVMs 虚拟机的数量
+     * @param numberOfPMs 物理机的数量，虚拟机随机分配到这些物理机上
+     * @param services    云服务的数量
+     * @return 虚拟机列表
+     */
+    static List<VirtualMachine> virtualMachines(Random random, int numberOfVMs, int numberOfPMs, int services) {
+        List<VirtualMachine> virtualMachines = new ArrayList<>();
+        for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+            List<Float> resources = Arrays.asList(resource(random, 5, 40), resource(random, 5, 40),
+                    resource(random, 5, 40));
+            List<Float> utilization = Arrays.asList(percentage(random), percentage(random), percentage(random));
+            virtualMachines.add(new VirtualMachine(iteratorVM, resources, new Revenue(1F, 1F, 1F), 0, 100,
+                    utilization, 0, 1 + random.nextInt(services), 1 + random.nextInt(numberOfPMs)));
+        }
+        return virtualMachines;
+    }
+
+    /**
+     * @param random      随机数生成器
+     * @param numberOfVMs 虚拟机的数量
+     * @param numberOfPMs 物理机的数量
+     * @return 所有基因都不为0的随机解
+     */
+    static int[] solution(Random random, int numberOfVMs, int numberOfPMs) {
+        int[] solution = new int[numberOfVMs];
+        for (int iteratorVM = 0; iteratorVM < numberOfVMs; iteratorVM++) {
+            solution[iteratorVM] = 1 + random.nextInt(numberOfPMs);
+        }
+        return solution;
+    }
+
+    /**
+     * @param snapshot 问题数据的快照
+     * @param solution 解
+     * @return 处于增量计算状态的个体
+     */
+    static Individual individual(PlacementSnapshot snapshot, int[] solution) {
+        Individual individual = new Individual(4, snapshot.getNumberOfVMs(), snapshot.getNumberOfPMs(), RESOURCES);
+        System.arraycopy(solution, 0, individual.getSolution(), 0, solution.length);
+        individual.track(snapshot);
+        return individual;
+    }
+
+    private static Float resource(Random random, int min, int max) {
+        return (float) (min + random.nextInt(max - min + 1));
+    }
+
+    private static Float percentage(Random random) {
+        return 25F * (1 + random.nextInt(4));
+    }
+}